@@ -0,0 +1,375 @@
+package com.tictactoe.config;
+
+import com.tictactoe.dto.GameMoveRequest;
+import com.tictactoe.dto.GameStateResponse;
+import com.tictactoe.dto.MatchmakingResponse;
+import com.tictactoe.dto.MoveDelta;
+import com.tictactoe.engine.GameVariant;
+import com.tictactoe.model.Game;
+import com.tictactoe.model.PlayerStats;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Compact binary encoding of the game messages, for connections that ask for it (see
+ * {@link WireFormatInterceptor}).
+ *
+ * Every message starts with a type byte. Numbers are unsigned varints, strings a varint length + 1
+ * (0 for null) followed by UTF-8, game ids 16 raw bytes when they are UUIDs. Symbols, turns, winners,
+ * statuses and variants are single-byte codes, and the board is 2 bits per cell (a 3x3 board fits
+ * in 18 bits).
+ */
+public final class BinaryGameCodec {
+
+    public static final MimeType MIME_TYPE = MimeTypeUtils.APPLICATION_OCTET_STREAM;
+
+    static final byte MOVE_REQUEST = 1;
+    static final byte GAME_STATE = 2;
+    static final byte MATCHMAKING = 3;
+    static final byte MOVE_DELTA = 4;
+
+    // Index = code; 0 is null
+    private static final String[] SYMBOLS = {null, "X", "O", "DRAW"};
+    private static final char[] CELLS = {' ', 'X', 'O'};
+    private static final Game.GameStatus[] STATUSES = Game.GameStatus.values();
+    private static final GameVariant[] VARIANTS = GameVariant.values();
+
+    private BinaryGameCodec() {
+    }
+
+    public static boolean supports(Class<?> type) {
+        return type == GameMoveRequest.class || type == GameStateResponse.class
+                || type == MatchmakingResponse.class || type == MoveDelta.class;
+    }
+
+    public static byte[] encode(Object payload) {
+        Writer out = new Writer();
+        if (payload instanceof GameMoveRequest request) {
+            out.put(MOVE_REQUEST);
+            out.gameId(request.getGameId());
+            out.string(request.getNickname());
+            out.varint(request.getRow());
+            out.varint(request.getCol());
+            out.put(request.getVariant() == null ? 0 : request.getVariant().ordinal() + 1);
+        } else if (payload instanceof GameStateResponse state) {
+            out.put(GAME_STATE);
+            out.gameId(state.getGameId());
+            out.varint(state.getVersion() == null ? 0 : state.getVersion() + 1);
+            out.board(state.getBoard());
+            out.put(symbolCode(state.getCurrentTurn()));
+            out.put(statusCode(state.getStatus()));
+            out.put(symbolCode(state.getWinner()));
+            out.stats(state.getPlayer1());
+            out.stats(state.getPlayer2());
+            out.string(state.getMessage());
+        } else if (payload instanceof MatchmakingResponse response) {
+            out.put(MATCHMAKING);
+            out.string(response.getStatus());
+            out.gameId(response.getGameId());
+            out.string(response.getMessage());
+            out.varint(response.getQueuePosition() == null ? 0 : response.getQueuePosition() + 1L);
+            out.varint(response.getEstimatedWaitMs() == null ? 0 : response.getEstimatedWaitMs() + 1);
+        } else if (payload instanceof MoveDelta delta) {
+            out.put(MOVE_DELTA);
+            out.varint(delta.getSeq() == null ? 0 : delta.getSeq() + 1);
+            out.varint(delta.getCell() == null ? 0 : delta.getCell() + 1);
+            out.put(symbolCode(delta.getSymbol()));
+            out.put(symbolCode(delta.getTurn()));
+        } else {
+            throw new IllegalArgumentException("No binary encoding for " + payload.getClass().getName());
+        }
+        return out.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> T decode(byte[] bytes, Class<T> type) {
+        Reader in = new Reader(bytes);
+        byte tag = (byte) in.get();
+        Object decoded = switch (tag) {
+            case MOVE_REQUEST -> {
+                GameMoveRequest request = new GameMoveRequest();
+                request.setGameId(in.gameId());
+                request.setNickname(in.string());
+                request.setRow((int) in.varint());
+                request.setCol((int) in.varint());
+                int variant = in.get();
+                request.setVariant(variant == 0 ? null : code(VARIANTS, variant - 1));
+                yield request;
+            }
+            case GAME_STATE -> {
+                GameStateResponse state = new GameStateResponse();
+                state.setGameId(in.gameId());
+                long version = in.varint();
+                state.setVersion(version == 0 ? null : version - 1);
+                state.setBoard(in.board());
+                state.setCurrentTurn(symbol(in.get()));
+                state.setStatus(status(in.get()));
+                state.setWinner(symbol(in.get()));
+                state.setPlayer1(in.stats());
+                state.setPlayer2(in.stats());
+                state.setMessage(in.string());
+                yield state;
+            }
+            case MATCHMAKING -> {
+                MatchmakingResponse response = new MatchmakingResponse(in.string(), in.gameId(), in.string());
+                long position = in.varint();
+                long estimatedWait = in.varint();
+                response.setQueuePosition(position == 0 ? null : (int) position - 1);
+                response.setEstimatedWaitMs(estimatedWait == 0 ? null : estimatedWait - 1);
+                yield response;
+            }
+            case MOVE_DELTA -> {
+                long seq = in.varint();
+                long cell = in.varint();
+                yield new MoveDelta(seq == 0 ? null : seq - 1, cell == 0 ? null : (int) cell - 1,
+                        symbol(in.get()), symbol(in.get()));
+            }
+            default -> throw new IllegalArgumentException("Unknown binary message type " + tag);
+        };
+        if (!type.isInstance(decoded)) {
+            throw new IllegalArgumentException("Expected " + type.getSimpleName() + " but got "
+                    + decoded.getClass().getSimpleName());
+        }
+        return (T) decoded;
+    }
+
+    private static int symbolCode(String symbol) {
+        if (symbol == null) {
+            return 0;
+        }
+        for (int i = 1; i < SYMBOLS.length; i++) {
+            if (SYMBOLS[i].equals(symbol)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown symbol " + symbol);
+    }
+
+    private static String symbol(int code) {
+        return code(SYMBOLS, code);
+    }
+
+    private static <T> T code(T[] values, int code) {
+        if (code >= values.length) {
+            throw new IllegalArgumentException("Unknown code " + code);
+        }
+        return values[code];
+    }
+
+    private static int statusCode(String status) {
+        return status == null ? 0 : Game.GameStatus.valueOf(status).ordinal() + 1;
+    }
+
+    private static String status(int code) {
+        return code == 0 ? null : code(STATUSES, code - 1).toString();
+    }
+
+    private static final class Writer {
+        private byte[] buf = new byte[64];
+        private int pos;
+
+        void put(int b) {
+            if (pos == buf.length) {
+                buf = Arrays.copyOf(buf, buf.length * 2);
+            }
+            buf[pos++] = (byte) b;
+        }
+
+        void varint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                put((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            put((int) value);
+        }
+
+        void bytes(byte[] bytes) {
+            if (pos + bytes.length > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, pos + bytes.length));
+            }
+            System.arraycopy(bytes, 0, buf, pos, bytes.length);
+            pos += bytes.length;
+        }
+
+        void string(String value) {
+            if (value == null) {
+                put(0);
+                return;
+            }
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            varint(utf8.length + 1L);
+            bytes(utf8);
+        }
+
+        // 0 = null, 1 = UUID in 16 bytes, 2 = any other string
+        void gameId(String gameId) {
+            UUID uuid = asUuid(gameId);
+            if (uuid != null) {
+                put(1);
+                for (int shift = 56; shift >= 0; shift -= 8) {
+                    put((int) (uuid.getMostSignificantBits() >>> shift));
+                }
+                for (int shift = 56; shift >= 0; shift -= 8) {
+                    put((int) (uuid.getLeastSignificantBits() >>> shift));
+                }
+            } else if (gameId == null) {
+                put(0);
+            } else {
+                put(2);
+                string(gameId);
+            }
+        }
+
+        // Board size, then 2 bits per cell in row-major order (0 empty, 1 X, 2 O)
+        void board(char[][] board) {
+            if (board == null) {
+                put(0);
+                return;
+            }
+            int size = board.length;
+            put(size);
+            int acc = 0;
+            int bits = 0;
+            for (char[] row : board) {
+                for (char cell : row) {
+                    acc |= (cell == 'X' ? 1 : cell == 'O' ? 2 : 0) << bits;
+                    bits += 2;
+                    if (bits == 8) {
+                        put(acc);
+                        acc = 0;
+                        bits = 0;
+                    }
+                }
+            }
+            if (bits > 0) {
+                put(acc);
+            }
+        }
+
+        void stats(PlayerStats stats) {
+            if (stats == null) {
+                put(0);
+                return;
+            }
+            put(symbolCode(stats.symbol()) + 1);
+            string(stats.nickname());
+            varint(stats.wins());
+            varint(stats.losses());
+            varint(stats.draws());
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, pos);
+        }
+
+        private static UUID asUuid(String value) {
+            if (value == null || value.length() != 36) {
+                return null;
+            }
+            try {
+                UUID uuid = UUID.fromString(value);
+                return uuid.toString().equals(value) ? uuid : null;
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] buf;
+        private int pos;
+
+        Reader(byte[] buf) {
+            this.buf = buf;
+        }
+
+        int get() {
+            if (pos >= buf.length) {
+                throw new IllegalArgumentException("Truncated binary message");
+            }
+            return buf[pos++] & 0xFF;
+        }
+
+        long varint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = get();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint");
+        }
+
+        String string() {
+            long length = varint();
+            if (length == 0) {
+                return null;
+            }
+            int n = (int) (length - 1);
+            if (n < 0 || n > buf.length - pos) {
+                throw new IllegalArgumentException("Truncated binary message");
+            }
+            String value = new String(buf, pos, n, StandardCharsets.UTF_8);
+            pos += n;
+            return value;
+        }
+
+        String gameId() {
+            return switch (get()) {
+                case 0 -> null;
+                case 1 -> {
+                    long most = 0;
+                    long least = 0;
+                    for (int i = 0; i < 8; i++) {
+                        most = (most << 8) | get();
+                    }
+                    for (int i = 0; i < 8; i++) {
+                        least = (least << 8) | get();
+                    }
+                    yield new UUID(most, least).toString();
+                }
+                default -> string();
+            };
+        }
+
+        char[][] board() {
+            int size = get();
+            if (size == 0) {
+                return null;
+            }
+            char[][] board = new char[size][size];
+            int acc = 0;
+            int bits = 0;
+            for (char[] row : board) {
+                for (int col = 0; col < size; col++) {
+                    if (bits == 0) {
+                        acc = get();
+                        bits = 8;
+                    }
+                    int cell = acc & 3;
+                    if (cell == 3) {
+                        throw new IllegalArgumentException("Malformed board cell");
+                    }
+                    row[col] = CELLS[cell];
+                    acc >>>= 2;
+                    bits -= 2;
+                }
+            }
+            return board;
+        }
+
+        PlayerStats stats() {
+            int symbol = get();
+            if (symbol == 0) {
+                return null;
+            }
+            return new PlayerStats(string(), BinaryGameCodec.symbol(symbol - 1), (int) varint(), (int) varint(), (int) varint());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.tictactoe.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.Nullable;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.MessageConversionException;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * Converter for the game messages that have a {@link BinaryGameCodec} encoding, ahead of the JSON one.
+ *
+ * Inbound, it decodes frames sent with {@code content-type:application/octet-stream} and leaves
+ * everything else to Jackson. Outbound, the payload stays JSON and a {@link LazyBinary} rides along
+ * in the {@link WireFormatInterceptor#BINARY_PAYLOAD_HEADER} header. The binary form is encoded only
+ * when the message reaches a binary session subscribed to its destination, and then once per
+ * broadcast, so JSON-only destinations never pay for it.
+ */
+@Component
+@RequiredArgsConstructor
+public class BinaryGameMessageConverter implements MessageConverter {
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Nullable
+    public Object fromMessage(Message<?> message, Class<?> targetClass) {
+        if (!BinaryGameCodec.supports(targetClass) || !(message.getPayload() instanceof byte[] bytes)) {
+            return null;
+        }
+        MimeType contentType = message.getHeaders().get(MessageHeaders.CONTENT_TYPE, MimeType.class);
+        if (contentType == null || !BinaryGameCodec.MIME_TYPE.equalsTypeAndSubtype(contentType)) {
+            return null;
+        }
+        try {
+            return BinaryGameCodec.decode(bytes, targetClass);
+        } catch (IllegalArgumentException e) {
+            throw new MessageConversionException(message, "Invalid binary " + targetClass.getSimpleName(), e);
+        }
+    }
+
+    @Override
+    @Nullable
+    public Message<?> toMessage(Object payload, @Nullable MessageHeaders headers) {
+        if (!BinaryGameCodec.supports(payload.getClass())) {
+            return null;
+        }
+        return withBinaryAlternative(payload, headers);
+    }
+
+    /**
+     * JSON message for the payload, carrying its (not yet encoded) binary form for binary sessions
+     */
+    public Message<byte[]> withBinaryAlternative(Object payload, @Nullable MessageHeaders headers) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            throw new MessageConversionException("Cannot serialize " + payload.getClass().getSimpleName(), e);
+        }
+        LazyBinary binary = new LazyBinary(payload);
+
+        // Keep a mutable accessor mutable (SimpMessagingTemplate still sets the destination on it)
+        MessageHeaderAccessor accessor = headers != null
+                ? MessageHeaderAccessor.getAccessor(headers, MessageHeaderAccessor.class) : null;
+        if (accessor != null && accessor.isMutable()) {
+            accessor.setHeader(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.APPLICATION_JSON);
+            accessor.setHeader(WireFormatInterceptor.BINARY_PAYLOAD_HEADER, binary);
+            return MessageBuilder.createMessage(json, accessor.getMessageHeaders());
+        }
+
+        MessageBuilder<byte[]> builder = MessageBuilder.withPayload(json);
+        if (headers != null) {
+            builder.copyHeaders(headers);
+        }
+        return builder
+                .setHeader(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.APPLICATION_JSON)
+                .setHeader(WireFormatInterceptor.BINARY_PAYLOAD_HEADER, binary)
+                .build();
+    }
+
+    /**
+     * The binary encoding of a payload, made on first use. Concurrent first uses may both encode;
+     * the results are identical.
+     */
+    public static final class LazyBinary {
+
+        private final Object payload;
+        private volatile byte[] bytes;
+
+        private LazyBinary(Object payload) {
+            this.payload = payload;
+        }
+
+        public byte[] get() {
+            byte[] encoded = bytes;
+            if (encoded == null) {
+                encoded = BinaryGameCodec.encode(payload);
+                bytes = encoded;
+            }
+            return encoded;
+        }
+
+        public boolean isEncoded() {
+            return bytes != null;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.tictactoe.config;
+
+import com.tictactoe.service.AdmissionControl;
+import com.tictactoe.service.GameRegistry;
+import com.tictactoe.service.Matchmaker;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Current sizes of the game server as gauges, read from the registries at scrape time
+ */
+@Component
+@RequiredArgsConstructor
+public class GameGauges implements MeterBinder {
+
+    private final GameRegistry gameRegistry;
+    private final Matchmaker matchmaker;
+    private final AdmissionControl admission;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("game.active", gameRegistry, GameRegistry::getGameCount)
+                .description("Games in the registry, finished ones included until cleanup")
+                .register(registry);
+        Gauge.builder("game.sessions", gameRegistry, GameRegistry::getSessionCount)
+                .description("WebSocket sessions mapped to a player")
+                .register(registry);
+        Gauge.builder("game.matchmaking.waiting", matchmaker, Matchmaker::size)
+                .description("Players waiting in matchmaking for an opponent")
+                .register(registry);
+        Gauge.builder("game.admission.queued", admission, AdmissionControl::getQueuedCount)
+                .description("Players in the overflow queue waiting for a game slot")
+                .register(registry);
+    }
+}
@@ -0,0 +1,14 @@
+package com.tictactoe.config;
+
+import java.security.Principal;
+
+/**
+ * The player behind a STOMP session, named by the nickname given at CONNECT
+ */
+public record PlayerPrincipal(String name) implements Principal {
+
+    @Override
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,62 @@
+package com.tictactoe.config;
+
+import com.tictactoe.service.PlayerTokens;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Names the session's user after the {@code nickname} header of its CONNECT frame, so per-player
+ * messages go to user destinations ({@code /user/queue/...}) resolved to that session only, instead
+ * of per-nickname broker queues anyone could subscribe to.
+ *
+ * The nickname is only taken with the {@code token} header the server issued for it (see
+ * {@link PlayerTokens}); a CONNECT with a missing or stale token is refused with an ERROR frame.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PlayerPrincipalInterceptor implements ChannelInterceptor {
+
+    public static final String NICKNAME_HEADER = "nickname";
+    public static final String TOKEN_HEADER = "token";
+
+    private final PlayerTokens playerTokens;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+        if (accessor.getCommand() == StompCommand.DISCONNECT) {
+            playerTokens.disconnect(accessor.getSessionId());
+            return message;
+        }
+        if (accessor.getCommand() != StompCommand.CONNECT) {
+            return message;
+        }
+
+        String nickname = accessor.getFirstNativeHeader(NICKNAME_HEADER);
+        if (nickname == null || nickname.trim().isEmpty()) {
+            log.warn("⚠️ [CONNECT] Session {} connected without a nickname header", accessor.getSessionId());
+            return message;
+        }
+
+        nickname = nickname.trim();
+        if (!playerTokens.connect(nickname, accessor.getFirstNativeHeader(TOKEN_HEADER), accessor.getSessionId())) {
+            log.warn("❌ [CONNECT] Session {} has no valid token for '{}'; refusing", accessor.getSessionId(), nickname);
+            throw new MessageDeliveryException(message, "Nickname '" + nickname + "' needs a token from /api/players");
+        }
+
+        accessor.setUser(new PlayerPrincipal(nickname));
+        return message;
+    }
+}
@@ -0,0 +1,196 @@
+package com.tictactoe.config;
+
+import com.tictactoe.dto.GameErrorResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token-bucket limits on what one STOMP session may send: a budget shared by all its SEND and
+ * SUBSCRIBE frames, and a tighter one each for {@code /app/join}, {@code /app/move} and
+ * {@code /app/heartbeat}. A frame over budget is dropped here, before it takes a controller thread
+ * (or the matchmaking lock); the player is told on {@code /user/queue/error} at most once a second.
+ *
+ * Buckets are kept as GCRA: one long per bucket holding the time it will be full again, updated by
+ * compare-and-set, so checking a frame never takes a lock.
+ */
+@Component
+@Slf4j
+public class RateLimitInterceptor implements ChannelInterceptor {
+
+    // Destinations with their own bucket; slot i + 1 in a session's buckets
+    static final String[] LIMITED_DESTINATIONS = {"/app/join", "/app/move", "/app/heartbeat"};
+
+    private static final int SESSION_SLOT = 0;
+    private static final int NOTICE_SLOT = LIMITED_DESTINATIONS.length + 1;
+    private static final long NOTICE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final String ERROR_QUEUE = "/queue/error";
+
+    // Resolved on first rejection: the template is built from the broker configuration this interceptor is part of
+    private final ObjectProvider<SimpMessagingTemplate> messagingTemplate;
+    private final boolean enabled;
+    private final Limit[] limits;
+
+    private final Map<String, AtomicLongArray> sessions = new ConcurrentHashMap<>();
+    private final LongAdder[] rejected = new LongAdder[LIMITED_DESTINATIONS.length + 1];
+
+    public RateLimitInterceptor(ObjectProvider<SimpMessagingTemplate> messagingTemplate,
+                                @Value("${game.rate-limit.enabled:true}") boolean enabled,
+                                @Value("${game.rate-limit.session.per-second:20}") double sessionRate,
+                                @Value("${game.rate-limit.session.burst:40}") int sessionBurst,
+                                @Value("${game.rate-limit.join.per-second:1}") double joinRate,
+                                @Value("${game.rate-limit.join.burst:5}") int joinBurst,
+                                @Value("${game.rate-limit.move.per-second:10}") double moveRate,
+                                @Value("${game.rate-limit.move.burst:20}") int moveBurst,
+                                @Value("${game.rate-limit.heartbeat.per-second:1}") double heartbeatRate,
+                                @Value("${game.rate-limit.heartbeat.burst:5}") int heartbeatBurst) {
+        this.messagingTemplate = messagingTemplate;
+        this.enabled = enabled;
+        this.limits = new Limit[]{
+                new Limit(sessionRate, sessionBurst),
+                new Limit(joinRate, joinBurst),
+                new Limit(moveRate, moveBurst),
+                new Limit(heartbeatRate, heartbeatBurst)};
+        for (int i = 0; i < rejected.length; i++) {
+            rejected[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        MessageHeaders headers = message.getHeaders();
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(headers);
+        SimpMessageType type = SimpMessageHeaderAccessor.getMessageType(headers);
+        if (!enabled || sessionId == null || type == null) {
+            return message;
+        }
+
+        switch (type) {
+            case CONNECT -> sessions.put(sessionId, newBuckets(System.nanoTime()));
+            case DISCONNECT -> sessions.remove(sessionId);
+            case MESSAGE, SUBSCRIBE -> {
+                AtomicLongArray buckets = sessions.get(sessionId);
+                if (buckets != null && !tryAcquire(buckets, type, SimpMessageHeaderAccessor.getDestination(headers))) {
+                    notifyRejected(sessionId, SimpMessageHeaderAccessor.getUser(headers), buckets, headers);
+                    return null;
+                }
+            }
+            default -> {
+            }
+        }
+        return message;
+    }
+
+    private boolean tryAcquire(AtomicLongArray buckets, SimpMessageType type, String destination) {
+        long now = System.nanoTime();
+        int slot = type == SimpMessageType.MESSAGE ? slotOf(destination) : -1;
+        if (slot > 0 && !tryAcquire(buckets, slot, now)) {
+            rejected[slot].increment();
+            return false;
+        }
+        if (!tryAcquire(buckets, SESSION_SLOT, now)) {
+            rejected[SESSION_SLOT].increment();
+            return false;
+        }
+        return true;
+    }
+
+    private boolean tryAcquire(AtomicLongArray buckets, int slot, long now) {
+        Limit limit = limits[slot];
+        while (true) {
+            long fullAt = buckets.get(slot);
+            long next = Math.max(fullAt, now) + limit.intervalNanos;
+            if (next - now > limit.capacityNanos) {
+                return false;
+            }
+            if (buckets.compareAndSet(slot, fullAt, next)) {
+                return true;
+            }
+        }
+    }
+
+    private void notifyRejected(String sessionId, Principal user, AtomicLongArray buckets, MessageHeaders headers) {
+        long now = System.nanoTime();
+        long last = buckets.get(NOTICE_SLOT);
+        if (now - last < NOTICE_INTERVAL_NANOS || !buckets.compareAndSet(NOTICE_SLOT, last, now)) {
+            return;
+        }
+
+        log.warn("🚦 [RATE-LIMIT] Session {} ({}) over its limit; dropping {} to {}", sessionId,
+                user != null ? user.getName() : "no user", SimpMessageHeaderAccessor.getMessageType(headers),
+                SimpMessageHeaderAccessor.getDestination(headers));
+        if (user == null) {
+            return;
+        }
+
+        GameErrorResponse errorResponse = new GameErrorResponse();
+        errorResponse.setError("Rate limited");
+        errorResponse.setMessage("Too many messages, slow down");
+        messagingTemplate.getObject().convertAndSendToUser(user.getName(), ERROR_QUEUE, errorResponse);
+    }
+
+    private static int slotOf(String destination) {
+        for (int i = 0; i < LIMITED_DESTINATIONS.length; i++) {
+            if (LIMITED_DESTINATIONS[i].equals(destination)) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    // Every bucket starts full; the notice slot starts one interval back so the first rejection is reported
+    private static AtomicLongArray newBuckets(long now) {
+        AtomicLongArray buckets = new AtomicLongArray(NOTICE_SLOT + 1);
+        for (int slot = 0; slot < NOTICE_SLOT; slot++) {
+            buckets.set(slot, now);
+        }
+        buckets.set(NOTICE_SLOT, now - NOTICE_INTERVAL_NANOS);
+        return buckets;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> rejections = new LinkedHashMap<>();
+        rejections.put("session", rejected[SESSION_SLOT].sum());
+        for (int i = 0; i < LIMITED_DESTINATIONS.length; i++) {
+            rejections.put(LIMITED_DESTINATIONS[i], rejected[i + 1].sum());
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("trackedSessions", sessions.size());
+        stats.put("rejected", rejections);
+        return stats;
+    }
+
+    /**
+     * A bucket refilling at {@code perSecond} tokens a second and holding at most {@code burst}
+     */
+    private static final class Limit {
+        private final long intervalNanos;
+        private final long capacityNanos;
+
+        private Limit(double perSecond, int burst) {
+            if (perSecond <= 0 || burst < 1) {
+                throw new IllegalArgumentException("Rate limit needs a positive rate and burst, got " + perSecond + "/" + burst);
+            }
+            this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / perSecond);
+            this.capacityNanos = intervalNanos * burst;
+        }
+    }
+}
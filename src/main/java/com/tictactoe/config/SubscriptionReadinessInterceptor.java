@@ -0,0 +1,38 @@
+package com.tictactoe.config;
+
+import com.tictactoe.service.InitialStateDelivery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.broker.AbstractBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports game topic subscriptions to {@link InitialStateDelivery} once the broker has registered them.
+ *
+ * SessionSubscribeEvent fires when the SUBSCRIBE frame is queued on the inbound channel, before
+ * the broker has processed it, so a state sent at that moment could still miss the subscriber.
+ * This hook runs after the broker handler, when a broadcast is guaranteed to reach the client.
+ */
+@Component
+@RequiredArgsConstructor
+public class SubscriptionReadinessInterceptor implements ExecutorChannelInterceptor {
+
+    private final InitialStateDelivery initialStateDelivery;
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        if (ex != null || !(handler instanceof AbstractBrokerMessageHandler)) {
+            return;
+        }
+
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+        if (accessor.getCommand() == StompCommand.SUBSCRIBE) {
+            initialStateDelivery.onSubscribe(accessor.getSessionId(), accessor.getDestination());
+        }
+    }
+}
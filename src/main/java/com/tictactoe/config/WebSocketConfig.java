@@ -2,12 +2,22 @@ package com.tictactoe.config;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.messaging.converter.MessageConverter;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.util.List;
+import java.util.Map;
 
 @Configuration
 @EnableWebSocketMessageBroker
@@ -16,13 +26,27 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private final MessageLoggingInterceptor messageLoggingInterceptor;
+    private final SubscriptionReadinessInterceptor subscriptionReadinessInterceptor;
+    private final PlayerPrincipalInterceptor playerPrincipalInterceptor;
+    private final RateLimitInterceptor rateLimitInterceptor;
+    private final WireFormatInterceptor wireFormatInterceptor;
+    private final BinaryGameMessageConverter binaryGameMessageConverter;
+
+    // Java 21+: run both client channels on virtual threads instead of the default pools
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${game.broker.destination-cache-limit:16384}")
+    private int destinationCacheLimit;
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         log.info("🔧 [CONFIG] Configuring message broker");
 
-        // Enable simple broker for /topic and /queue
+        // Enable simple broker for /topic and /queue. Each session has its own user queues besides the
+        // game topics, and a destination missing from the cache costs a scan of every subscription
         config.enableSimpleBroker("/topic", "/queue");
+        config.setCacheLimit(destinationCacheLimit);
 
         // Set application destination prefix
         config.setApplicationDestinationPrefixes("/app");
@@ -30,20 +54,78 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         // IMPORTANT: Set user destination prefix (default is "/user")
         config.setUserDestinationPrefix("/user");
 
+        // Messages to one session leave in publish order (move deltas rely on it), whatever the executor
+        config.setPreservePublishOrder(true);
+
         log.info("✅ [CONFIG] Message broker configured:");
         log.info("   - Simple broker: /topic, /queue");
         log.info("   - App prefix: /app");
         log.info("   - User prefix: /user");
     }
 
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // Drops frames over the session's rate limits; names the session's user at CONNECT; signals
+        // initial-state delivery once a game topic subscription is live; negotiates the wire format
+        registration.interceptors(rateLimitInterceptor, playerPrincipalInterceptor,
+                subscriptionReadinessInterceptor, wireFormatInterceptor);
+        if (virtualThreads) {
+            registration.executor(virtualThreadExecutor("ws-inbound-"));
+        }
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        // Swaps in the binary encoding for sessions that negotiated it
+        registration.interceptors(wireFormatInterceptor);
+        if (virtualThreads) {
+            registration.executor(virtualThreadExecutor("ws-outbound-"));
+        }
+    }
+
+    private static SimpleAsyncTaskExecutor virtualThreadExecutor(String threadNamePrefix) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        log.info("🧵 [CONFIG] {}* channel runs on virtual threads", threadNamePrefix);
+        return executor;
+    }
+
+    @Override
+    public boolean configureMessageConverters(List<MessageConverter> messageConverters) {
+        // Ahead of Jackson: decodes binary frames and attaches the binary encoding to outbound ones
+        messageConverters.add(0, binaryGameMessageConverter);
+        return true;
+    }
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         log.info("🔧 [CONFIG] Registering STOMP endpoints");
 
+        // Frames from one session reach the inbound channel in the order received, whatever its
+        // executor: the broker and subscription readiness rely on CONNECT, SUBSCRIBE, SEND order
+        registry.setPreserveReceiveOrder(true);
+
         registry.addEndpoint("/ws")
                 .setAllowedOriginPatterns("*")
                 .withSockJS();
 
-        log.info("✅ [CONFIG] STOMP endpoint registered: /ws with SockJS");
+        // Plain WebSocket (no SockJS) so frames can be binary; see WireFormatInterceptor
+        registry.addEndpoint("/ws-raw")
+                .setAllowedOriginPatterns("*")
+                .addInterceptors(new HandshakeInterceptor() {
+                    @Override
+                    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+                        attributes.put(WireFormatInterceptor.RAW_WEBSOCKET_ATTRIBUTE, true);
+                        return true;
+                    }
+
+                    @Override
+                    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                               WebSocketHandler wsHandler, Exception exception) {
+                    }
+                });
+
+        log.info("✅ [CONFIG] STOMP endpoints registered: /ws with SockJS, /ws-raw");
     }
 }
\ No newline at end of file
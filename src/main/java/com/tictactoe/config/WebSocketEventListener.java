@@ -5,11 +5,17 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.messaging.SessionConnectEvent;
 import org.springframework.web.socket.messaging.SessionDisconnectEvent;
 import org.springframework.web.socket.messaging.SessionSubscribeEvent;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
 /**
  * WebSocket Event Listener to handle player connections and disconnections
  * This fixes the bug where players remain in queue after leaving the site
@@ -21,6 +27,9 @@ public class WebSocketEventListener {
 
     private final GameService gameService;
 
+    // Disconnects are handled in batches so a burst (e.g. after a deploy) is cleaned up in one pass
+    private final Queue<String> pendingDisconnects = new ConcurrentLinkedQueue<>();
+
     @EventListener
     public void handleWebSocketConnectListener(SessionConnectEvent event) {
         StompHeaderAccessor headerAccessor = StompHeaderAccessor.wrap(event.getMessage());
@@ -36,8 +45,27 @@ public class WebSocketEventListener {
 
         log.info("🔌 [WEBSOCKET] WebSocket disconnection: sessionId={}", sessionId);
 
-        // Clean up player from queues and games
-        gameService.unregisterPlayerSession(sessionId);
+        // Clean up player from queues and games on the next drain
+        pendingDisconnects.add(sessionId);
+    }
+
+    @Scheduled(fixedDelayString = "${game.session.disconnect-drain-ms:100}")
+    public void drainDisconnects() {
+        if (pendingDisconnects.isEmpty()) {
+            return;
+        }
+
+        List<String> sessionIds = new ArrayList<>();
+        String sessionId;
+        while ((sessionId = pendingDisconnects.poll()) != null) {
+            sessionIds.add(sessionId);
+        }
+
+        if (sessionIds.size() == 1) {
+            gameService.unregisterPlayerSession(sessionIds.get(0));
+        } else {
+            gameService.unregisterPlayerSessions(sessionIds);
+        }
     }
 
     @EventListener
@@ -0,0 +1,88 @@
+package com.tictactoe.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-connection wire format. A client connected to the raw WebSocket endpoint ({@code /ws-raw}) can
+ * send {@code wire-format:binary} in its CONNECT frame; from then on the messages that have a
+ * {@link BinaryGameCodec} encoding reach it as {@code application/octet-stream} binary frames.
+ * Everything else, and every other connection, stays JSON.
+ *
+ * SockJS only carries text frames, so a binary request over {@code /ws} is ignored.
+ */
+@Component
+@Slf4j
+public class WireFormatInterceptor implements ChannelInterceptor {
+
+    public static final String WIRE_FORMAT_HEADER = "wire-format";
+    public static final String BINARY = "binary";
+    // Message header with the lazily encoded binary form of a JSON payload; never written to the wire
+    public static final String BINARY_PAYLOAD_HEADER = "binaryPayload";
+    // Handshake attribute set by the raw endpoint
+    public static final String RAW_WEBSOCKET_ATTRIBUTE = "rawWebSocket";
+
+    private final Set<String> binarySessions = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        MessageHeaders headers = message.getHeaders();
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(headers);
+        SimpMessageType type = SimpMessageHeaderAccessor.getMessageType(headers);
+        if (sessionId == null || type == null) {
+            return message;
+        }
+
+        switch (type) {
+            case CONNECT -> negotiate(StompHeaderAccessor.wrap(message), sessionId);
+            case DISCONNECT -> binarySessions.remove(sessionId);
+            case MESSAGE -> {
+                if (headers.get(BINARY_PAYLOAD_HEADER) instanceof BinaryGameMessageConverter.LazyBinary binary
+                        && binarySessions.contains(sessionId)) {
+                    SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+                    accessor.removeHeader(BINARY_PAYLOAD_HEADER);
+                    accessor.setContentType(BinaryGameCodec.MIME_TYPE);
+                    return MessageBuilder.createMessage(binary.get(), accessor.getMessageHeaders());
+                }
+            }
+            default -> {
+            }
+        }
+        return message;
+    }
+
+    private void negotiate(StompHeaderAccessor accessor, String sessionId) {
+        if (!BINARY.equalsIgnoreCase(accessor.getFirstNativeHeader(WIRE_FORMAT_HEADER))) {
+            return;
+        }
+
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        if (attributes == null || !Boolean.TRUE.equals(attributes.get(RAW_WEBSOCKET_ATTRIBUTE))) {
+            log.warn("⚠️ [WIRE-FORMAT] Session {} asked for binary over SockJS; staying on JSON", sessionId);
+            return;
+        }
+
+        binarySessions.add(sessionId);
+        log.info("📦 [WIRE-FORMAT] Session {} uses the binary wire format", sessionId);
+    }
+
+    public boolean isBinary(String sessionId) {
+        return binarySessions.contains(sessionId);
+    }
+
+    public int binarySessionCount() {
+        return binarySessions.size();
+    }
+}
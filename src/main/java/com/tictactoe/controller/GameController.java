@@ -1,17 +1,34 @@
 package com.tictactoe.controller;
 
 import com.tictactoe.dto.*;
+import com.tictactoe.engine.GameVariant;
 import com.tictactoe.model.Game;
 import com.tictactoe.model.Player;
+import com.tictactoe.service.AdmissionControl;
+import com.tictactoe.service.BotService;
+import com.tictactoe.service.GameActors;
+import com.tictactoe.service.GameLifecycleScheduler;
+import com.tictactoe.service.GameMetrics;
+import com.tictactoe.service.GameResultWriter;
 import com.tictactoe.service.GameService;
+import com.tictactoe.service.GameStatePublisher;
+import com.tictactoe.service.InitialStateDelivery;
 import com.tictactoe.service.PlayerService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Controller;
 
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 @Controller
 @RequiredArgsConstructor
 @Slf4j
@@ -19,10 +36,23 @@ public class GameController {
 
     private final GameService gameService;
     private final PlayerService playerService;
+    private final BotService botService;
+    private final GameActors gameActors;
+    private final GameLifecycleScheduler lifecycleScheduler;
+    private final InitialStateDelivery initialStateDelivery;
+    private final GameStatePublisher gameStatePublisher;
+    private final GameResultWriter gameResultWriter;
+    private final GameMetrics metrics;
+
+    private static final long POST_GAME_CLEANUP_DELAY_MS = 5000;
+    private static final long FORFEIT_CLEANUP_DELAY_MS = 3000;
+    // User destinations, resolved per session of the player (subscribe to /user/queue/...)
+    private static final String MATCHMAKING_QUEUE = "/queue/matchmaking";
+    private static final String ERROR_QUEUE = "/queue/error";
     private final SimpMessagingTemplate messagingTemplate;
 
     @MessageMapping("/join")
-    public void joinGame(JoinGameRequest request, @Header("simpSessionId") String sessionId) {
+    public void joinGame(JoinGameRequest request, @Header("simpSessionId") String sessionId, Principal principal) {
         if (request == null) {
             return;
         }
@@ -36,6 +66,23 @@ public class GameController {
         nickname = nickname.trim();
         log.info("🎮 [JOIN] Player joining: '{}' (sessionId: {})", nickname, sessionId);
 
+        // Replies go to the connection's user, named at CONNECT
+        if (principal == null) {
+            log.warn("❌ [JOIN] Session {} has no nickname from CONNECT; cannot reply to '{}'", sessionId, nickname);
+            return;
+        }
+        if (!principal.getName().equals(nickname)) {
+            log.warn("❌ [JOIN] Session {} connected as '{}' but joined as '{}'", sessionId, principal.getName(), nickname);
+            sendError(principal.getName(), "Invalid nickname", "Nickname does not match this connection");
+            return;
+        }
+
+        if (BotService.isBot(nickname)) {
+            log.warn("❌ [JOIN] Nickname '{}' is reserved for the bot", nickname);
+            sendError(nickname, "Invalid nickname", "This nickname is reserved");
+            return;
+        }
+
         // Register session for disconnect handling
         gameService.registerPlayerSession(nickname, sessionId);
 
@@ -44,69 +91,144 @@ public class GameController {
         log.info("👤 [JOIN] Player object created/retrieved: {}", player.getNickname());
 
         // Join matchmaking
-        String gameId = gameService.joinMatchmaking(player);
+        GameVariant variant = GameVariant.orDefault(request.getVariant());
+        String gameId = gameService.joinMatchmaking(player, variant);
         log.info("🎲 [JOIN] Matchmaking result for {}: gameId={}", nickname, gameId);
 
+        AdmissionControl.QueueStatus queued;
         if (gameId != null) {
             // Game found! Notify both players
-            Game game = gameService.getGame(gameId);
+            notifyGameStarted(gameService.getGame(gameId));
+        } else if ((queued = gameService.getOverflowStatus(nickname)) != null) {
+            // Every game slot is taken; waiting for one to free up
+            sendQueued(queued);
+        } else if (!gameService.isPlayerWaiting(nickname)) {
+            sendRejected(nickname, "Server is full, please try again in a little while");
+        } else {
+            // Waiting for opponent
+            MatchmakingResponse response = new MatchmakingResponse();
+            response.setStatus("WAITING");
+            response.setMessage("Finding opponent...");
+
+            log.info("⏳ [WAITING] Player {} added to queue", nickname);
 
-            log.info("✅ [GAME-CREATED] Game: {} | Player1: {} | Player2: {}",
-                    gameId,
-                    game.getPlayer1().getNickname(),
-                    game.getPlayer2().getNickname());
+            messagingTemplate.convertAndSendToUser(nickname, MATCHMAKING_QUEUE, response);
+            log.info("📤 [WAITING] Wait notification sent to {}", nickname);
+        }
+    }
 
-            // Send matchmaking success to BOTH players
-            MatchmakingResponse matchmakingResponse = new MatchmakingResponse();
-            matchmakingResponse.setStatus("STARTED");
-            matchmakingResponse.setGameId(gameId);
-            matchmakingResponse.setMessage("Opponent found! Starting game...");
+    /**
+     * Pair players who have waited past the threshold with the bot
+     */
+    @Scheduled(fixedDelayString = "${game.bot.check-interval-ms:1000}")
+    public void pairStalledPlayersWithBot() {
+        for (String gameId : gameService.pairStalledPlayersWithBot(
+                botService.newBotPlayer(), botService.getWaitThresholdMs())) {
+            Game game = gameService.getGame(gameId);
+            if (game != null) {
+                notifyGameStarted(game);
+            }
+        }
+    }
 
-            String destination1 = "/queue/matchmaking-" + game.getPlayer1().getNickname();
-            String destination2 = "/queue/matchmaking-" + game.getPlayer2().getNickname();
+    @Scheduled(fixedDelayString = "${game.matchmaking.sweep-interval-ms:1000}")
+    public void pairWidenedMatches() {
+        for (String gameId : gameService.pairWidenedMatches()) {
+            Game game = gameService.getGame(gameId);
+            if (game != null) {
+                notifyGameStarted(game);
+            }
+        }
+    }
 
-            messagingTemplate.convertAndSend(destination1, matchmakingResponse);
-            messagingTemplate.convertAndSend(destination2, matchmakingResponse);
+    /**
+     * Let overflow players into matchmaking as games end, drop those who waited past the
+     * matchmaking timeout, and tell the rest where they now stand
+     */
+    @Scheduled(fixedDelayString = "${game.matchmaking.sweep-interval-ms:1000}")
+    public void admitOverflowPlayers() {
+        for (String nickname : gameService.expireOverflow()) {
+            sendRejected(nickname, "No game slot freed up in time, please try again");
+        }
 
-            // Small delay to ensure clients subscribe to game topic
-            new Thread(() -> {
-                try {
-                    Thread.sleep(500);
+        Set<String> started = new HashSet<>();
+        for (Map.Entry<String, String> admitted : gameService.admitFromOverflow().entrySet()) {
+            String gameId = admitted.getValue();
+            if (gameId == null) {
+                if (gameService.isPlayerWaiting(admitted.getKey())) {
+                    messagingTemplate.convertAndSendToUser(admitted.getKey(), MATCHMAKING_QUEUE,
+                            new MatchmakingResponse("WAITING", null, "Finding opponent..."));
+                }
+            } else if (started.add(gameId)) {
+                Game game = gameService.getGame(gameId);
+                if (game != null) {
+                    notifyGameStarted(game);
+                }
+            }
+        }
 
-                    GameStateResponse response = buildGameStateResponse(game, "Game started! X goes first.");
-                    String gameTopic = "/topic/game/" + gameId;
+        for (AdmissionControl.QueueStatus queued : gameService.getOverflowPositionChanges()) {
+            sendQueued(queued);
+        }
+    }
 
-                    log.info("📤 [GAME-STATE] Sending initial state to: {}", gameTopic);
-                    messagingTemplate.convertAndSend(gameTopic, response);
-                    log.info("✅ [GAME-STATE] Initial state sent successfully");
+    private void sendQueued(AdmissionControl.QueueStatus queued) {
+        messagingTemplate.convertAndSendToUser(queued.nickname(), MATCHMAKING_QUEUE, new MatchmakingResponse(
+                "QUEUED", null, "Server is busy, waiting for a free game slot",
+                queued.position(), queued.estimatedWaitMs()));
+    }
 
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    log.error("❌ [ERROR] Interrupted while sending initial game state", e);
-                }
-            }).start();
+    private void sendRejected(String nickname, String message) {
+        messagingTemplate.convertAndSendToUser(nickname, MATCHMAKING_QUEUE,
+                new MatchmakingResponse("REJECTED", null, message));
+    }
 
-        } else {
-            // Waiting for opponent
-            MatchmakingResponse response = new MatchmakingResponse();
-            response.setStatus("WAITING");
-            response.setMessage("Finding opponent...");
+    private void notifyGameStarted(Game game) {
+        String gameId = game.getGameId();
+
+        log.info("✅ [GAME-CREATED] Game: {} | Player1: {} | Player2: {}",
+                gameId,
+                game.getPlayer1().getNickname(),
+                game.getPlayer2().getNickname());
+
+        // Send matchmaking success to BOTH players
+        MatchmakingResponse matchmakingResponse = new MatchmakingResponse();
+        matchmakingResponse.setStatus("STARTED");
+        matchmakingResponse.setGameId(gameId);
+        matchmakingResponse.setMessage(BotService.isBot(game.getPlayer2().getNickname())
+                ? "No players available. Starting a game against " + BotService.BOT_NICKNAME + "..."
+                : "Opponent found! Starting game...");
+
+        List<String> humans = new ArrayList<>();
+        for (Player player : new Player[]{game.getPlayer1(), game.getPlayer2()}) {
+            if (!BotService.isBot(player.getNickname())) {
+                humans.add(player.getNickname());
+            }
+        }
 
-            String destination = "/queue/matchmaking-" + nickname;
-            log.info("⏳ [WAITING] Player {} added to queue | Sending to: {}", nickname, destination);
+        // Send the initial state as soon as every human has subscribed to the game topic
+        initialStateDelivery.expect(gameId, humans, () -> {
+            log.info("📤 [GAME-STATE] Sending initial state of game {}", gameId);
+            gameStatePublisher.publish(game, "Game started! X goes first.");
+            log.info("✅ [GAME-STATE] Initial state sent successfully");
+        });
 
-            messagingTemplate.convertAndSend(destination, response);
-            log.info("📤 [WAITING] Wait notification sent to {}", nickname);
+        for (String nickname : humans) {
+            messagingTemplate.convertAndSendToUser(nickname, MATCHMAKING_QUEUE, matchmakingResponse);
         }
     }
 
     @MessageMapping("/cancel")
-    public void cancelMatchmaking(CancelMatchmakingRequest request) {
-        if (request == null || request.getNickname() == null) {
+    public void cancelMatchmaking(CancelMatchmakingRequest request, @Header("simpSessionId") String sessionId,
+                                  Principal principal) {
+        if (request == null) {
             return;
         }
 
-        String nickname = request.getNickname().trim();
+        String nickname = playerOf(principal, request.getNickname(), sessionId, "cancel");
+        if (nickname == null) {
+            return;
+        }
         log.info("🚫 [CANCEL] Player '{}' canceling matchmaking", nickname);
 
         gameService.cancelMatchmaking(nickname);
@@ -116,21 +238,58 @@ public class GameController {
         response.setStatus("CANCELLED");
         response.setMessage("Matchmaking cancelled");
 
-        String destination = "/queue/matchmaking-" + nickname;
-        messagingTemplate.convertAndSend(destination, response);
+        messagingTemplate.convertAndSendToUser(nickname, MATCHMAKING_QUEUE, response);
     }
 
     @MessageMapping("/move")
-    public void makeMove(GameMoveRequest request, @Header("simpSessionId") String sessionId) {
+    public void makeMove(GameMoveRequest request, @Header("simpSessionId") String sessionId, Principal principal) {
+        long received = System.nanoTime();
+        String nickname = playerOf(principal, request.getNickname(), sessionId, "move");
+        if (nickname == null) {
+            return;
+        }
         String gameId = request.getGameId();
-        String nickname = request.getNickname();
         int row = request.getRow();
         int col = request.getCol();
 
         log.info("🎯 [MOVE] Player: {} | Position: ({},{}) | Game: {} | Session: {}",
                 nickname, row, col, gameId, sessionId);
 
-        boolean success = gameService.makeMove(gameId, nickname, row, col);
+        // Runs on the game's actor, so moves and forfeits for one game never interleave. Latency
+        // includes the wait in the actor's mailbox and the broadcast, not the bot's reply
+        boolean queued = gameActors.tell(gameId, () -> {
+            boolean accepted = applyMove(gameId, nickname, row, col, request.getVariant());
+            metrics.recordMove(accepted, System.nanoTime() - received);
+            if (accepted) {
+                playBotTurnIfDue(gameId);
+            }
+        });
+        if (!queued) {
+            log.warn("❌ [MOVE-FAILED] Game {} not found for {}", gameId, nickname);
+            metrics.recordMove(false, System.nanoTime() - received);
+            sendError(nickname, "Game not found", "This game has ended");
+        }
+    }
+
+    /**
+     * Answer immediately when it is the bot's turn, through the same move/broadcast path
+     */
+    private void playBotTurnIfDue(String gameId) {
+        Game game = gameService.getGame(gameId);
+        if (game == null || game.getStatus() != Game.GameStatus.IN_PROGRESS
+                || !BotService.isBot(game.getPlayer2().getNickname())
+                || !"O".equals(game.getCurrentTurn())) {
+            return;
+        }
+
+        int[] move = botService.chooseMove(game);
+        if (move != null) {
+            applyMove(gameId, BotService.BOT_NICKNAME, move[0], move[1], game.getVariant());
+        }
+    }
+
+    private boolean applyMove(String gameId, String nickname, int row, int col, GameVariant variant) {
+        boolean success = gameService.makeMove(gameId, nickname, row, col, variant);
         log.info("🎯 [MOVE-RESULT] Success: {} | Player: {}", success, nickname);
 
         if (success) {
@@ -142,74 +301,131 @@ public class GameController {
             if (game.getStatus() == Game.GameStatus.FINISHED) {
                 String winner = game.getWinner();
 
+                recordResult(game);
+
                 if ("DRAW".equals(winner)) {
                     message = "Game ended in a draw!";
-                    playerService.recordDraw(game.getPlayer1().getNickname());
-                    playerService.recordDraw(game.getPlayer2().getNickname());
                     log.info("🤝 [GAME-END] Game {} ended in DRAW", gameId);
                 } else {
                     Player winnerPlayer = winner.equals("X") ? game.getPlayer1() : game.getPlayer2();
-                    Player loserPlayer = winner.equals("X") ? game.getPlayer2() : game.getPlayer1();
 
                     message = winnerPlayer.getNickname() + " wins!";
-
-                    playerService.recordWin(winnerPlayer.getNickname());
-                    playerService.recordLoss(loserPlayer.getNickname());
                     log.info("🏆 [GAME-END] Game {} won by {} ({})", gameId, winnerPlayer.getNickname(), winner);
                 }
 
                 // End the game after a delay
-                new Thread(() -> {
-                    try {
-                        Thread.sleep(5000);
-                        gameService.endGame(gameId);
-                        log.info("🔚 [CLEANUP] Game {} cleaned up", gameId);
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                    }
-                }).start();
+                lifecycleScheduler.schedule(gameId, "post-game-cleanup", POST_GAME_CLEANUP_DELAY_MS, () -> {
+                    gameService.endGame(gameId);
+                    log.info("🔚 [CLEANUP] Game {} cleaned up", gameId);
+                });
             }
 
-            GameStateResponse response = buildGameStateResponse(game, message);
-            String gameTopic = "/topic/game/" + gameId;
-
-            log.info("📤 [UPDATE] Sending game update to: {} | Turn: {}", gameTopic, game.getCurrentTurn());
-            messagingTemplate.convertAndSend(gameTopic, response);
+            // Clients apply the move to their copy and resync from a snapshot if they miss one; the
+            // final move goes out as a snapshot so it carries the updated player records
+            log.info("📤 [UPDATE] Sending move for: {} | {} | Turn: {}", gameId, message, game.getCurrentTurn());
+            if (game.getStatus() == Game.GameStatus.IN_PROGRESS) {
+                gameStatePublisher.publishMove(game, row, col, game.getPlayerSymbol(nickname));
+            } else {
+                gameStatePublisher.publish(game, message);
+            }
         } else {
             log.warn("❌ [MOVE-FAILED] Invalid move by {} in game {}", nickname, gameId);
 
             // Send error message back to player
-            GameErrorResponse errorResponse = new GameErrorResponse();
-            errorResponse.setError("Invalid move");
-            errorResponse.setMessage("This move is not allowed");
+            sendError(nickname, "Invalid move", "This move is not allowed");
+        }
+
+        return success;
+    }
 
-            String destination = "/queue/error-" + nickname;
-            messagingTemplate.convertAndSend(destination, errorResponse);
+    /**
+     * The player a session acts for: the user named at CONNECT. A nickname in the request body is
+     * only checked against it; null if the session has no user or the body names someone else.
+     */
+    private String playerOf(Principal principal, String claimed, String sessionId, String action) {
+        if (principal == null) {
+            log.warn("❌ [AUTH] Session {} has no nickname from CONNECT; ignoring {}", sessionId, action);
+            return null;
+        }
+        String nickname = principal.getName();
+        if (claimed != null && !claimed.trim().equals(nickname)) {
+            log.warn("❌ [AUTH] Session {} connected as '{}' but sent {} as '{}'", sessionId, nickname, action, claimed);
+            sendError(nickname, "Invalid nickname", "Nickname does not match this connection");
+            return null;
+        }
+        return nickname;
+    }
+
+    private void sendError(String nickname, String error, String message) {
+        GameErrorResponse errorResponse = new GameErrorResponse();
+        errorResponse.setError(error);
+        errorResponse.setMessage(message);
+        messagingTemplate.convertAndSendToUser(nickname, ERROR_QUEUE, errorResponse);
+    }
+
+    /**
+     * A client saw a gap in move sequence numbers (or just subscribed late); resend the full state
+     */
+    @MessageMapping("/resync")
+    public void resyncGame(ResyncRequest request, @Header("simpSessionId") String sessionId, Principal principal) {
+        if (request == null || request.getGameId() == null) {
+            return;
+        }
+
+        String nickname = playerOf(principal, request.getNickname(), sessionId, "resync");
+        if (nickname == null) {
+            return;
+        }
+
+        String gameId = request.getGameId();
+        log.info("🔄 [RESYNC] Player '{}' requested the state of game '{}'", nickname, gameId);
+        boolean queued = gameActors.tell(gameId, () -> {
+            Game game = gameService.getGame(gameId);
+            if (game != null) {
+                gameStatePublisher.resend(game);
+            }
+        });
+        if (!queued) {
+            log.info("🔄 [RESYNC] Game '{}' is not running; nothing to resend", gameId);
         }
     }
 
     @MessageMapping("/heartbeat")
-    public void handleHeartbeat(HeartbeatRequest request) {
-        if (request != null && request.getNickname() != null) {
-            gameService.updatePlayerActivity(request.getNickname());
+    public void handleHeartbeat(HeartbeatRequest request, @Header("simpSessionId") String sessionId, Principal principal) {
+        String nickname = playerOf(principal, request != null ? request.getNickname() : null, sessionId, "heartbeat");
+        if (nickname != null) {
+            gameService.updatePlayerActivity(nickname);
         }
     }
 
     @MessageMapping("/forfeit")
-    public void forfeitGame(ForfeitGameRequest request) {
-        if (request == null || request.getGameId() == null || request.getNickname() == null) {
+    public void forfeitGame(ForfeitGameRequest request, @Header("simpSessionId") String sessionId, Principal principal) {
+        if (request == null || request.getGameId() == null) {
             return;
         }
 
+        String nickname = playerOf(principal, request.getNickname(), sessionId, "forfeit");
+        if (nickname == null) {
+            return;
+        }
         String gameId = request.getGameId();
-        String nickname = request.getNickname();
 
         log.info("🏳️ [FORFEIT] Player '{}' forfeiting game '{}'", nickname, gameId);
 
+        if (!gameActors.tell(gameId, () -> applyForfeit(gameId, nickname))) {
+            log.info("🏳️ [FORFEIT] Game '{}' is not running; ignoring forfeit by '{}'", gameId, nickname);
+        }
+    }
+
+    private void applyForfeit(String gameId, String nickname) {
         Game game = gameService.getGame(gameId);
         if (game != null && game.getStatus() == Game.GameStatus.IN_PROGRESS) {
             // Determine winner and loser
             String forfeitingPlayerSymbol = game.getPlayerSymbol(nickname);
+            if (forfeitingPlayerSymbol == null) {
+                log.warn("❌ [FORFEIT] Player '{}' is not in game '{}'", nickname, gameId);
+                return;
+            }
             String winnerSymbol = forfeitingPlayerSymbol.equals("X") ? "O" : "X";
 
             Player winner = winnerSymbol.equals("X") ? game.getPlayer1() : game.getPlayer2();
@@ -220,63 +436,31 @@ public class GameController {
             game.setWinner(winnerSymbol);
 
             // Record results
-            playerService.recordWin(winner.getNickname());
-            playerService.recordLoss(loser.getNickname());
+            recordResult(game);
 
             log.info("🏳️ [FORFEIT] Game {} forfeited | Winner: {} | Loser: {}",
                     gameId, winner.getNickname(), loser.getNickname());
 
             // Send update to both players
-            GameStateResponse response = buildGameStateResponse(game,
-                    nickname + " forfeited. " + winner.getNickname() + " wins!");
-            String gameTopic = "/topic/game/" + gameId;
-            messagingTemplate.convertAndSend(gameTopic, response);
-
-            // Clean up game after delay
-            new Thread(() -> {
-                try {
-                    Thread.sleep(3000);
-                    gameService.endGame(gameId);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-            }).start();
-        }
-    }
+            gameStatePublisher.publish(game, nickname + " forfeited. " + winner.getNickname() + " wins!");
 
-    private GameStateResponse buildGameStateResponse(Game game, String message) {
-        GameStateResponse response = new GameStateResponse();
-        response.setGameId(game.getGameId());
-        response.setBoard(game.getBoard());
-        response.setCurrentTurn(game.getCurrentTurn());
-        response.setStatus(game.getStatus().toString());
-        response.setWinner(game.getWinner());
-        response.setMessage(message);
-
-        // Get updated player stats
-        Player p1 = playerService.getPlayer(game.getPlayer1().getNickname());
-        Player p2 = playerService.getPlayer(game.getPlayer2().getNickname());
-
-        if (p1 != null) {
-            PlayerInfo p1Info = new PlayerInfo();
-            p1Info.setNickname(p1.getNickname());
-            p1Info.setSymbol("X");
-            p1Info.setWins(p1.getWins());
-            p1Info.setLosses(p1.getLosses());
-            p1Info.setDraws(p1.getDraws());
-            response.setPlayer1(p1Info);
-        }
-
-        if (p2 != null) {
-            PlayerInfo p2Info = new PlayerInfo();
-            p2Info.setNickname(p2.getNickname());
-            p2Info.setSymbol("O");
-            p2Info.setWins(p2.getWins());
-            p2Info.setLosses(p2.getLosses());
-            p2Info.setDraws(p2.getDraws());
-            response.setPlayer2(p2Info);
+            // Clean up game after delay; drop anything still pending for it (e.g. the initial broadcast)
+            lifecycleScheduler.cancel(gameId);
+            initialStateDelivery.cancel(gameId);
+            lifecycleScheduler.schedule(gameId, "forfeit-cleanup", FORFEIT_CLEANUP_DELAY_MS,
+                    () -> gameService.endGame(gameId));
         }
+    }
 
-        return response;
+    /**
+     * Queue the finished game's result and rating changes for persistence; the bot's games are not ranked
+     */
+    private void recordResult(Game game) {
+        game.applyResultToStats(nickname -> !BotService.isBot(nickname));
+        gameResultWriter.submit(new GameResultWriter.GameResult(
+                game.getPlayer1().getNickname(),
+                game.getPlayer2().getNickname(),
+                game.getWinner(),
+                System.currentTimeMillis()));
     }
 }
\ No newline at end of file
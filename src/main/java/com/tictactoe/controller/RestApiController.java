@@ -1,10 +1,17 @@
 package com.tictactoe.controller;
 
+import com.tictactoe.config.RateLimitInterceptor;
 import com.tictactoe.dto.LeaderboardEntry;
+import com.tictactoe.dto.PlayerRankResponse;
+import com.tictactoe.dto.PlayerTokenRequest;
+import com.tictactoe.dto.PlayerTokenResponse;
 import com.tictactoe.model.Player;
+import com.tictactoe.service.BotService;
 import com.tictactoe.service.GameService;
 import com.tictactoe.service.PlayerService;
+import com.tictactoe.service.PlayerTokens;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -12,7 +19,6 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api")
@@ -22,23 +28,32 @@ public class RestApiController {
 
     private final PlayerService playerService;
     private final GameService gameService;
+    private final RateLimitInterceptor rateLimitInterceptor;
+    private final PlayerTokens playerTokens;
+
+    /**
+     * Claim a nickname and get the token to send with it at STOMP CONNECT.
+     * 409 if another client is connected under the nickname.
+     */
+    @PostMapping("/players")
+    public ResponseEntity<PlayerTokenResponse> claimNickname(@RequestBody PlayerTokenRequest request) {
+        String nickname = request.getNickname();
+        if (nickname == null || nickname.isEmpty() || BotService.isBot(nickname)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        String token = playerTokens.claim(nickname, request.getToken());
+        if (token == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.ok(new PlayerTokenResponse(nickname, token));
+    }
 
     @GetMapping("/leaderboard")
     public ResponseEntity<List<LeaderboardEntry>> getLeaderboard(
             @RequestParam(defaultValue = "10") int limit) {
 
-        List<Player> topPlayers = playerService.getLeaderboard(limit);
-
-        List<LeaderboardEntry> leaderboard = topPlayers.stream()
-                .map(player -> new LeaderboardEntry(
-                        player.getNickname(),
-                        player.getWins(),
-                        player.getLosses(),
-                        player.getDraws(),
-                        player.getWinLossDrawRecord(),
-                        player.getTotalScore()
-                ))
-                .collect(Collectors.toList());
+        List<LeaderboardEntry> leaderboard = playerService.getLeaderboard(limit);
 
         return ResponseEntity.ok(leaderboard);
     }
@@ -54,6 +69,19 @@ public class RestApiController {
         return ResponseEntity.notFound().build();
     }
 
+    @GetMapping("/player/{nickname}/rank")
+    public ResponseEntity<PlayerRankResponse> getPlayerRank(
+            @PathVariable String nickname,
+            @RequestParam(defaultValue = "2") int window) {
+        PlayerRankResponse rank = playerService.getRank(nickname, window);
+
+        if (rank != null) {
+            return ResponseEntity.ok(rank);
+        }
+
+        return ResponseEntity.notFound().build();
+    }
+
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getGameStats() {
         Map<String, Object> stats = new HashMap<>();
@@ -107,6 +135,7 @@ public class RestApiController {
         List<String> waitingPlayers = gameService.getWaitingPlayersList();
 
         details.put("waitingPlayersList", waitingPlayers);
+        details.put("inboundRateLimit", rateLimitInterceptor.getStats());
         details.put("timestamp", LocalDateTime.now());
 
         return ResponseEntity.ok(details);
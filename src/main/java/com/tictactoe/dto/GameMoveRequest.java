@@ -1,5 +1,6 @@
 package com.tictactoe.dto;
 
+import com.tictactoe.engine.GameVariant;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -12,4 +13,5 @@ public class GameMoveRequest {
     private String nickname;
     private int row;
     private int col;
+    private GameVariant variant; // null means CLASSIC
 }
@@ -1,5 +1,6 @@
 package com.tictactoe.dto;
 
+import com.tictactoe.model.PlayerStats;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,11 +10,13 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class GameStateResponse {
     private String gameId;
+    // Game state version; every broadcast of the same version carries the same bytes
+    private Long version;
     private char[][] board;
     private String currentTurn;
     private String status;
     private String winner;
-    private PlayerInfo player1;
-    private PlayerInfo player2;
+    private PlayerStats player1;
+    private PlayerStats player2;
     private String message;
 }
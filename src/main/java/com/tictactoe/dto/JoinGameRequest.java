@@ -1,5 +1,6 @@
 package com.tictactoe.dto;
 
+import com.tictactoe.engine.GameVariant;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,6 +10,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class JoinGameRequest {
     private String nickname;
+    private GameVariant variant; // null means CLASSIC
 
     public void setNickname(String nickname) {
         this.nickname = nickname != null ? nickname.trim() : null;
@@ -1,5 +1,6 @@
 package com.tictactoe.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -8,7 +9,17 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class MatchmakingResponse {
-    private String status;
+    private String status; // "WAITING", "QUEUED", "REJECTED", "STARTED", "CANCELLED"
     private String gameId;
     private String message;
+
+    // QUEUED only: 1-based place in the overflow queue, and the expected wait if known
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer queuePosition;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long estimatedWaitMs;
+
+    public MatchmakingResponse(String status, String gameId, String message) {
+        this(status, gameId, message, null, null);
+    }
 }
@@ -0,0 +1,23 @@
+package com.tictactoe.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One move on /topic/game/{id}, instead of the full state. {@code seq} is the game's state version
+ * after the move; a client that sees a gap asks for a resync. A move that ends the game is sent
+ * as a full snapshot instead.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MoveDelta {
+    private Long seq;
+    // row * boardSize + col
+    private Integer cell;
+    private String symbol;
+    private String turn;
+}
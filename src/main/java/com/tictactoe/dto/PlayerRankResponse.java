@@ -0,0 +1,20 @@
+package com.tictactoe.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlayerRankResponse {
+    private String nickname;
+    private Integer rank;
+    private Integer totalPlayers;
+    private LeaderboardEntry standing;
+    // Leaderboard slice around the player; the first entry is at neighboursFromRank
+    private Integer neighboursFromRank;
+    private List<LeaderboardEntry> neighbours;
+}
@@ -0,0 +1,20 @@
+package com.tictactoe.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Claim of a nickname; {@code token} is the one this client was issued before, if any
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlayerTokenRequest {
+    private String nickname;
+    private String token;
+
+    public void setNickname(String nickname) {
+        this.nickname = nickname != null ? nickname.trim() : null;
+    }
+}
@@ -0,0 +1,16 @@
+package com.tictactoe.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The token to send in the STOMP CONNECT frame with the nickname
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlayerTokenResponse {
+    private String nickname;
+    private String token;
+}
@@ -7,10 +7,7 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class PlayerInfo {
+public class ResyncRequest {
+    private String gameId;
     private String nickname;
-    private String symbol;
-    private Integer wins;
-    private Integer losses;
-    private Integer draws;
 }
@@ -0,0 +1,148 @@
+package com.tictactoe.engine;
+
+/**
+ * 3x3 tic-tac-toe engine that stores each side as a 9-bit mask.
+ * Cell (row, col) maps to bit {@code row * 3 + col}.
+ * Moves, win and draw checks are plain mask operations and never allocate.
+ */
+public final class BitboardEngine implements BoardEngine {
+
+    public static final int SIZE = 3;
+    public static final int CELLS = SIZE * SIZE;
+    public static final int FULL_BOARD = (1 << CELLS) - 1;
+
+    /**
+     * The eight winning lines: three rows, three columns, two diagonals
+     */
+    static final int[] WIN_LINES = {
+            0b000_000_111, 0b000_111_000, 0b111_000_000,
+            0b001_001_001, 0b010_010_010, 0b100_100_100,
+            0b100_010_001, 0b001_010_100
+    };
+
+    /**
+     * For every cell, only the lines passing through it (2 to 4 masks)
+     */
+    private static final int[][] LINES_THROUGH_CELL = new int[CELLS][];
+
+    static {
+        for (int cell = 0; cell < CELLS; cell++) {
+            int bit = 1 << cell;
+            int count = 0;
+            for (int line : WIN_LINES) {
+                if ((line & bit) != 0) {
+                    count++;
+                }
+            }
+            int[] lines = new int[count];
+            int i = 0;
+            for (int line : WIN_LINES) {
+                if ((line & bit) != 0) {
+                    lines[i++] = line;
+                }
+            }
+            LINES_THROUGH_CELL[cell] = lines;
+        }
+    }
+
+    private int xMask;
+    private int oMask;
+    private int turn = X;
+    private int outcome = IN_PROGRESS;
+
+    @Override
+    public boolean makeMove(int row, int col, int side) {
+        if (row < 0 || row >= SIZE || col < 0 || col >= SIZE) {
+            return false;
+        }
+        return makeMove(row * SIZE + col, side);
+    }
+
+    public boolean makeMove(int cell, int side) {
+        if (outcome != IN_PROGRESS || side != turn || cell < 0 || cell >= CELLS) {
+            return false;
+        }
+
+        int bit = 1 << cell;
+        if (((xMask | oMask) & bit) != 0) {
+            return false;
+        }
+
+        int mask;
+        if (side == X) {
+            xMask |= bit;
+            mask = xMask;
+        } else {
+            oMask |= bit;
+            mask = oMask;
+        }
+        turn = side ^ 1;
+
+        for (int line : LINES_THROUGH_CELL[cell]) {
+            if ((mask & line) == line) {
+                outcome = side == X ? X_WINS : O_WINS;
+                return true;
+            }
+        }
+
+        if ((xMask | oMask) == FULL_BOARD) {
+            outcome = DRAW;
+        }
+        return true;
+    }
+
+    /**
+     * Whether the mask contains any complete winning line
+     */
+    public static boolean isWin(int mask) {
+        for (int line : WIN_LINES) {
+            if ((mask & line) == line) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public char cellAt(int row, int col) {
+        int bit = 1 << (row * SIZE + col);
+        if ((xMask & bit) != 0) {
+            return 'X';
+        }
+        if ((oMask & bit) != 0) {
+            return 'O';
+        }
+        return ' ';
+    }
+
+    public int getXMask() {
+        return xMask;
+    }
+
+    public int getOMask() {
+        return oMask;
+    }
+
+    @Override
+    public int getSize() {
+        return SIZE;
+    }
+
+    @Override
+    public int getTurn() {
+        return turn;
+    }
+
+    @Override
+    public int getOutcome() {
+        return outcome;
+    }
+
+    @Override
+    public String toString() {
+        return "BitboardEngine(x=" + Integer.toBinaryString(xMask)
+                + ", o=" + Integer.toBinaryString(oMask)
+                + ", turn=" + (turn == X ? 'X' : 'O')
+                + ", outcome=" + outcome + ")";
+    }
+}
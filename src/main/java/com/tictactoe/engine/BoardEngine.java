@@ -0,0 +1,36 @@
+package com.tictactoe.engine;
+
+/**
+ * Board state and rules for one game. Implementations must not allocate on {@link #makeMove}.
+ */
+public interface BoardEngine {
+
+    int X = 0;
+    int O = 1;
+
+    int IN_PROGRESS = 0;
+    int X_WINS = 1;
+    int O_WINS = 2;
+    int DRAW = 3;
+
+    /**
+     * Applies a move for the given side. Returns false if the move is illegal
+     * (out of range, occupied cell, wrong turn or game already decided).
+     */
+    boolean makeMove(int row, int col, int side);
+
+    /**
+     * Returns 'X', 'O' or ' ' for the given cell
+     */
+    char cellAt(int row, int col);
+
+    int getSize();
+
+    int getTurn();
+
+    int getOutcome();
+
+    default boolean isFinished() {
+        return getOutcome() != IN_PROGRESS;
+    }
+}
@@ -0,0 +1,40 @@
+package com.tictactoe.engine;
+
+/**
+ * Supported board variants. CLASSIC keeps the 3x3 bitboard; larger boards use the packed engine.
+ */
+public enum GameVariant {
+    CLASSIC(3, 3),
+    FOUR_IN_A_ROW(7, 4),
+    GOMOKU(15, 5);
+
+    private final int size;
+    private final int winLength;
+
+    GameVariant(int size, int winLength) {
+        this.size = size;
+        this.winLength = winLength;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getWinLength() {
+        return winLength;
+    }
+
+    public BoardEngine newEngine() {
+        if (this == CLASSIC) {
+            return new BitboardEngine();
+        }
+        return new PackedBoardEngine(size, winLength);
+    }
+
+    /**
+     * Resolves a client-supplied variant, falling back to CLASSIC when none is given
+     */
+    public static GameVariant orDefault(GameVariant variant) {
+        return variant != null ? variant : CLASSIC;
+    }
+}
@@ -0,0 +1,131 @@
+package com.tictactoe.engine;
+
+/**
+ * N x N, k-in-a-row engine. Each side is a packed bit array (one bit per cell in a long[]).
+ * A move only walks the four lines through the played cell, at most k - 1 cells each way,
+ * so the cost of a move does not depend on the board size.
+ */
+public final class PackedBoardEngine implements BoardEngine {
+
+    // Row/column steps for horizontal, vertical, diagonal and anti-diagonal lines
+    private static final int[] DIRECTION_ROW = {0, 1, 1, 1};
+    private static final int[] DIRECTION_COL = {1, 0, 1, -1};
+
+    private final int size;
+    private final int winLength;
+    private final int cells;
+    private final long[] xBits;
+    private final long[] oBits;
+
+    private int moveCount;
+    private int turn = X;
+    private int outcome = IN_PROGRESS;
+
+    public PackedBoardEngine(int size, int winLength) {
+        if (size < 1 || winLength < 1 || winLength > size) {
+            throw new IllegalArgumentException("Invalid board " + size + "x" + size + ", k=" + winLength);
+        }
+        this.size = size;
+        this.winLength = winLength;
+        this.cells = size * size;
+        this.xBits = new long[(cells + 63) >>> 6];
+        this.oBits = new long[xBits.length];
+    }
+
+    @Override
+    public boolean makeMove(int row, int col, int side) {
+        if (outcome != IN_PROGRESS || side != turn
+                || row < 0 || row >= size || col < 0 || col >= size) {
+            return false;
+        }
+
+        int cell = row * size + col;
+        if (isSet(xBits, cell) || isSet(oBits, cell)) {
+            return false;
+        }
+
+        long[] bits = side == X ? xBits : oBits;
+        bits[cell >>> 6] |= 1L << cell;
+        moveCount++;
+        turn = side ^ 1;
+
+        if (completesLine(bits, row, col)) {
+            outcome = side == X ? X_WINS : O_WINS;
+        } else if (moveCount == cells) {
+            outcome = DRAW;
+        }
+        return true;
+    }
+
+    private boolean completesLine(long[] bits, int row, int col) {
+        for (int d = 0; d < DIRECTION_ROW.length; d++) {
+            int dr = DIRECTION_ROW[d];
+            int dc = DIRECTION_COL[d];
+            int count = 1
+                    + countRun(bits, row, col, dr, dc)
+                    + countRun(bits, row, col, -dr, -dc);
+            if (count >= winLength) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Counts consecutive stones of the same side from (row, col), exclusive, stopping after k - 1
+     */
+    private int countRun(long[] bits, int row, int col, int dr, int dc) {
+        int count = 0;
+        int r = row + dr;
+        int c = col + dc;
+        while (count < winLength - 1 && r >= 0 && r < size && c >= 0 && c < size
+                && isSet(bits, r * size + c)) {
+            count++;
+            r += dr;
+            c += dc;
+        }
+        return count;
+    }
+
+    private static boolean isSet(long[] bits, int cell) {
+        return (bits[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    @Override
+    public char cellAt(int row, int col) {
+        int cell = row * size + col;
+        if (isSet(xBits, cell)) {
+            return 'X';
+        }
+        if (isSet(oBits, cell)) {
+            return 'O';
+        }
+        return ' ';
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    public int getWinLength() {
+        return winLength;
+    }
+
+    @Override
+    public int getTurn() {
+        return turn;
+    }
+
+    @Override
+    public int getOutcome() {
+        return outcome;
+    }
+
+    @Override
+    public String toString() {
+        return "PackedBoardEngine(" + size + "x" + size + ", k=" + winLength
+                + ", moves=" + moveCount + ", turn=" + (turn == X ? 'X' : 'O')
+                + ", outcome=" + outcome + ")";
+    }
+}
@@ -0,0 +1,219 @@
+package com.tictactoe.engine;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Best move for every legal, undecided 3x3 position, reduced by the eight board symmetries.
+ * Built once by full minimax; afterwards {@link #bestMove} is a canonicalisation (8 table
+ * lookups) plus one hash probe, with no search.
+ */
+public final class PerfectPlayTable {
+
+    private static final int TRANSFORMS = 8;
+    private static final int EMPTY_SLOT = -1;
+
+    /**
+     * CELL_MAP[t][cell] is where the cell lands under transform t (rotations and reflections)
+     */
+    private static final int[][] CELL_MAP = new int[TRANSFORMS][BitboardEngine.CELLS];
+    private static final int[][] INVERSE_CELL_MAP = new int[TRANSFORMS][BitboardEngine.CELLS];
+
+    /**
+     * MASK_MAP[t][mask] is the 9-bit mask after transform t
+     */
+    private static final short[][] MASK_MAP = new short[TRANSFORMS][1 << BitboardEngine.CELLS];
+
+    static {
+        for (int t = 0; t < TRANSFORMS; t++) {
+            for (int row = 0; row < 3; row++) {
+                for (int col = 0; col < 3; col++) {
+                    int r = row;
+                    int c = col;
+                    // t & 3 quarter turns, then mirror if t >= 4
+                    for (int turn = 0; turn < (t & 3); turn++) {
+                        int tmp = r;
+                        r = c;
+                        c = 2 - tmp;
+                    }
+                    if (t >= 4) {
+                        c = 2 - c;
+                    }
+                    CELL_MAP[t][row * 3 + col] = r * 3 + c;
+                    INVERSE_CELL_MAP[t][r * 3 + c] = row * 3 + col;
+                }
+            }
+            for (int mask = 0; mask < (1 << BitboardEngine.CELLS); mask++) {
+                int mapped = 0;
+                for (int cell = 0; cell < BitboardEngine.CELLS; cell++) {
+                    if ((mask & (1 << cell)) != 0) {
+                        mapped |= 1 << CELL_MAP[t][cell];
+                    }
+                }
+                MASK_MAP[t][mask] = (short) mapped;
+            }
+        }
+    }
+
+    private final int[] keys;
+    private final byte[] moves;
+    private final int reachablePositions;
+    private final int canonicalPositions;
+    private final long buildNanos;
+
+    private PerfectPlayTable(int[] keys, byte[] moves, int reachablePositions,
+                             int canonicalPositions, long buildNanos) {
+        this.keys = keys;
+        this.moves = moves;
+        this.reachablePositions = reachablePositions;
+        this.canonicalPositions = canonicalPositions;
+        this.buildNanos = buildNanos;
+    }
+
+    public static PerfectPlayTable build() {
+        long start = System.nanoTime();
+        Builder builder = new Builder();
+        builder.explore(0, 0);
+
+        int capacity = Integer.highestOneBit(builder.bestMoves.size() * 2 - 1) << 1;
+        int[] keys = new int[capacity];
+        byte[] moves = new byte[capacity];
+        Arrays.fill(keys, EMPTY_SLOT);
+        for (Map.Entry<Integer, Integer> entry : builder.bestMoves.entrySet()) {
+            int slot = slotFor(keys, entry.getKey());
+            keys[slot] = entry.getKey();
+            moves[slot] = entry.getValue().byteValue();
+        }
+
+        return new PerfectPlayTable(keys, moves, builder.reachablePositions(),
+                builder.bestMoves.size(), System.nanoTime() - start);
+    }
+
+    /**
+     * Returns the best cell (0-8) for the side to move, or -1 if the position is decided or unknown
+     */
+    public int bestMove(int xMask, int oMask) {
+        int best = Integer.MAX_VALUE;
+        int bestTransform = 0;
+        for (int t = 0; t < TRANSFORMS; t++) {
+            int key = (MASK_MAP[t][xMask] << BitboardEngine.CELLS) | MASK_MAP[t][oMask];
+            if (key < best) {
+                best = key;
+                bestTransform = t;
+            }
+        }
+
+        int slot = slotFor(keys, best);
+        if (keys[slot] != best) {
+            return -1;
+        }
+        return INVERSE_CELL_MAP[bestTransform][moves[slot]];
+    }
+
+    private static int slotFor(int[] keys, int key) {
+        int mask = keys.length - 1;
+        int slot = (key * 0x9E3779B9) >>> 16 & mask;
+        while (keys[slot] != EMPTY_SLOT && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    public int getReachablePositions() {
+        return reachablePositions;
+    }
+
+    public int getCanonicalPositions() {
+        return canonicalPositions;
+    }
+
+    public long getBuildMillis() {
+        return buildNanos / 1_000_000;
+    }
+
+    /**
+     * Approximate retained size of the lookup structures
+     */
+    public long getMemoryBytes() {
+        long tableBytes = keys.length * 4L + moves.length;
+        long symmetryBytes = (long) TRANSFORMS * (1 << BitboardEngine.CELLS) * 2
+                + 2L * TRANSFORMS * BitboardEngine.CELLS * 4;
+        return tableBytes + symmetryBytes;
+    }
+
+    private static int canonicalKey(int xMask, int oMask) {
+        int best = Integer.MAX_VALUE;
+        for (int t = 0; t < TRANSFORMS; t++) {
+            best = Math.min(best, (MASK_MAP[t][xMask] << BitboardEngine.CELLS) | MASK_MAP[t][oMask]);
+        }
+        return best;
+    }
+
+    /**
+     * Negamax over every reachable position; best moves are kept per canonical position
+     */
+    private static final class Builder {
+        private final Map<Integer, Integer> scores = new HashMap<>();
+        private final Map<Integer, Integer> bestMoves = new HashMap<>();
+        private final Set<Integer> terminalPositions = new HashSet<>();
+
+        int reachablePositions() {
+            return scores.size() + terminalPositions.size();
+        }
+
+        /**
+         * Score for the side to move: positive wins (sooner is higher), 0 draws, negative loses
+         */
+        int explore(int xMask, int oMask) {
+            int position = (xMask << BitboardEngine.CELLS) | oMask;
+            Integer cached = scores.get(position);
+            if (cached != null) {
+                return cached;
+            }
+
+            boolean xToMove = Integer.bitCount(xMask) == Integer.bitCount(oMask);
+            int occupied = xMask | oMask;
+            int bestScore = Integer.MIN_VALUE;
+            int bestCell = -1;
+
+            for (int cell = 0; cell < BitboardEngine.CELLS; cell++) {
+                int bit = 1 << cell;
+                if ((occupied & bit) != 0) {
+                    continue;
+                }
+                int nextX = xToMove ? xMask | bit : xMask;
+                int nextO = xToMove ? oMask : oMask | bit;
+                int score;
+                if (BitboardEngine.isWin(xToMove ? nextX : nextO)) {
+                    score = 10 - Integer.bitCount(occupied);
+                    terminalPositions.add((nextX << BitboardEngine.CELLS) | nextO);
+                } else if ((occupied | bit) == BitboardEngine.FULL_BOARD) {
+                    score = 0;
+                    terminalPositions.add((nextX << BitboardEngine.CELLS) | nextO);
+                } else {
+                    score = -explore(nextX, nextO);
+                }
+                if (score > bestScore) {
+                    bestScore = score;
+                    bestCell = cell;
+                }
+            }
+
+            // Store the move in the canonical frame so lookups can map it back
+            int key = canonicalKey(xMask, oMask);
+            if (!bestMoves.containsKey(key)) {
+                for (int t = 0; t < TRANSFORMS; t++) {
+                    if (((MASK_MAP[t][xMask] << BitboardEngine.CELLS) | MASK_MAP[t][oMask]) == key) {
+                        bestMoves.put(key, CELL_MAP[t][bestCell]);
+                        break;
+                    }
+                }
+            }
+            scores.put(position, bestScore);
+            return bestScore;
+        }
+    }
+}
@@ -1,110 +1,138 @@
 package com.tictactoe.model;
 
+import com.tictactoe.engine.BoardEngine;
+import com.tictactoe.engine.GameVariant;
 import lombok.Data;
 
 import java.time.LocalDateTime;
-import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Predicate;
 
 @Data
 public class Game {
 
+    private static final String SYMBOL_X = "X";
+    private static final String SYMBOL_O = "O";
+
     private String gameId;
     private Player player1;
     private Player player2;
-    private String currentTurn; // "X" or "O"
-    private char[][] board;
     private GameStatus status;
     private String winner; // null, "X", "O", or "DRAW"
     private LocalDateTime createdAt;
     private LocalDateTime lastMoveAt;
 
+    // Broadcast stats, taken at pairing and refreshed once with the result; no database reads per move
+    private volatile PlayerStats player1Stats;
+    private volatile PlayerStats player2Stats;
+
+    // Bumped on every state change (move, status, winner); broadcasts are keyed by it
+    private volatile long version;
+
+    // Board and turn live in the engine; getBoard()/getCurrentTurn() adapt them
+    private final GameVariant variant;
+    private final BoardEngine engine;
+
     public enum GameStatus {
         WAITING, IN_PROGRESS, FINISHED, ABANDONED
     }
 
     public Game(String gameId) {
+        this(gameId, GameVariant.CLASSIC);
+    }
+
+    public Game(String gameId, GameVariant variant) {
         this.gameId = gameId;
-        this.board = new char[3][3];
-        for (int i = 0; i < 3; i++) {
-            Arrays.fill(board[i], ' ');
-        }
+        this.variant = variant;
+        this.engine = variant.newEngine();
         this.status = GameStatus.WAITING;
-        this.currentTurn = "X";
         this.createdAt = LocalDateTime.now();
         this.lastMoveAt = LocalDateTime.now();
     }
 
     public boolean makeMove(int row, int col, String symbol) {
-        if (row < 0 || row > 2 || col < 0 || col > 2) {
+        int side = toSide(symbol);
+        if (side < 0 || !engine.makeMove(row, col, side)) {
             return false;
         }
 
-        if (board[row][col] != ' ') {
-            return false;
-        }
-
-        if (!currentTurn.equals(symbol)) {
-            return false;
-        }
-
-        board[row][col] = symbol.charAt(0);
         lastMoveAt = LocalDateTime.now();
-
-        // Switch turn
-        currentTurn = currentTurn.equals("X") ? "O" : "X";
+        version++;
 
         // Check for winner or draw
-        checkGameStatus();
+        switch (engine.getOutcome()) {
+            case BoardEngine.X_WINS -> finish(SYMBOL_X);
+            case BoardEngine.O_WINS -> finish(SYMBOL_O);
+            case BoardEngine.DRAW -> finish("DRAW");
+            default -> { }
+        }
 
         return true;
     }
 
-    private void checkGameStatus() {
-        // Check rows
-        for (int i = 0; i < 3; i++) {
-            if (board[i][0] != ' ' && board[i][0] == board[i][1] && board[i][1] == board[i][2]) {
-                winner = String.valueOf(board[i][0]);
-                status = GameStatus.FINISHED;
-                return;
-            }
+    public void setStatus(GameStatus status) {
+        if (this.status != status) {
+            this.status = status;
+            version++;
         }
+    }
 
-        // Check columns
-        for (int i = 0; i < 3; i++) {
-            if (board[0][i] != ' ' && board[0][i] == board[1][i] && board[1][i] == board[2][i]) {
-                winner = String.valueOf(board[0][i]);
-                status = GameStatus.FINISHED;
-                return;
-            }
+    public void setWinner(String winner) {
+        if (!Objects.equals(this.winner, winner)) {
+            this.winner = winner;
+            version++;
         }
+    }
 
-        // Check diagonals
-        if (board[0][0] != ' ' && board[0][0] == board[1][1] && board[1][1] == board[2][2]) {
-            winner = String.valueOf(board[0][0]);
-            status = GameStatus.FINISHED;
-            return;
-        }
+    private void finish(String result) {
+        winner = result;
+        status = GameStatus.FINISHED;
+    }
 
-        if (board[0][2] != ' ' && board[0][2] == board[1][1] && board[1][1] == board[2][0]) {
-            winner = String.valueOf(board[0][2]);
-            status = GameStatus.FINISHED;
-            return;
+    private static int toSide(String symbol) {
+        if (symbol == null || symbol.length() != 1) {
+            return -1;
         }
+        char c = symbol.charAt(0);
+        return c == 'X' ? BoardEngine.X : c == 'O' ? BoardEngine.O : -1;
+    }
+
+    public String getCurrentTurn() {
+        return engine.getTurn() == BoardEngine.X ? SYMBOL_X : SYMBOL_O;
+    }
 
-        // Check for draw
-        boolean boardFull = true;
-        for (int i = 0; i < 3; i++) {
-            for (int j = 0; j < 3; j++) {
-                if (board[i][j] == ' ') {
-                    boardFull = false;
-                    break;
-                }
+    /**
+     * Board in the original char[][] shape (' ', 'X' or 'O') for responses
+     */
+    public char[][] getBoard() {
+        int size = engine.getSize();
+        char[][] board = new char[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                board[i][j] = engine.cellAt(i, j);
             }
         }
+        return board;
+    }
 
-        if (boardFull) {
-            winner = "DRAW";
-            status = GameStatus.FINISHED;
+    /**
+     * Take the stats snapshot from the current players; call once both are set
+     */
+    public void snapshotStats() {
+        player1Stats = player1 != null ? PlayerStats.of(player1, SYMBOL_X) : null;
+        player2Stats = player2 != null ? PlayerStats.of(player2, SYMBOL_O) : null;
+    }
+
+    /**
+     * Apply the finished game's result to the snapshot of each ranked player
+     * @param ranked whether a nickname's record counts the game (the bot's does not)
+     */
+    public void applyResultToStats(Predicate<String> ranked) {
+        if (player1Stats != null && ranked.test(player1Stats.nickname())) {
+            player1Stats = player1Stats.withResult(winner);
+        }
+        if (player2Stats != null && ranked.test(player2Stats.nickname())) {
+            player2Stats = player2Stats.withResult(winner);
         }
     }
 
@@ -114,9 +142,9 @@ public class Game {
 
     public String getPlayerSymbol(String nickname) {
         if (player1 != null && player1.getNickname().equals(nickname)) {
-            return "X";
+            return SYMBOL_X;
         } else if (player2 != null && player2.getNickname().equals(nickname)) {
-            return "O";
+            return SYMBOL_O;
         }
         return null;
     }
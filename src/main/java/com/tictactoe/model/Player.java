@@ -8,12 +8,19 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "players")
+@Table(name = "players", indexes = {
+        @Index(name = "idx_players_leaderboard", columnList = "total_score DESC, wins DESC")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Player {
 
+    public static final int DEFAULT_RATING = 1200;
+    private static final int ELO_K_FACTOR = 32;
+    public static final int WIN_POINTS = 200;
+    public static final int DRAW_POINTS = 50;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -33,6 +40,10 @@ public class Player {
     @Column(nullable = false)
     private Integer totalScore = 0;
 
+    // Elo rating used by rated matchmaking
+    @Column(nullable = false, columnDefinition = "integer default 1200")
+    private Integer rating = DEFAULT_RATING;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -47,7 +58,7 @@ public class Player {
 
     public void addWin() {
         this.wins++;
-        this.totalScore += 200;
+        this.totalScore += WIN_POINTS;
         this.lastPlayed = LocalDateTime.now();
     }
 
@@ -58,10 +69,18 @@ public class Player {
 
     public void addDraw() {
         this.draws++;
-        this.totalScore += 50;
+        this.totalScore += DRAW_POINTS;
         this.lastPlayed = LocalDateTime.now();
     }
 
+    /**
+     * Elo rating change for a player rated {@code rating} scoring {@code score} against {@code opponentRating}
+     */
+    public static int ratingDelta(int rating, int opponentRating, double score) {
+        double expected = 1.0 / (1.0 + Math.pow(10, (opponentRating - rating) / 400.0));
+        return (int) Math.round(ELO_K_FACTOR * (score - expected));
+    }
+
     public String getWinLossDrawRecord() {
         return wins + "/" + losses + "/" + draws;
     }
@@ -0,0 +1,28 @@
+package com.tictactoe.model;
+
+/**
+ * Immutable copy of a player's record for game-state broadcasts, taken when the game is paired
+ */
+public record PlayerStats(String nickname, String symbol, int wins, int losses, int draws) {
+
+    public static PlayerStats of(Player player, String symbol) {
+        return new PlayerStats(player.getNickname(), symbol,
+                valueOf(player.getWins()), valueOf(player.getLosses()), valueOf(player.getDraws()));
+    }
+
+    /**
+     * Stats after a game with the given result ("X", "O" or "DRAW")
+     */
+    public PlayerStats withResult(String winner) {
+        if ("DRAW".equals(winner)) {
+            return new PlayerStats(nickname, symbol, wins, losses, draws + 1);
+        }
+        return symbol.equals(winner)
+                ? new PlayerStats(nickname, symbol, wins + 1, losses, draws)
+                : new PlayerStats(nickname, symbol, wins, losses + 1, draws);
+    }
+
+    private static int valueOf(Integer value) {
+        return value != null ? value : 0;
+    }
+}
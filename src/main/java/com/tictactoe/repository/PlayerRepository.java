@@ -1,6 +1,7 @@
 package com.tictactoe.repository;
 
 import com.tictactoe.model.Player;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -15,6 +16,9 @@ public interface PlayerRepository extends JpaRepository<Player, Long> {
 
     boolean existsByNickname(String nickname);
 
-    @Query("SELECT p FROM Player p ORDER BY p.totalScore DESC, p.wins DESC")
-    List<Player> findTopPlayers();
-}
\ No newline at end of file
+    /**
+     * Leaderboard top K; served by the (total_score, wins) index, so only the first page is read
+     */
+    @Query("SELECT p FROM Player p ORDER BY p.totalScore DESC, p.wins DESC, p.nickname ASC")
+    List<Player> findTopPlayers(Pageable pageable);
+}
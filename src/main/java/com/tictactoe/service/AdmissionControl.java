@@ -0,0 +1,307 @@
+package com.tictactoe.service;
+
+import com.tictactoe.engine.GameVariant;
+import com.tictactoe.model.Player;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caps live games at {@code game.max.concurrent.games}. A game takes a slot when it is created and
+ * gives it back when it ends; no slot, no game.
+ *
+ * Players only enter matchmaking while there is room for them to play (two per free slot). The
+ * rest wait in a FIFO overflow queue and are let in as games end. A queued player is told their
+ * position and an estimated wait, from the rate games have ended recently. Whoever waits there
+ * longer than {@code game.matchmaking.timeout} is dropped, and a join whose estimated wait is
+ * already past that timeout is turned away at once.
+ */
+@Component
+@Slf4j
+public class AdmissionControl {
+
+    // Game endings are counted over this window to estimate overflow waits
+    private static final int RATE_WINDOW_SECONDS = 60;
+
+    /**
+     * A player let out of the overflow queue, to be put into matchmaking
+     */
+    public record Queued(Player player, GameVariant variant) {
+    }
+
+    /**
+     * Where a player stands in the overflow queue (position is 1-based)
+     */
+    public record QueueStatus(String nickname, int position, Long estimatedWaitMs) {
+    }
+
+    private final int maxGames;
+    private final long timeoutMs;
+    private final AtomicInteger activeGames = new AtomicInteger();
+
+    // Overflow queue by ticket: joins count up from the tail, requeued players count down from the head
+    private final TreeMap<Long, Entry> queue = new TreeMap<>();
+    private final Map<String, Long> tickets = new HashMap<>();
+    private long nextTailTicket = 0;
+    private long nextHeadTicket = -1;
+
+    // Games ended per second, one bucket per second of the window
+    private final AtomicLongArray releaseSeconds = new AtomicLongArray(RATE_WINDOW_SECONDS);
+    private final AtomicLongArray releaseCounts = new AtomicLongArray(RATE_WINDOW_SECONDS);
+
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder requeued = new LongAdder();
+
+    public AdmissionControl(@Value("${game.max.concurrent.games:100}") int maxGames,
+                            @Value("${game.matchmaking.timeout:30000}") long timeoutMs) {
+        if (maxGames < 1) {
+            throw new IllegalArgumentException("game.max.concurrent.games must be at least 1, got " + maxGames);
+        }
+        this.maxGames = maxGames;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Take a game slot. False if every slot is in use.
+     */
+    public boolean tryAcquireGame() {
+        while (true) {
+            int active = activeGames.get();
+            if (active >= maxGames) {
+                return false;
+            }
+            if (activeGames.compareAndSet(active, active + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Give back the slot of a game that ended
+     */
+    public void releaseGame() {
+        activeGames.updateAndGet(active -> Math.max(0, active - 1));
+        recordRelease(System.currentTimeMillis() / 1000);
+    }
+
+    /**
+     * Whether a new player may go straight into matchmaking: nobody is queued ahead of them and the
+     * players already waiting there do not fill the free slots.
+     */
+    public synchronized boolean hasRoomForMatchmaking(int waitingInMatchmaking) {
+        return queue.isEmpty() && waitingInMatchmaking < freePlayerSlots();
+    }
+
+    /**
+     * Put a player at the back of the overflow queue.
+     * @return their place in it, or null if the estimated wait is past the timeout and they were turned away
+     */
+    public synchronized QueueStatus enqueue(Player player, GameVariant variant) {
+        String nickname = player.getNickname();
+        Long ticket = tickets.get(nickname);
+        if (ticket != null) {
+            return statusOf(nickname, ticket);
+        }
+
+        int position = queue.size() + 1;
+        Long estimate = estimateWaitMs(position);
+        if (estimate != null && estimate > timeoutMs) {
+            rejected.increment();
+            log.warn("🚧 [ADMISSION] Turning '{}' away: {} games running, #{} in line, ~{} ms wait",
+                    nickname, activeGames.get(), position, estimate);
+            return null;
+        }
+
+        add(nextTailTicket++, player, variant).reportedPosition = position;
+        queued.increment();
+        log.info("🚧 [ADMISSION] {} games running; '{}' is #{} in the overflow queue", activeGames.get(), nickname, position);
+        return new QueueStatus(nickname, position, estimate);
+    }
+
+    /**
+     * Put a player who was paired but found no free slot back at the head of the overflow queue
+     */
+    public synchronized void requeueFirst(Player player, GameVariant variant) {
+        if (tickets.containsKey(player.getNickname())) {
+            return;
+        }
+        add(nextHeadTicket--, player, variant);
+        requeued.increment();
+    }
+
+    /**
+     * Take players off the head of the overflow queue for the room that has opened in matchmaking
+     */
+    public synchronized List<Queued> admit(int waitingInMatchmaking) {
+        List<Queued> out = new ArrayList<>();
+        int room = freePlayerSlots() - waitingInMatchmaking;
+        while (room-- > 0 && !queue.isEmpty()) {
+            Entry entry = queue.pollFirstEntry().getValue();
+            tickets.remove(entry.player.getNickname());
+            out.add(new Queued(entry.player, entry.variant));
+        }
+        admitted.add(out.size());
+        return out;
+    }
+
+    /**
+     * Drop players who have waited in the overflow queue longer than the matchmaking timeout
+     * @return their nicknames
+     */
+    public synchronized List<String> expire(long nowMillis) {
+        List<String> expired = new ArrayList<>();
+        Iterator<Entry> entries = queue.values().iterator();
+        while (entries.hasNext()) {
+            Entry entry = entries.next();
+            if (nowMillis - entry.queuedAt >= timeoutMs) {
+                entries.remove();
+                tickets.remove(entry.player.getNickname());
+                expired.add(entry.player.getNickname());
+            }
+        }
+        timedOut.add(expired.size());
+        return expired;
+    }
+
+    /**
+     * Queued players whose position has changed since they were last told it
+     */
+    public synchronized List<QueueStatus> positionChanges() {
+        List<QueueStatus> changes = new ArrayList<>();
+        int position = 0;
+        for (Entry entry : queue.values()) {
+            position++;
+            if (entry.reportedPosition != position) {
+                entry.reportedPosition = position;
+                changes.add(new QueueStatus(entry.player.getNickname(), position, estimateWaitMs(position)));
+            }
+        }
+        return changes;
+    }
+
+    public synchronized QueueStatus getStatus(String nickname) {
+        Long ticket = tickets.get(nickname);
+        return ticket == null ? null : statusOf(nickname, ticket);
+    }
+
+    public synchronized boolean isQueued(String nickname) {
+        return tickets.containsKey(nickname);
+    }
+
+    public synchronized boolean cancel(String nickname) {
+        Long ticket = tickets.remove(nickname);
+        return ticket != null && queue.remove(ticket) != null;
+    }
+
+    /**
+     * Empty the overflow queue. Returns the nicknames removed.
+     */
+    public synchronized List<String> clear() {
+        List<String> removed = new ArrayList<>(tickets.keySet());
+        queue.clear();
+        tickets.clear();
+        return removed;
+    }
+
+    /**
+     * Empty the overflow queue and forget every slot in use, after all games were dropped
+     */
+    public synchronized void reset() {
+        clear();
+        activeGames.set(0);
+    }
+
+    public synchronized int getQueuedCount() {
+        return queue.size();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("maxConcurrentGames", maxGames);
+        stats.put("activeGames", activeGames.get());
+        synchronized (this) {
+            stats.put("overflowQueued", queue.size());
+        }
+        stats.put("gamesEndedPerSecond", Math.round(releasesPerSecond(System.currentTimeMillis() / 1000) * 100) / 100.0);
+        stats.put("queued", queued.sum());
+        stats.put("admitted", admitted.sum());
+        stats.put("requeued", requeued.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("timedOut", timedOut.sum());
+        return stats;
+    }
+
+    private Entry add(long ticket, Player player, GameVariant variant) {
+        Entry entry = new Entry(player, variant, System.currentTimeMillis());
+        queue.put(ticket, entry);
+        tickets.put(player.getNickname(), ticket);
+        return entry;
+    }
+
+    private QueueStatus statusOf(String nickname, long ticket) {
+        int position = queue.headMap(ticket, true).size();
+        return new QueueStatus(nickname, position, estimateWaitMs(position));
+    }
+
+    private int freePlayerSlots() {
+        return 2 * Math.max(0, maxGames - activeGames.get());
+    }
+
+    /**
+     * Each game that ends lets the next two queued players in; null until any game has ended recently
+     */
+    private Long estimateWaitMs(int position) {
+        double perSecond = releasesPerSecond(System.currentTimeMillis() / 1000);
+        if (perSecond == 0) {
+            return null;
+        }
+        return Math.round((position + 1) / 2 / perSecond * 1000);
+    }
+
+    private void recordRelease(long second) {
+        int i = (int) (second % RATE_WINDOW_SECONDS);
+        long stamp = releaseSeconds.get(i);
+        if (stamp != second && releaseSeconds.compareAndSet(i, stamp, second)) {
+            releaseCounts.set(i, 0);
+        }
+        releaseCounts.incrementAndGet(i);
+    }
+
+    private double releasesPerSecond(long second) {
+        long total = 0;
+        for (int i = 0; i < RATE_WINDOW_SECONDS; i++) {
+            if (second - releaseSeconds.get(i) < RATE_WINDOW_SECONDS) {
+                total += releaseCounts.get(i);
+            }
+        }
+        return total / (double) RATE_WINDOW_SECONDS;
+    }
+
+    private static final class Entry {
+        private final Player player;
+        private final GameVariant variant;
+        private final long queuedAt;
+        // Guarded by the enclosing AdmissionControl
+        private int reportedPosition;
+
+        private Entry(Player player, GameVariant variant, long queuedAt) {
+            this.player = player;
+            this.variant = variant;
+            this.queuedAt = queuedAt;
+        }
+    }
+}
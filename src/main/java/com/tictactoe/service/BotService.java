@@ -0,0 +1,68 @@
+package com.tictactoe.service;
+
+import com.tictactoe.engine.BitboardEngine;
+import com.tictactoe.engine.GameVariant;
+import com.tictactoe.engine.PerfectPlayTable;
+import com.tictactoe.model.Game;
+import com.tictactoe.model.Player;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Server-side opponent for players left waiting too long.
+ * Moves come from a perfect-play table built once at startup.
+ */
+@Service
+@Slf4j
+public class BotService {
+
+    public static final String BOT_NICKNAME = "TicTacBot";
+
+    @Value("${game.bot.wait-threshold-ms:15000}")
+    private long waitThresholdMs;
+
+    private PerfectPlayTable table;
+
+    @PostConstruct
+    void buildTable() {
+        table = PerfectPlayTable.build();
+        log.info("🤖 [BOT] Perfect-play table built in {} ms | Reachable positions: {} | Canonical entries: {} | Memory: ~{} KB",
+                table.getBuildMillis(), table.getReachablePositions(), table.getCanonicalPositions(),
+                table.getMemoryBytes() / 1024);
+    }
+
+    public static boolean isBot(String nickname) {
+        return BOT_NICKNAME.equalsIgnoreCase(nickname);
+    }
+
+    /**
+     * In-memory player for the bot; it is never persisted and never ranked
+     */
+    public Player newBotPlayer() {
+        Player bot = new Player();
+        bot.setNickname(BOT_NICKNAME);
+        return bot;
+    }
+
+    public long getWaitThresholdMs() {
+        return waitThresholdMs;
+    }
+
+    /**
+     * Returns {row, col} for the bot's next move, or null if the bot cannot move
+     */
+    public int[] chooseMove(Game game) {
+        if (game.getVariant() != GameVariant.CLASSIC
+                || !(game.getEngine() instanceof BitboardEngine engine)) {
+            return null;
+        }
+
+        int cell = table.bestMove(engine.getXMask(), engine.getOMask());
+        if (cell < 0) {
+            return null;
+        }
+        return new int[]{cell / BitboardEngine.SIZE, cell % BitboardEngine.SIZE};
+    }
+}
@@ -0,0 +1,169 @@
+package com.tictactoe.service;
+
+import com.tictactoe.engine.GameVariant;
+import com.tictactoe.model.Player;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free first-come matchmaking ({@code game.matchmaking.mode=fifo}), one lane per {@link GameVariant}.
+ *
+ * With first-come pairing a lane never holds more than one waiting player: whoever arrives
+ * next is paired with them. Each lane is therefore a single CAS slot (an exchanger) rather
+ * than a queue. Every waiting player holds one ticket, indexed by nickname for O(1)
+ * membership checks; tickets are claimed with CAS, so a ticket is matched at most once and
+ * a player can never be matched with itself.
+ */
+@Component
+@ConditionalOnProperty(name = "game.matchmaking.mode", havingValue = "fifo", matchIfMissing = true)
+public class FifoMatchmaker implements Matchmaker {
+
+    private static final int WAITING = 0;
+    private static final int PENDING = 1;
+    private static final int MATCHED = 2;
+    private static final int CANCELLED = 3;
+
+    private final Map<String, Ticket> members = new ConcurrentHashMap<>();
+    private final Map<GameVariant, AtomicReference<Ticket>> lanes = new EnumMap<>(GameVariant.class);
+    private final GameMetrics metrics;
+
+    public FifoMatchmaker(GameMetrics metrics) {
+        this.metrics = metrics;
+        for (GameVariant variant : GameVariant.values()) {
+            lanes.put(variant, new AtomicReference<>());
+        }
+    }
+
+    @Override
+    public Pairing join(Player player, GameVariant variant) {
+        String nickname = player.getNickname();
+        Ticket mine = new Ticket(player, variant, System.currentTimeMillis());
+        if (members.putIfAbsent(nickname, mine) != null) {
+            return null;
+        }
+
+        AtomicReference<Ticket> lane = lanes.get(variant);
+        while (true) {
+            Ticket waiting = lane.get();
+            if (waiting == null || waiting.state.get() != WAITING) {
+                // Empty lane, or its ticket was cancelled/claimed: take the slot
+                if (lane.compareAndSet(waiting, mine)) {
+                    return null;
+                }
+                continue;
+            }
+
+            // Hold our own ticket first so a concurrent cancel cannot strand the waiting player
+            if (!mine.state.compareAndSet(WAITING, PENDING)) {
+                return null;
+            }
+            if (!waiting.state.compareAndSet(WAITING, MATCHED)) {
+                mine.state.set(WAITING);
+                continue;
+            }
+            mine.state.set(MATCHED);
+
+            lane.compareAndSet(waiting, null);
+            members.remove(waiting.nickname, waiting);
+            members.remove(nickname, mine);
+            metrics.recordMatchmakingWait(System.currentTimeMillis() - waiting.joinedAt);
+            metrics.recordMatchmakingWait(0);
+            return new Pairing(waiting.player, player, variant);
+        }
+    }
+
+    @Override
+    public boolean cancel(String nickname) {
+        Ticket ticket = members.get(nickname);
+        if (ticket == null) {
+            return false;
+        }
+
+        while (true) {
+            int state = ticket.state.get();
+            if (state == WAITING) {
+                if (ticket.state.compareAndSet(WAITING, CANCELLED)) {
+                    members.remove(nickname, ticket);
+                    lanes.get(ticket.variant).compareAndSet(ticket, null);
+                    return true;
+                }
+            } else if (state == PENDING) {
+                // The joining thread is between its two CAS steps; it resolves in a few instructions
+                Thread.yield();
+            } else {
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public List<Player> claimWaitingSince(GameVariant variant, long cutoffMillis) {
+        AtomicReference<Ticket> lane = lanes.get(variant);
+        Ticket waiting = lane.get();
+        if (waiting == null || waiting.joinedAt >= cutoffMillis
+                || !waiting.state.compareAndSet(WAITING, MATCHED)) {
+            return Collections.emptyList();
+        }
+
+        lane.compareAndSet(waiting, null);
+        members.remove(waiting.nickname, waiting);
+        metrics.recordMatchmakingWait(System.currentTimeMillis() - waiting.joinedAt);
+        return List.of(waiting.player);
+    }
+
+    @Override
+    public boolean isWaiting(String nickname) {
+        return members.containsKey(nickname);
+    }
+
+    @Override
+    public Long getJoinedAt(String nickname) {
+        Ticket ticket = members.get(nickname);
+        return ticket != null ? ticket.joinedAt : null;
+    }
+
+    @Override
+    public int size() {
+        return members.size();
+    }
+
+    @Override
+    public List<String> getWaitingPlayers() {
+        return new ArrayList<>(members.keySet());
+    }
+
+    @Override
+    public List<String> clear() {
+        List<String> removed = new ArrayList<>();
+        for (String nickname : getWaitingPlayers()) {
+            if (cancel(nickname)) {
+                removed.add(nickname);
+            }
+        }
+        return removed;
+    }
+
+    private static final class Ticket {
+        private final Player player;
+        private final String nickname;
+        private final GameVariant variant;
+        private final long joinedAt;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        private Ticket(Player player, GameVariant variant, long joinedAt) {
+            this.player = player;
+            this.nickname = player.getNickname();
+            this.variant = variant;
+            this.joinedAt = joinedAt;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.tictactoe.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One lightweight actor per game: every command that touches a {@link com.tictactoe.model.Game}
+ * is sent to that game's mailbox and runs there, one at a time, in arrival order.
+ *
+ * A mailbox is a lock-free queue plus a "scheduled" flag. Sending a command enqueues it and, if
+ * the mailbox is idle, submits the mailbox to a shared work-stealing pool. The mailbox drains a
+ * batch and hands the thread back, so different games run in parallel across cores while one
+ * game never runs on two threads at once. The flag's CAS/set gives each drain a happens-before
+ * edge to the previous one, so game state needs no lock.
+ *
+ * A game's mailbox is opened when the game is registered and stopped when it ends; commands for
+ * any other game id are refused, so clients cannot create mailboxes. A stopped mailbox refuses new
+ * commands, runs the ones already queued and then removes itself.
+ *
+ * With {@code spring.threads.virtual.enabled} each drain runs on its own virtual thread instead, so
+ * a command that blocks (JPA, a broker send) parks cheaply rather than holding a pool thread.
+ */
+@Component
+@Slf4j
+public class GameActors {
+
+    private static final int BATCH_SIZE = 32;
+
+    private final Map<String, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final Executor pool;
+
+    public GameActors(@Value("${game.actors.parallelism:0}") int parallelism,
+                      @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("game-actor-");
+            executor.setVirtualThreads(true);
+            // Lets close() wait for running drains, like the pool's awaitTermination
+            executor.setTaskTerminationTimeout(5000);
+            this.pool = executor;
+            log.info("🎭 [ACTORS] Game actors run on virtual threads");
+            return;
+        }
+
+        int threads = parallelism > 0 ? parallelism : Math.max(2, Runtime.getRuntime().availableProcessors());
+        this.pool = new ForkJoinPool(threads, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("game-actor-" + thread.getPoolIndex());
+            return thread;
+        }, null, true);
+        log.info("🎭 [ACTORS] Game actor pool started with {} threads", threads);
+    }
+
+    /**
+     * Start accepting commands for a newly registered game
+     */
+    public void open(String gameId) {
+        mailboxes.putIfAbsent(gameId, new Mailbox(gameId));
+    }
+
+    /**
+     * Queue a command for the game; commands for one game run sequentially in send order
+     * @return false if the game has no open mailbox (never registered, or already ended)
+     */
+    public boolean tell(String gameId, Runnable command) {
+        Mailbox mailbox = mailboxes.get(gameId);
+        return mailbox != null && mailbox.enqueue(command);
+    }
+
+    /**
+     * Refuse further commands for the game once it is gone. Commands already queued still run,
+     * then the mailbox removes itself.
+     */
+    public void stop(String gameId) {
+        Mailbox mailbox = mailboxes.get(gameId);
+        if (mailbox != null) {
+            mailbox.stop();
+        }
+    }
+
+    public int getMailboxCount() {
+        return mailboxes.size();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (pool instanceof SimpleAsyncTaskExecutor executor) {
+            executor.close();
+            return;
+        }
+
+        ForkJoinPool forkJoinPool = (ForkJoinPool) pool;
+        forkJoinPool.shutdown();
+        if (!forkJoinPool.awaitTermination(5, TimeUnit.SECONDS)) {
+            log.warn("⚠️ [ACTORS] Game actor pool did not drain within 5 seconds");
+        }
+    }
+
+    private final class Mailbox implements Runnable {
+        private final String gameId;
+        private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean stopped;
+
+        private Mailbox(String gameId) {
+            this.gameId = gameId;
+        }
+
+        private boolean enqueue(Runnable command) {
+            if (stopped) {
+                return false;
+            }
+            // A command that raced stop() still runs here, never on a second mailbox for the game
+            queue.add(command);
+            trySchedule();
+            return true;
+        }
+
+        // Schedule a drain even when idle, so an empty stopped mailbox removes itself
+        private void stop() {
+            stopped = true;
+            trySchedule();
+        }
+
+        private void trySchedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                pool.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (int i = 0; i < BATCH_SIZE; i++) {
+                    Runnable command = queue.poll();
+                    if (command == null) {
+                        break;
+                    }
+                    try {
+                        command.run();
+                    } catch (RuntimeException e) {
+                        log.error("❌ [ACTORS] Command failed for game '{}'", gameId, e);
+                    }
+                }
+            } finally {
+                scheduled.set(false);
+                // A command may have arrived after the last poll but before the flag was cleared
+                if (!queue.isEmpty()) {
+                    trySchedule();
+                } else if (stopped) {
+                    mailboxes.remove(gameId, this);
+                    // Anything enqueued while removing still runs on this (now unreachable) mailbox
+                    if (!queue.isEmpty()) {
+                        trySchedule();
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.tictactoe.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Delayed game lifecycle events (initial broadcast, post-game cleanup, forfeit cleanup).
+ *
+ * Delays are kept on the shared {@link TimerWheel}, so a pending event costs one timer entry
+ * instead of a parked thread. When an event is due it is sent to the game's actor, so it runs
+ * in order with the game's moves. Events can be cancelled per game (e.g. when a rematch starts
+ * or the game ends early). The pending count is exposed for monitoring; firing lag is recorded
+ * in {@link GameMetrics}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GameLifecycleScheduler {
+
+    private final TimerWheel timerWheel;
+    private final GameActors gameActors;
+    private final GameMetrics metrics;
+
+    private final Map<String, Set<PendingEvent>> pendingByGame = new ConcurrentHashMap<>();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    /**
+     * Run the task on the game's actor after delayMillis
+     */
+    public void schedule(String gameId, String event, long delayMillis, Runnable task) {
+        long dueAt = System.currentTimeMillis() + delayMillis;
+        PendingEvent pendingEvent = new PendingEvent();
+
+        // Track before arming the timer so a cancel can never miss it. Added inside compute, under
+        // the same per-key lock as untrack's removal of an emptied set, so it never lands in a set
+        // that is no longer in the map
+        pending.incrementAndGet();
+        pendingByGame.compute(gameId, (id, events) -> {
+            Set<PendingEvent> tracked = events != null ? events : ConcurrentHashMap.newKeySet();
+            tracked.add(pendingEvent);
+            return tracked;
+        });
+
+        pendingEvent.timeout = timerWheel.schedule(() -> {
+            if (!pendingEvent.claim()) {
+                return;
+            }
+            untrack(gameId, pendingEvent);
+            gameActors.tell(gameId, () -> {
+                metrics.recordLifecycleLag(System.currentTimeMillis() - dueAt);
+                log.debug("⏲️ [LIFECYCLE] Running '{}' for game {}", event, gameId);
+                task.run();
+            });
+        }, delayMillis);
+    }
+
+    /**
+     * Cancel every pending event of the game
+     * @return number of events cancelled
+     */
+    public int cancel(String gameId) {
+        Set<PendingEvent> events = pendingByGame.remove(gameId);
+        if (events == null) {
+            return 0;
+        }
+
+        int cancelled = 0;
+        for (PendingEvent event : events) {
+            if (event.claim()) {
+                pending.decrementAndGet();
+                TimerWheel.Timeout timeout = event.timeout;
+                if (timeout != null) {
+                    timeout.cancel();
+                }
+                cancelled++;
+            }
+        }
+        if (cancelled > 0) {
+            log.info("⏲️ [LIFECYCLE] Cancelled {} pending event(s) for game {}", cancelled, gameId);
+        }
+        return cancelled;
+    }
+
+    private void untrack(String gameId, PendingEvent event) {
+        pending.decrementAndGet();
+        pendingByGame.computeIfPresent(gameId, (id, events) -> {
+            events.remove(event);
+            return events.isEmpty() ? null : events;
+        });
+    }
+
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    /**
+     * Fires or is cancelled, whichever claims it first
+     */
+    private static final class PendingEvent {
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private volatile TimerWheel.Timeout timeout;
+
+        private boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.tictactoe.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer meters for the game hot paths, scraped from {@code /actuator/prometheus}. Histogram
+ * buckets for these timers are switched on in application.properties
+ * ({@code management.metrics.distribution.percentiles-histogram.game}).
+ *
+ * Gauges of current sizes (games, sessions, queues) are bound separately in
+ * {@link com.tictactoe.config.GameGauges}.
+ */
+@Component
+public class GameMetrics {
+
+    public static final String PAIRED_ON_JOIN = "join";
+    public static final String PAIRED_ON_SWEEP = "sweep";
+    public static final String PAIRED_WITH_BOT = "bot";
+
+    private final Timer moveAccepted;
+    private final Timer moveRejected;
+    private final Timer matchmakingWait;
+    private final Counter pairedOnJoin;
+    private final Counter pairedOnSweep;
+    private final Counter pairedWithBot;
+    private final Timer stateFanout;
+    private final Timer deltaFanout;
+    private final Timer resultFlush;
+    private final Timer resultLatency;
+    private final Timer firstStateOnReady;
+    private final Timer firstStateOnFallback;
+    private final Timer lifecycleLag;
+
+    public GameMetrics(MeterRegistry registry) {
+        Timer.Builder move = Timer.builder("game.move.latency")
+                .description("From a move frame reaching the controller until it has been applied and broadcast");
+        moveAccepted = move.tag("result", "accepted").register(registry);
+        moveRejected = move.tag("result", "rejected").register(registry);
+
+        matchmakingWait = Timer.builder("game.matchmaking.wait")
+                .description("Time a player waited in matchmaking before being paired")
+                .register(registry);
+
+        Counter.Builder pairings = Counter.builder("game.matchmaking.pairings")
+                .description("Games created by matchmaking, by what paired the players");
+        pairedOnJoin = pairings.tag("source", PAIRED_ON_JOIN).register(registry);
+        pairedOnSweep = pairings.tag("source", PAIRED_ON_SWEEP).register(registry);
+        pairedWithBot = pairings.tag("source", PAIRED_WITH_BOT).register(registry);
+
+        Timer.Builder fanout = Timer.builder("game.broadcast.fanout")
+                .description("Handing one game topic message to the broker and every subscriber's session");
+        stateFanout = fanout.tag("kind", "state").register(registry);
+        deltaFanout = fanout.tag("kind", "delta").register(registry);
+
+        resultFlush = Timer.builder("game.results.flush")
+                .description("Writing one batch of game results, retries included")
+                .register(registry);
+        resultLatency = Timer.builder("game.results.latency")
+                .description("From a game finishing until its result is persisted")
+                .register(registry);
+
+        Timer.Builder firstState = Timer.builder("game.initial.state.delay")
+                .description("From a game starting until its first state is sent, by what triggered the send");
+        firstStateOnReady = firstState.tag("trigger", "ready").register(registry);
+        firstStateOnFallback = firstState.tag("trigger", "fallback").register(registry);
+
+        lifecycleLag = Timer.builder("game.lifecycle.lag")
+                .description("How late delayed game events run, including the wait in the game's mailbox")
+                .register(registry);
+    }
+
+    public void recordMove(boolean accepted, long nanos) {
+        (accepted ? moveAccepted : moveRejected).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordMatchmakingWait(long millis) {
+        matchmakingWait.record(Math.max(0, millis), TimeUnit.MILLISECONDS);
+    }
+
+    public void countPairing(String source) {
+        switch (source) {
+            case PAIRED_ON_JOIN -> pairedOnJoin.increment();
+            case PAIRED_ON_SWEEP -> pairedOnSweep.increment();
+            case PAIRED_WITH_BOT -> pairedWithBot.increment();
+            default -> throw new IllegalArgumentException("Unknown pairing source " + source);
+        }
+    }
+
+    public void recordStateFanout(long nanos) {
+        stateFanout.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordDeltaFanout(long nanos) {
+        deltaFanout.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordResultFlush(long millis) {
+        resultFlush.record(millis, TimeUnit.MILLISECONDS);
+    }
+
+    public void recordResultLatency(long millis) {
+        resultLatency.record(Math.max(0, millis), TimeUnit.MILLISECONDS);
+    }
+
+    public void recordInitialStateDelay(boolean onReady, long millis) {
+        (onReady ? firstStateOnReady : firstStateOnFallback).record(millis, TimeUnit.MILLISECONDS);
+    }
+
+    public void recordLifecycleLag(long millis) {
+        lifecycleLag.record(Math.max(0, millis), TimeUnit.MILLISECONDS);
+    }
+}
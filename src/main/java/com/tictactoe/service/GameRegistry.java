@@ -0,0 +1,377 @@
+package com.tictactoe.service;
+
+import com.tictactoe.model.Game;
+import com.tictactoe.model.Player;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory registry of live games and tracked players, sharded by key hash.
+ *
+ * Each player has a single {@link PlayerRecord} holding their sessions, current game, queue join
+ * time and last activity, so any lookup or cleanup is one hash probe. A reverse index maps each
+ * session id to its player, so a disconnect resolves its player in O(1); a player may hold several
+ * sessions (one per browser tab). Changes that touch more than
+ * one field of a record run inside {@code compute} on the owning shard and are atomic. A record
+ * is dropped as soon as it holds nothing (no session, game, queue entry or activity).
+ *
+ * Shards are independent maps, so resizing while the registry grows only stalls one shard.
+ */
+@Component
+@Slf4j
+public class GameRegistry {
+
+    private static final String[] NO_SESSIONS = new String[0];
+
+    /**
+     * Result of unbinding a session: whose it was, and whether it was their last one
+     */
+    public record UnboundSession(String nickname, boolean lastSession) {
+    }
+
+    /**
+     * Everything the server tracks about one player. Fields are written under the shard's
+     * per-key lock (inside compute) and read without locking.
+     */
+    public static final class PlayerRecord {
+        private final String nickname;
+        // Copy-on-write; usually zero or one entry
+        private volatile String[] sessionIds = NO_SESSIONS;
+        private volatile String gameId;
+        private volatile long joinedAt;
+        private volatile long lastActivity;
+
+        private PlayerRecord(String nickname) {
+            this.nickname = nickname;
+        }
+
+        public String getNickname() {
+            return nickname;
+        }
+
+        public List<String> getSessionIds() {
+            return List.of(sessionIds);
+        }
+
+        public String getGameId() {
+            return gameId;
+        }
+
+        /**
+         * Epoch millis the player joined the waiting queue, or 0 if not queued
+         */
+        public long getJoinedAt() {
+            return joinedAt;
+        }
+
+        /**
+         * Epoch millis of the last activity, or 0 if not tracked
+         */
+        public long getLastActivity() {
+            return lastActivity;
+        }
+
+        private boolean isEmpty() {
+            return sessionIds.length == 0 && gameId == null && joinedAt == 0 && lastActivity == 0;
+        }
+    }
+
+    private static final class Shard {
+        private final ConcurrentHashMap<String, PlayerRecord> players = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<String, Game> games = new ConcurrentHashMap<>();
+        // Reverse index, sharded by session id
+        private final ConcurrentHashMap<String, String> sessions = new ConcurrentHashMap<>();
+    }
+
+    private final Shard[] shards;
+    private final int shardShift;
+
+    public GameRegistry(@Value("${game.registry.shards:64}") int shardCount) {
+        int size = Integer.highestOneBit(Math.max(2, shardCount - 1) << 1);
+        this.shards = new Shard[size];
+        for (int i = 0; i < size; i++) {
+            shards[i] = new Shard();
+        }
+        this.shardShift = 32 - Integer.numberOfTrailingZeros(size);
+    }
+
+    private Shard shardFor(String key) {
+        // Fibonacci hashing picks the shard from the top bits of the product, leaving the
+        // low bits (which ConcurrentHashMap indexes by) fully spread within each shard
+        return shards[(key.hashCode() * 0x9E3779B9) >>> shardShift];
+    }
+
+    // ---- Players ----
+
+    public PlayerRecord getPlayer(String nickname) {
+        return shardFor(nickname).players.get(nickname);
+    }
+
+    public String getGameId(String nickname) {
+        PlayerRecord record = getPlayer(nickname);
+        return record != null ? record.gameId : null;
+    }
+
+    /**
+     * Record activity for the player.
+     * @return true if the player was not tracked before (the caller should start watching them)
+     */
+    public boolean touch(String nickname, long now) {
+        boolean[] started = new boolean[1];
+        shardFor(nickname).players.compute(nickname, (key, record) -> {
+            if (record == null) {
+                record = new PlayerRecord(key);
+            }
+            started[0] = record.lastActivity == 0;
+            record.lastActivity = now;
+            return record;
+        });
+        return started[0];
+    }
+
+    /**
+     * Stop tracking activity, but only if it has not changed since {@code lastActivity}.
+     * @return false if the player was active again in the meantime
+     */
+    public boolean clearActivityIfUnchanged(String nickname, long lastActivity) {
+        boolean[] cleared = new boolean[1];
+        shardFor(nickname).players.computeIfPresent(nickname, (key, record) -> {
+            if (record.lastActivity == lastActivity) {
+                record.lastActivity = 0;
+                cleared[0] = true;
+            }
+            return record.isEmpty() ? null : record;
+        });
+        return cleared[0];
+    }
+
+    public void clearActivity(String nickname) {
+        shardFor(nickname).players.computeIfPresent(nickname, (key, record) -> {
+            record.lastActivity = 0;
+            return record.isEmpty() ? null : record;
+        });
+    }
+
+    public void setJoinedAt(String nickname, long joinedAt) {
+        shardFor(nickname).players.compute(nickname, (key, record) -> {
+            if (record == null) {
+                record = new PlayerRecord(key);
+            }
+            record.joinedAt = joinedAt;
+            return record.isEmpty() ? null : record;
+        });
+    }
+
+    /**
+     * Attach a session to the player. A session id already bound to another player moves to this one.
+     */
+    public void bindSession(String nickname, String sessionId) {
+        String previous = shardFor(sessionId).sessions.put(sessionId, nickname);
+        if (previous != null && !previous.equals(nickname)) {
+            removeSessionFromRecord(previous, sessionId);
+        }
+        shardFor(nickname).players.compute(nickname, (key, record) -> {
+            if (record == null) {
+                record = new PlayerRecord(key);
+            }
+            String[] current = record.sessionIds;
+            for (String existing : current) {
+                if (existing.equals(sessionId)) {
+                    return record;
+                }
+            }
+            String[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = sessionId;
+            record.sessionIds = updated;
+            return record;
+        });
+    }
+
+    /**
+     * Player owning the session, or null
+     */
+    public String getNicknameForSession(String sessionId) {
+        return shardFor(sessionId).sessions.get(sessionId);
+    }
+
+    /**
+     * Detach a session in O(1). Returns null if the session was not bound.
+     */
+    public UnboundSession unbindSession(String sessionId) {
+        String nickname = shardFor(sessionId).sessions.remove(sessionId);
+        if (nickname == null) {
+            return null;
+        }
+        return new UnboundSession(nickname, removeSessionFromRecord(nickname, sessionId));
+    }
+
+    /**
+     * Detach many sessions in one pass.
+     * @return nicknames of the players who have no session left
+     */
+    public List<String> unbindSessions(Collection<String> sessionIds) {
+        List<String> disconnected = new ArrayList<>();
+        for (String sessionId : sessionIds) {
+            UnboundSession unbound = unbindSession(sessionId);
+            if (unbound != null && unbound.lastSession()) {
+                disconnected.add(unbound.nickname());
+            }
+        }
+        return disconnected;
+    }
+
+    /**
+     * @return true if the player has no sessions left
+     */
+    private boolean removeSessionFromRecord(String nickname, String sessionId) {
+        boolean[] last = {true};
+        shardFor(nickname).players.computeIfPresent(nickname, (key, record) -> {
+            String[] current = record.sessionIds;
+            int index = -1;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i].equals(sessionId)) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index >= 0) {
+                String[] updated = current.length == 1 ? NO_SESSIONS : new String[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, index);
+                System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+                record.sessionIds = updated;
+            }
+            last[0] = record.sessionIds.length == 0;
+            return record.isEmpty() ? null : record;
+        });
+        return last[0];
+    }
+
+    /**
+     * Clear the player's current game mapping
+     */
+    public void detachFromGame(String nickname) {
+        shardFor(nickname).players.computeIfPresent(nickname, (key, record) -> {
+            record.gameId = null;
+            return record.isEmpty() ? null : record;
+        });
+    }
+
+    // ---- Games ----
+
+    public Game getGame(String gameId) {
+        return shardFor(gameId).games.get(gameId);
+    }
+
+    /**
+     * Register the game and point each listed player at it, clearing their queue join time
+     */
+    public void putGame(Game game, String... nicknames) {
+        shardFor(game.getGameId()).games.put(game.getGameId(), game);
+        for (String nickname : nicknames) {
+            shardFor(nickname).players.compute(nickname, (key, record) -> {
+                if (record == null) {
+                    record = new PlayerRecord(key);
+                }
+                record.gameId = game.getGameId();
+                record.joinedAt = 0;
+                return record;
+            });
+        }
+    }
+
+    /**
+     * Remove the game; each player's game is cleared only if it still points at it
+     */
+    public Game removeGame(String gameId) {
+        Game game = shardFor(gameId).games.remove(gameId);
+        if (game == null) {
+            return null;
+        }
+        for (String nickname : new String[]{nicknameOf(game.getPlayer1()), nicknameOf(game.getPlayer2())}) {
+            if (nickname == null) {
+                continue;
+            }
+            shardFor(nickname).players.computeIfPresent(nickname, (key, record) -> {
+                if (gameId.equals(record.gameId)) {
+                    record.gameId = null;
+                }
+                return record.isEmpty() ? null : record;
+            });
+        }
+        return game;
+    }
+
+    private static String nicknameOf(Player player) {
+        return player != null ? player.getNickname() : null;
+    }
+
+    public List<Game> getGames() {
+        List<Game> games = new ArrayList<>();
+        for (Shard shard : shards) {
+            games.addAll(shard.games.values());
+        }
+        return games;
+    }
+
+    public List<String> getGameIds() {
+        List<String> gameIds = new ArrayList<>();
+        for (Shard shard : shards) {
+            gameIds.addAll(shard.games.keySet());
+        }
+        return gameIds;
+    }
+
+    // ---- Counts and admin ----
+
+    public int getGameCount() {
+        int count = 0;
+        for (Shard shard : shards) {
+            count += shard.games.size();
+        }
+        return count;
+    }
+
+    public int getPlayerCount() {
+        int count = 0;
+        for (Shard shard : shards) {
+            count += shard.players.size();
+        }
+        return count;
+    }
+
+    public int getSessionCount() {
+        int count = 0;
+        for (Shard shard : shards) {
+            count += shard.sessions.size();
+        }
+        return count;
+    }
+
+    public int getPlayersInGamesCount() {
+        int count = 0;
+        for (Shard shard : shards) {
+            for (PlayerRecord record : shard.players.values()) {
+                if (record.gameId != null) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    public void clear() {
+        for (Shard shard : shards) {
+            shard.games.clear();
+            shard.players.clear();
+            shard.sessions.clear();
+        }
+        log.warn("🧹 [REGISTRY] All games and player records cleared");
+    }
+}
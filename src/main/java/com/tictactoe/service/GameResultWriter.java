@@ -0,0 +1,379 @@
+package com.tictactoe.service;
+
+import com.tictactoe.model.Player;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind persistence of finished games' results (wins/losses/draws, score, Elo rating).
+ *
+ * Results are put on a bounded queue and a background writer drains them in batches of up to
+ * {@code game.results.flush-size}, or whatever has arrived after {@code game.results.flush-interval-ms}.
+ * Each batch locks its players' rows, is folded into one delta per player and is written with a single
+ * JDBC batch of additive UPDATEs in the same transaction, so a player finishing several games in a batch
+ * costs one row update. A game is recorded for both of its players or for neither.
+ * Committed deltas are then applied to the {@link LeaderboardIndex}; the batch's players are kept
+ * out of the {@link PlayerCache} while it is written.
+ *
+ * Flushes are single-writer: every write, including the shutdown flush, holds one lock, so two
+ * batches never compute ratings from the same stale rows.
+ *
+ * Backpressure: when the queue is full, {@link #submit} waits up to {@code game.results.enqueue-timeout-ms}
+ * for space. If there is still none the result is logged and dropped, and counted as rejected. The
+ * caller (a game actor) never writes or retries itself. A batch that still fails after
+ * {@link #MAX_ATTEMPTS} tries is logged and dropped.
+ *
+ * On shutdown the writer stops, and everything still queued is flushed before the data source closes.
+ */
+@Component
+@Slf4j
+public class GameResultWriter {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_BACKOFF_MS = 200;
+
+    private static final String UPDATE_PLAYER_SQL =
+            "UPDATE players SET wins = wins + ?, losses = losses + ?, draws = draws + ?, " +
+            "total_score = total_score + ?, rating = rating + ?, last_played = ? WHERE nickname = ?";
+
+    private static final String LOCK_PLAYERS_SQL =
+            "SELECT nickname, rating FROM players WHERE nickname IN (:nicknames) FOR UPDATE";
+
+    /**
+     * A finished game
+     * @param winner "X", "O" or "DRAW"
+     */
+    public record GameResult(String player1, String player2, String winner, long finishedAt) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LeaderboardIndex leaderboardIndex;
+    private final PlayerCache playerCache;
+    private final GameMetrics metrics;
+    private final BlockingQueue<GameResult> queue;
+    private final int flushSize;
+    private final long flushIntervalMs;
+    private final long enqueueTimeoutMs;
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final Object flushLock = new Object();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public GameResultWriter(JdbcTemplate jdbcTemplate,
+                            NamedParameterJdbcTemplate namedJdbcTemplate,
+                            TransactionTemplate transactionTemplate,
+                            LeaderboardIndex leaderboardIndex,
+                            PlayerCache playerCache,
+                            GameMetrics metrics,
+                            @Value("${game.results.queue-capacity:10000}") int queueCapacity,
+                            @Value("${game.results.flush-size:100}") int flushSize,
+                            @Value("${game.results.flush-interval-ms:200}") long flushIntervalMs,
+                            @Value("${game.results.enqueue-timeout-ms:50}") long enqueueTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.leaderboardIndex = leaderboardIndex;
+        this.playerCache = playerCache;
+        this.metrics = metrics;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.flushSize = Math.max(1, flushSize);
+        this.flushIntervalMs = flushIntervalMs;
+        this.enqueueTimeoutMs = enqueueTimeoutMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "game-result-writer");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("💾 [RESULTS] Writer started | Queue: {} | Flush: {} results or {} ms",
+                queue.remainingCapacity(), flushSize, flushIntervalMs);
+    }
+
+    /**
+     * Flush everything still queued; results submitted after this are written synchronously, once
+     */
+    @PreDestroy
+    public void stop() {
+        // Not interrupted: the worker notices within one flush interval and never loses a batch mid-write
+        running = false;
+        if (worker != null) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        List<GameResult> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            flush(remaining, MAX_ATTEMPTS);
+        }
+        log.info("💾 [RESULTS] Writer stopped | Flushed {} result(s) on shutdown", remaining.size());
+    }
+
+    /**
+     * Queue a finished game for persistence. Blocks for at most the enqueue timeout, then drops it.
+     */
+    public void submit(GameResult result) {
+        if (!running) {
+            // Shutting down: nothing will drain the queue any more
+            flush(List.of(result), 1);
+            return;
+        }
+        try {
+            if (queue.offer(result, enqueueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                // Raced with stop() draining the queue; write it here instead
+                if (!running && queue.remove(result)) {
+                    flush(List.of(result), 1);
+                }
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejected.increment();
+        log.error("❌ [RESULTS] Queue full; dropped result: {}", result);
+    }
+
+    private void run() {
+        List<GameResult> batch = new ArrayList<>(flushSize);
+        while (running) {
+            try {
+                long deadline = System.currentTimeMillis() + flushIntervalMs;
+                while (batch.size() < flushSize) {
+                    long waitMs = deadline - System.currentTimeMillis();
+                    GameResult result = batch.isEmpty()
+                            ? queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS)
+                            : queue.poll(Math.max(0, waitMs), TimeUnit.MILLISECONDS);
+                    if (result == null) {
+                        break;
+                    }
+                    batch.add(result);
+                    queue.drainTo(batch, flushSize - batch.size());
+                }
+            } catch (InterruptedException e) {
+                // Write what we have; stop() flushes the rest
+                running = false;
+            }
+
+            if (!batch.isEmpty()) {
+                flush(batch, MAX_ATTEMPTS);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<GameResult> batch, int maxAttempts) {
+        Set<String> nicknames = new HashSet<>();
+        for (GameResult result : batch) {
+            nicknames.add(result.player1());
+            nicknames.add(result.player2());
+        }
+        synchronized (flushLock) {
+            nicknames.forEach(playerCache::beginWrite);
+            try {
+                flushWithRetry(batch, maxAttempts);
+            } finally {
+                nicknames.forEach(playerCache::endWrite);
+            }
+        }
+    }
+
+    private void flushWithRetry(List<GameResult> batch, int maxAttempts) {
+        long begin = System.currentTimeMillis();
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                Map<String, PlayerDelta> updated = transactionTemplate.execute(status -> write(batch));
+                updated.forEach((nickname, d) -> leaderboardIndex.applyDelta(nickname, d.wins, d.losses, d.draws, d.score));
+                written.add(batch.size());
+                batches.increment();
+                long now = System.currentTimeMillis();
+                metrics.recordResultFlush(now - begin);
+                for (GameResult result : batch) {
+                    metrics.recordResultLatency(now - result.finishedAt());
+                }
+                log.debug("💾 [RESULTS] Flushed {} result(s) as {} player update(s)", batch.size(), updated.size());
+                return;
+            } catch (RuntimeException e) {
+                log.warn("⚠️ [RESULTS] Flush of {} result(s) failed (attempt {}/{}): {}",
+                        batch.size(), attempt, maxAttempts, e.getMessage());
+                if (attempt < maxAttempts) {
+                    try {
+                        Thread.sleep(RETRY_BACKOFF_MS * attempt);
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        }
+
+        dropped.add(batch.size());
+        for (GameResult result : batch) {
+            log.error("❌ [RESULTS] Dropped result: {}", result);
+        }
+    }
+
+    /**
+     * Lock the batch's player rows, fold the batch into one delta per player and apply them as a single
+     * JDBC batch. Ratings are read under the row locks, so they cannot change before the UPDATEs land.
+     * @return the deltas of the players whose rows were updated
+     */
+    private Map<String, PlayerDelta> write(List<GameResult> batch) {
+        Map<String, Integer> ratings = lockPlayers(batch);
+        Map<String, PlayerDelta> deltas = new LinkedHashMap<>();
+
+        for (GameResult result : batch) {
+            String p1 = result.player1();
+            String p2 = result.player2();
+            boolean draw = "DRAW".equals(result.winner());
+            boolean p1Wins = "X".equals(result.winner());
+
+            // Both players or neither: a game never counts as a win without the matching loss
+            if (!isKnown(p1, ratings) || !isKnown(p2, ratings)) {
+                log.warn("⚠️ [RESULTS] Player not found; skipped result: {}", result);
+                continue;
+            }
+
+            if (!BotService.isBot(p1)) {
+                deltas.computeIfAbsent(p1, k -> new PlayerDelta()).add(draw, p1Wins, result.finishedAt());
+            }
+            if (!BotService.isBot(p2)) {
+                deltas.computeIfAbsent(p2, k -> new PlayerDelta()).add(draw, !draw && !p1Wins, result.finishedAt());
+            }
+
+            // Games within the batch are rated in order, each against the ratings left by the previous one
+            if (!BotService.isBot(p1) && !BotService.isBot(p2)) {
+                double scoreP1 = draw ? 0.5 : p1Wins ? 1.0 : 0.0;
+                int ratingP1 = ratings.get(p1);
+                int ratingP2 = ratings.get(p2);
+                int deltaP1 = Player.ratingDelta(ratingP1, ratingP2, scoreP1);
+                int deltaP2 = Player.ratingDelta(ratingP2, ratingP1, 1.0 - scoreP1);
+                ratings.put(p1, ratingP1 + deltaP1);
+                ratings.put(p2, ratingP2 + deltaP2);
+                deltas.get(p1).rating += deltaP1;
+                deltas.get(p2).rating += deltaP2;
+            }
+        }
+
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        for (Map.Entry<String, PlayerDelta> entry : deltas.entrySet()) {
+            PlayerDelta d = entry.getValue();
+            args.add(new Object[]{d.wins, d.losses, d.draws, d.score, d.rating,
+                    new Timestamp(d.lastPlayed), entry.getKey()});
+        }
+
+        if (args.isEmpty()) {
+            return deltas;
+        }
+        int[] counts = jdbcTemplate.batchUpdate(UPDATE_PLAYER_SQL, args);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                // The row is locked, so this is not a race; roll back rather than record half a game
+                throw new IllegalStateException("Player row not updated: " + args.get(i)[6]);
+            }
+        }
+        return deltas;
+    }
+
+    private static boolean isKnown(String nickname, Map<String, Integer> ratings) {
+        return BotService.isBot(nickname) || ratings.containsKey(nickname);
+    }
+
+    /**
+     * SELECT ... FOR UPDATE on every human player in the batch
+     * @return current rating per player that has a row
+     */
+    private Map<String, Integer> lockPlayers(List<GameResult> batch) {
+        Set<String> humans = new HashSet<>();
+        for (GameResult result : batch) {
+            if (!BotService.isBot(result.player1())) {
+                humans.add(result.player1());
+            }
+            if (!BotService.isBot(result.player2())) {
+                humans.add(result.player2());
+            }
+        }
+
+        Map<String, Integer> ratings = new HashMap<>();
+        if (humans.isEmpty()) {
+            return ratings;
+        }
+        namedJdbcTemplate.query(LOCK_PLAYERS_SQL, Map.of("nicknames", humans), rs -> {
+            int rating = rs.getInt("rating");
+            ratings.put(rs.getString("nickname"), rs.wasNull() ? Player.DEFAULT_RATING : rating);
+        });
+        return ratings;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Queue depth, results written, batches, results rejected on a full queue and results dropped after
+     * failed writes (flush times are in GameMetrics)
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queued", queue.size());
+        stats.put("written", written.sum());
+        stats.put("batches", batches.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("dropped", dropped.sum());
+        return stats;
+    }
+
+    /**
+     * Accumulated changes to one player's row within a batch
+     */
+    private static final class PlayerDelta {
+        private int wins;
+        private int losses;
+        private int draws;
+        private int score;
+        private int rating;
+        private long lastPlayed;
+
+        private void add(boolean draw, boolean won, long finishedAt) {
+            if (draw) {
+                draws++;
+                score += Player.DRAW_POINTS;
+            } else if (won) {
+                wins++;
+                score += Player.WIN_POINTS;
+            } else {
+                losses++;
+            }
+            lastPlayed = Math.max(lastPlayed, finishedAt);
+        }
+    }
+}
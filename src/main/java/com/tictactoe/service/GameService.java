@@ -1,46 +1,81 @@
 package com.tictactoe.service;
 
+import com.tictactoe.engine.GameVariant;
 import com.tictactoe.model.Game;
 import com.tictactoe.model.Player;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class GameService {
 
-    private final Map<String, Game> activeGames = new ConcurrentHashMap<>();
-    private final Queue<String> waitingPlayers = new LinkedList<>();
-    private final Map<String, String> playerToGameMap = new ConcurrentHashMap<>();
-    private final Map<String, LocalDateTime> playerJoinTime = new ConcurrentHashMap<>();
-    private final Map<String, LocalDateTime> playerLastActivity = new ConcurrentHashMap<>();
+    // Live games and one record per tracked player (session, game, queue join time, last activity)
+    private final GameRegistry registry;
 
-    // Track player sessions
-    private final Map<String, String> playerSessions = new ConcurrentHashMap<>();
+    // Waiting players (FIFO or rating-based, see game.matchmaking.mode); paired only within a variant
+    private final Matchmaker matchmaker;
+
+    // Concurrent-game cap; players beyond it wait in an overflow queue before matchmaking
+    private final AdmissionControl admission;
+
+    // Expiry timers for queue entries, idle players and game timeouts, run off the request path
+    private final TimerWheel timerWheel;
+    private final Map<String, TimerWheel.Timeout> gameTimeouts = new ConcurrentHashMap<>();
+
+    // Per-game mailboxes; expiry and disconnect changes to a game run on its actor
+    private final GameActors gameActors;
+
+    // Delayed lifecycle events (initial broadcast, cleanup); cancelled when a game ends
+    private final GameLifecycleScheduler lifecycleScheduler;
+
+    // Time-to-first-state metrics of subscription-triggered initial broadcasts
+    private final InitialStateDelivery initialStateDelivery;
+
+    // Write-behind queue of finished games' results
+    private final GameResultWriter gameResultWriter;
+
+    // Player rows by nickname; reported here for sizing
+    private final PlayerCache playerCache;
+
+    // Serialized game states, one per live game
+    private final GameStatePublisher gameStatePublisher;
+
+    // Pairing counts by source; the other game meters are recorded where the work happens
+    private final GameMetrics metrics;
 
     // Constants
     private static final int STALE_PLAYER_TIMEOUT_SECONDS = 60;
     private static final int INACTIVE_PLAYER_TIMEOUT_SECONDS = 180; // 3 minutes
     private static final int GAME_TIMEOUT_MINUTES = 10;
+    private static final long ABANDONED_CLEANUP_DELAY_MS = 3000;
 
-    public synchronized String joinMatchmaking(Player player) {
+    public String joinMatchmaking(Player player) {
+        return joinMatchmaking(player, GameVariant.CLASSIC);
+    }
+
+    public String joinMatchmaking(Player player, GameVariant variant) {
         String nickname = player.getNickname();
 
-        log.info("🔍 [MATCHMAKING] Player '{}' requesting to join", nickname);
+        log.info("🔍 [MATCHMAKING] Player '{}' requesting to join ({})", nickname, variant);
         log.info("📊 [MATCHMAKING] Current state - Waiting: {}, Active Games: {}",
-                waitingPlayers.size(), activeGames.size());
+                matchmaker.size(), registry.getGameCount());
 
         // Update player activity
         updatePlayerActivity(nickname);
 
         // Check if player is already in a game
-        if (playerToGameMap.containsKey(nickname)) {
-            String existingGameId = playerToGameMap.get(nickname);
-            Game existingGame = activeGames.get(existingGameId);
+        String existingGameId = registry.getGameId(nickname);
+        if (existingGameId != null) {
+            Game existingGame = registry.getGame(existingGameId);
 
             log.info("🔄 [MATCHMAKING] Player '{}' already mapped to game '{}'", nickname, existingGameId);
 
@@ -49,81 +84,277 @@ public class GameService {
                 return existingGameId;
             } else {
                 log.warn("⚠️ [MATCHMAKING] Existing game '{}' is null or finished, removing mapping", existingGameId);
-                removePlayerFromGame(nickname);
+                registry.detachFromGame(nickname);
             }
         }
 
-        // Check if player is already in waiting queue
-        if (waitingPlayers.contains(nickname)) {
-            log.warn("⚠️ [MATCHMAKING] Player '{}' already in waiting queue, skipping", nickname);
+        // At capacity, or with players already queued for a slot, wait in the overflow queue
+        if (admission.isQueued(nickname)) {
+            return null;
+        }
+        if (!matchmaker.isWaiting(nickname) && !admission.hasRoomForMatchmaking(matchmaker.size())) {
+            admission.enqueue(player, variant);
             return null;
         }
 
-        // Clean up stale and inactive players
-        cleanupStalePlayers();
-        cleanupInactivePlayers();
+        return enterMatchmaking(player, variant);
+    }
 
-        // Check if there's a waiting player (but not the same player!)
-        if (!waitingPlayers.isEmpty()) {
-            String waitingPlayerNickname = waitingPlayers.poll();
+    /**
+     * Put a player into matchmaking and create their game if an opponent is waiting
+     * @return id of the game created, or null if the player waits
+     */
+    private String enterMatchmaking(Player player, GameVariant variant) {
+        String nickname = player.getNickname();
 
-            // CRITICAL FIX: Prevent self-matching
-            if (waitingPlayerNickname.equals(nickname)) {
-                log.error("❌ [MATCHMAKING] Prevented self-matching for player '{}'", nickname);
-                waitingPlayers.offer(nickname);
-                playerJoinTime.put(nickname, LocalDateTime.now());
-                return null;
+        // Enqueue and pair atomically; a player already waiting is rejected in O(1)
+        Matchmaker.Pairing pairing = matchmaker.join(player, variant);
+        if (pairing == null) {
+            Long joinedAt = matchmaker.getJoinedAt(nickname);
+            if (joinedAt != null) {
+                registry.setJoinedAt(nickname, joinedAt);
+                scheduleQueueExpiry(nickname, joinedAt);
+                log.info("⏳ [MATCHMAKING] No opponent found, '{}' is in the {} waiting queue", nickname, variant);
+                log.info("📊 [MATCHMAKING] Waiting queue size: {}", matchmaker.size());
             }
+            return null;
+        }
 
-            log.info("🤝 [MATCHMAKING] Found waiting player: '{}'", waitingPlayerNickname);
-            log.info("🤝 [MATCHMAKING] Pairing '{}' with '{}'", waitingPlayerNickname, nickname);
+        log.info("🤝 [MATCHMAKING] Pairing '{}' with '{}'",
+                pairing.first().getNickname(), pairing.second().getNickname());
+        Game game = createGame(pairing);
+        if (game == null) {
+            return null;
+        }
+        metrics.countPairing(GameMetrics.PAIRED_ON_JOIN);
+        return game.getGameId();
+    }
 
-            // Remove from join time tracking
-            playerJoinTime.remove(waitingPlayerNickname);
-            playerJoinTime.remove(nickname);
+    /**
+     * Pair waiting players whose search windows have widened enough to match
+     * @return ids of the games created
+     */
+    public List<String> pairWidenedMatches() {
+        List<String> gameIds = new ArrayList<>();
+        for (Matchmaker.Pairing pairing : matchmaker.sweep()) {
+            log.info("🤝 [MATCHMAKING] Widened search paired '{}' with '{}'",
+                    pairing.first().getNickname(), pairing.second().getNickname());
+            Game game = createGame(pairing);
+            if (game != null) {
+                metrics.countPairing(GameMetrics.PAIRED_ON_SWEEP);
+                gameIds.add(game.getGameId());
+            }
+        }
+        return gameIds;
+    }
 
-            // Create new game
-            String gameId = UUID.randomUUID().toString();
-            Game game = new Game(gameId);
+    /**
+     * Let overflow players into matchmaking as game slots free up
+     * @return each admitted player, with the id of the game they were paired into (null if waiting)
+     */
+    public Map<String, String> admitFromOverflow() {
+        Map<String, String> admitted = new LinkedHashMap<>();
+        for (AdmissionControl.Queued queued : admission.admit(matchmaker.size())) {
+            String nickname = queued.player().getNickname();
+            log.info("🚪 [ADMISSION] Letting '{}' into {} matchmaking", nickname, queued.variant());
+            admitted.put(nickname, enterMatchmaking(queued.player(), queued.variant()));
+        }
+        return admitted;
+    }
+
+    /**
+     * Drop overflow players who waited past the matchmaking timeout
+     * @return their nicknames
+     */
+    public List<String> expireOverflow() {
+        List<String> expired = admission.expire(System.currentTimeMillis());
+        for (String nickname : expired) {
+            log.info("⌛ [ADMISSION] '{}' found no game slot in time, leaving the overflow queue", nickname);
+        }
+        return expired;
+    }
+
+    /**
+     * Overflow players whose place in line changed since they were last told
+     */
+    public List<AdmissionControl.QueueStatus> getOverflowPositionChanges() {
+        return admission.positionChanges();
+    }
+
+    /**
+     * The player's place in the overflow queue, or null if they are not in it
+     */
+    public AdmissionControl.QueueStatus getOverflowStatus(String nickname) {
+        return admission.getStatus(nickname);
+    }
+
+    /**
+     * Create the game for a pairing. The longer-waiting player is X.
+     * With every game slot taken both players go back to the head of the overflow queue and this returns null.
+     */
+    private Game createGame(Matchmaker.Pairing pairing) {
+        if (!admission.tryAcquireGame()) {
+            log.warn("🚧 [ADMISSION] No game slot for '{}' and '{}'; back to the head of the overflow queue",
+                    pairing.first().getNickname(), pairing.second().getNickname());
+            requeueFirst(pairing.second(), pairing.variant());
+            requeueFirst(pairing.first(), pairing.variant());
+            return null;
+        }
+
+        String gameId = UUID.randomUUID().toString();
+        Game game = new Game(gameId, pairing.variant());
+        String first = pairing.first().getNickname();
+        String second = pairing.second().getNickname();
+
+        game.setPlayer1(pairing.first());
+        game.setPlayer2(pairing.second());
+        game.setStatus(Game.GameStatus.IN_PROGRESS);
+        game.snapshotStats();
+
+        registry.putGame(game, first, second);
+        gameActors.open(gameId);
+        scheduleGameTimeout(gameId, GAME_TIMEOUT_MINUTES * 60_000L);
 
-            // Find waiting player
-            Player waitingPlayer = new Player();
-            waitingPlayer.setNickname(waitingPlayerNickname);
+        log.info("🎮 [GAME-CREATED] GameId: {} | Variant: {}", gameId, pairing.variant());
+        log.info("🎮 [GAME-CREATED] Player1 (X): '{}'", first);
+        log.info("🎮 [GAME-CREATED] Player2 (O): '{}'", second);
+        log.info("📊 [GAME-CREATED] Active games now: {}", registry.getGameCount());
+
+        return game;
+    }
+
+    /**
+     * Pair CLASSIC players who have waited longer than the threshold with the bot.
+     * The bot is player2 (O) and has no player record, so it can play many games.
+     * @return ids of the games created
+     */
+    public List<String> pairStalledPlayersWithBot(Player bot, long waitThresholdMs) {
+        long cutoff = System.currentTimeMillis() - waitThresholdMs;
+        List<String> gameIds = new ArrayList<>();
+
+        for (Player waitingPlayer : matchmaker.claimWaitingSince(GameVariant.CLASSIC, cutoff)) {
+            String nickname = waitingPlayer.getNickname();
+            if (!admission.tryAcquireGame()) {
+                log.warn("🚧 [ADMISSION] No game slot for '{}' against the bot; back to the head of the overflow queue", nickname);
+                requeueFirst(waitingPlayer, GameVariant.CLASSIC);
+                continue;
+            }
+
+            String gameId = UUID.randomUUID().toString();
+            Game game = new Game(gameId, GameVariant.CLASSIC);
 
             game.setPlayer1(waitingPlayer);
-            game.setPlayer2(player);
+            game.setPlayer2(bot);
             game.setStatus(Game.GameStatus.IN_PROGRESS);
+            game.snapshotStats();
 
-            activeGames.put(gameId, game);
-            playerToGameMap.put(waitingPlayerNickname, gameId);
-            playerToGameMap.put(nickname, gameId);
+            registry.putGame(game, nickname);
+            gameActors.open(gameId);
+            scheduleGameTimeout(gameId, GAME_TIMEOUT_MINUTES * 60_000L);
+            gameIds.add(gameId);
+            metrics.countPairing(GameMetrics.PAIRED_WITH_BOT);
 
-            log.info("🎮 [GAME-CREATED] GameId: {}", gameId);
-            log.info("🎮 [GAME-CREATED] Player1 (X): '{}'", waitingPlayerNickname);
-            log.info("🎮 [GAME-CREATED] Player2 (O): '{}'", nickname);
-            log.info("📊 [GAME-CREATED] Active games now: {}", activeGames.size());
+            log.info("🤖 [BOT-MATCH] Player '{}' waited over {} ms, paired with bot in game '{}'",
+                    nickname, waitThresholdMs, gameId);
+        }
 
-            return gameId;
-        } else {
-            // Add to waiting queue
-            waitingPlayers.offer(nickname);
-            playerJoinTime.put(nickname, LocalDateTime.now());
-            log.info("⏳ [MATCHMAKING] No opponent found, adding '{}' to waiting queue", nickname);
-            log.info("📊 [MATCHMAKING] Waiting queue size: {}", waitingPlayers.size());
-            return null;
+        return gameIds;
+    }
+
+    // The player's queue expiry timer no longer applies; the overflow queue has its own timeout
+    private void requeueFirst(Player player, GameVariant variant) {
+        registry.setJoinedAt(player.getNickname(), 0);
+        admission.requeueFirst(player, variant);
+    }
+
+    /**
+     * Drop the player from the queue once the stale timeout passes, unless they were
+     * paired or re-queued (a new join has a different join time) in the meantime
+     */
+    private void scheduleQueueExpiry(String nickname, long joinedAt) {
+        timerWheel.schedule(() -> {
+            GameRegistry.PlayerRecord record = registry.getPlayer(nickname);
+            if (record != null && record.getJoinedAt() == joinedAt) {
+                log.info("🧹 [EXPIRY] Removing stale player from queue: '{}'", nickname);
+                removePlayerFromQueue(nickname);
+            }
+        }, STALE_PLAYER_TIMEOUT_SECONDS * 1000L);
+    }
+
+    /**
+     * One idle timer per tracked player. Activity updates only touch the record; when the timer
+     * fires it re-arms itself for the remaining time if the player has been active since.
+     */
+    private void scheduleIdleCheck(String nickname, long delayMillis) {
+        timerWheel.schedule(() -> checkIdle(nickname), delayMillis);
+    }
+
+    private void checkIdle(String nickname) {
+        GameRegistry.PlayerRecord record = registry.getPlayer(nickname);
+        long lastActivity = record != null ? record.getLastActivity() : 0;
+        if (lastActivity == 0) {
+            return;
+        }
+
+        long idleMillis = System.currentTimeMillis() - lastActivity;
+        long timeoutMillis = INACTIVE_PLAYER_TIMEOUT_SECONDS * 1000L;
+        if (idleMillis < timeoutMillis) {
+            scheduleIdleCheck(nickname, timeoutMillis - idleMillis);
+            return;
+        }
+
+        String gameId = record.getGameId();
+        if (gameId != null) {
+            gameActors.tell(gameId, () -> {
+                Game game = registry.getGame(gameId);
+                if (game != null && game.getStatus() == Game.GameStatus.IN_PROGRESS) {
+                    log.info("⏰ [EXPIRY] Game '{}' has inactive player '{}'", gameId, nickname);
+                    game.setStatus(Game.GameStatus.ABANDONED);
+                    endGame(gameId);
+                }
+            });
+        }
+
+        // Stop tracking; a later activity update starts a new watch. If the player was
+        // active in the meantime, keep watching.
+        if (!registry.clearActivityIfUnchanged(nickname, lastActivity)) {
+            checkIdle(nickname);
         }
     }
 
+    private void scheduleGameTimeout(String gameId, long delayMillis) {
+        gameTimeouts.put(gameId, timerWheel.schedule(
+                () -> gameActors.tell(gameId, () -> checkGameTimeout(gameId)), delayMillis));
+    }
+
+    private void checkGameTimeout(String gameId) {
+        Game game = registry.getGame(gameId);
+        if (game == null || game.getStatus() != Game.GameStatus.IN_PROGRESS) {
+            gameTimeouts.remove(gameId);
+            return;
+        }
+
+        LocalDateTime cutoffTime = LocalDateTime.now().minusMinutes(GAME_TIMEOUT_MINUTES);
+        if (game.getLastMoveAt() != null && !game.getLastMoveAt().isBefore(cutoffTime)) {
+            scheduleGameTimeout(gameId, Duration.between(cutoffTime, game.getLastMoveAt()).toMillis() + 1);
+            return;
+        }
+
+        log.info("⏰ [EXPIRY] Game '{}' timed out", gameId);
+        endGame(gameId);
+    }
+
     /**
-     * Remove stale players from waiting queue (over 60 seconds old)
+     * Remove stale players from waiting queue (over 60 seconds old).
+     * Full scan, used by the admin cleanup; regular expiry goes through the timer wheel.
      */
     private void cleanupStalePlayers() {
-        LocalDateTime cutoffTime = LocalDateTime.now().minusSeconds(STALE_PLAYER_TIMEOUT_SECONDS);
+        long cutoffTime = System.currentTimeMillis() - STALE_PLAYER_TIMEOUT_SECONDS * 1000L;
         List<String> toRemove = new ArrayList<>();
 
-        for (String nickname : waitingPlayers) {
-            LocalDateTime joinTime = playerJoinTime.get(nickname);
-            if (joinTime != null && joinTime.isBefore(cutoffTime)) {
+        for (String nickname : matchmaker.getWaitingPlayers()) {
+            Long joinTime = matchmaker.getJoinedAt(nickname);
+            if (joinTime != null && joinTime < cutoffTime) {
                 toRemove.add(nickname);
                 log.info("🧹 [CLEANUP] Removing stale player from queue: '{}'", nickname);
             }
@@ -135,69 +366,89 @@ public class GameService {
     }
 
     /**
-     * Remove inactive players from games (no activity for 3 minutes)
+     * Remove inactive players from games (no activity for 3 minutes).
+     * Full scan, used by the admin cleanup; regular expiry goes through the timer wheel.
+     * Each game is checked and ended on its own actor.
      */
     private void cleanupInactivePlayers() {
         LocalDateTime cutoffTime = LocalDateTime.now().minusSeconds(INACTIVE_PLAYER_TIMEOUT_SECONDS);
-        List<String> gamesToEnd = new ArrayList<>();
-
-        for (Map.Entry<String, Game> entry : activeGames.entrySet()) {
-            Game game = entry.getValue();
-            String gameId = entry.getKey();
-
-            if (game.getStatus() != Game.GameStatus.IN_PROGRESS) {
-                continue;
-            }
-
-            // Check if game has timed out (no moves for too long)
-            if (game.getLastMoveAt() != null &&
-                    game.getLastMoveAt().isBefore(LocalDateTime.now().minusMinutes(GAME_TIMEOUT_MINUTES))) {
-                log.info("⏰ [CLEANUP] Game '{}' timed out", gameId);
-                gamesToEnd.add(gameId);
-                continue;
+        for (Game game : registry.getGames()) {
+            if (game.getStatus() == Game.GameStatus.IN_PROGRESS) {
+                String gameId = game.getGameId();
+                gameActors.tell(gameId, () -> endIfInactive(gameId, cutoffTime));
             }
+        }
+    }
 
-            // Check player inactivity
-            boolean player1Inactive = isPlayerInactive(game.getPlayer1().getNickname(), cutoffTime);
-            boolean player2Inactive = isPlayerInactive(game.getPlayer2().getNickname(), cutoffTime);
+    private void endIfInactive(String gameId, LocalDateTime cutoffTime) {
+        Game game = registry.getGame(gameId);
+        if (game == null || game.getStatus() != Game.GameStatus.IN_PROGRESS) {
+            return;
+        }
 
-            if (player1Inactive || player2Inactive) {
-                log.info("⏰ [CLEANUP] Game '{}' has inactive player(s)", gameId);
-                game.setStatus(Game.GameStatus.ABANDONED);
-                gamesToEnd.add(gameId);
-            }
+        // Check if game has timed out (no moves for too long)
+        if (game.getLastMoveAt() != null &&
+                game.getLastMoveAt().isBefore(LocalDateTime.now().minusMinutes(GAME_TIMEOUT_MINUTES))) {
+            log.info("⏰ [CLEANUP] Game '{}' timed out", gameId);
+            endGame(gameId);
+            return;
         }
 
-        for (String gameId : gamesToEnd) {
+        // Check player inactivity
+        boolean player1Inactive = isPlayerInactive(game.getPlayer1().getNickname(), cutoffTime);
+        boolean player2Inactive = isPlayerInactive(game.getPlayer2().getNickname(), cutoffTime);
+
+        if (player1Inactive || player2Inactive) {
+            log.info("⏰ [CLEANUP] Game '{}' has inactive player(s)", gameId);
+            game.setStatus(Game.GameStatus.ABANDONED);
             endGame(gameId);
         }
     }
 
     private boolean isPlayerInactive(String nickname, LocalDateTime cutoffTime) {
-        LocalDateTime lastActivity = playerLastActivity.get(nickname);
-        return lastActivity == null || lastActivity.isBefore(cutoffTime);
+        if (BotService.isBot(nickname)) {
+            return false;
+        }
+        GameRegistry.PlayerRecord record = registry.getPlayer(nickname);
+        long cutoffMillis = cutoffTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return record == null || record.getLastActivity() < cutoffMillis;
     }
 
     public void updatePlayerActivity(String nickname) {
-        playerLastActivity.put(nickname, LocalDateTime.now());
+        if (registry.touch(nickname, System.currentTimeMillis())) {
+            scheduleIdleCheck(nickname, INACTIVE_PLAYER_TIMEOUT_SECONDS * 1000L);
+        }
     }
 
     public Game getGame(String gameId) {
-        Game game = activeGames.get(gameId);
+        Game game = registry.getGame(gameId);
         log.debug("🔍 [GET-GAME] Requested gameId: {} | Found: {}", gameId, (game != null));
         return game;
     }
 
     public boolean makeMove(String gameId, String nickname, int row, int col) {
+        return makeMove(gameId, nickname, row, col, null);
+    }
+
+    /**
+     * @param variant variant the client believes it is playing; null skips the check
+     */
+    public boolean makeMove(String gameId, String nickname, int row, int col, GameVariant variant) {
         log.info("🎯 [MAKE-MOVE] GameId: {} | Player: {} | Position: ({},{})", gameId, nickname, row, col);
 
         // Update player activity
         updatePlayerActivity(nickname);
 
-        Game game = activeGames.get(gameId);
+        Game game = registry.getGame(gameId);
         if (game == null) {
             log.error("❌ [MAKE-MOVE] Game not found: {}", gameId);
-            log.error("❌ [MAKE-MOVE] Active games: {}", activeGames.keySet());
+            log.error("❌ [MAKE-MOVE] Active games: {}", registry.getGameCount());
+            return false;
+        }
+
+        if (variant != null && variant != game.getVariant()) {
+            log.error("❌ [MAKE-MOVE] Variant mismatch for game '{}': requested {} but game is {}",
+                    gameId, variant, game.getVariant());
             return false;
         }
 
@@ -218,8 +469,8 @@ public class GameService {
             log.info("✅ [MAKE-MOVE] Move successful | Current turn: {} | Status: {}",
                     game.getCurrentTurn(), game.getStatus());
         } else {
-            log.warn("❌ [MAKE-MOVE] Move failed | Current turn: {} | Cell occupied: {}",
-                    game.getCurrentTurn(), game.getBoard()[row][col]);
+            log.warn("❌ [MAKE-MOVE] Move failed | Current turn: {} | Position: ({},{}) | Board: {}x{}",
+                    game.getCurrentTurn(), row, col, game.getVariant().getSize(), game.getVariant().getSize());
         }
 
         return moveSuccess;
@@ -228,23 +479,20 @@ public class GameService {
     public void endGame(String gameId) {
         log.info("🔚 [END-GAME] Ending game: {}", gameId);
 
-        Game game = activeGames.get(gameId);
+        // Removes the game and, in the same pass, both players' mappings to it
+        Game game = registry.removeGame(gameId);
         if (game != null) {
-            // Remove player mappings
-            if (game.getPlayer1() != null) {
-                String p1Nick = game.getPlayer1().getNickname();
-                removePlayerFromGame(p1Nick);
-                log.info("🔚 [END-GAME] Removed player1 mapping: {}", p1Nick);
-            }
-            if (game.getPlayer2() != null) {
-                String p2Nick = game.getPlayer2().getNickname();
-                removePlayerFromGame(p2Nick);
-                log.info("🔚 [END-GAME] Removed player2 mapping: {}", p2Nick);
+            // Cancel the game's timeout
+            TimerWheel.Timeout timeout = gameTimeouts.remove(gameId);
+            if (timeout != null) {
+                timeout.cancel();
             }
-
-            // Remove game
-            activeGames.remove(gameId);
-            log.info("🔚 [END-GAME] Game removed: {} | Active games remaining: {}", gameId, activeGames.size());
+            admission.releaseGame();
+            lifecycleScheduler.cancel(gameId);
+            initialStateDelivery.cancel(gameId);
+            gameActors.stop(gameId);
+            gameStatePublisher.evict(gameId);
+            log.info("🔚 [END-GAME] Game removed: {} | Active games remaining: {}", gameId, registry.getGameCount());
         } else {
             log.warn("⚠️ [END-GAME] Game not found: {}", gameId);
         }
@@ -262,21 +510,11 @@ public class GameService {
      * Remove player from waiting queue
      */
     public void removePlayerFromQueue(String nickname) {
-        boolean removed = waitingPlayers.remove(nickname);
-        playerJoinTime.remove(nickname);
-        playerLastActivity.remove(nickname);
+        boolean removed = matchmaker.cancel(nickname) | admission.cancel(nickname);
+        registry.setJoinedAt(nickname, 0);
 
         log.info("🚫 [REMOVE-QUEUE] Player '{}' removed from queue: {} | Waiting players: {}",
-                nickname, removed, waitingPlayers.size());
-    }
-
-    /**
-     * Remove player from game mappings
-     */
-    private void removePlayerFromGame(String nickname) {
-        playerToGameMap.remove(nickname);
-        playerJoinTime.remove(nickname);
-        playerSessions.remove(nickname);
+                nickname, removed, matchmaker.size());
     }
 
     /**
@@ -289,23 +527,29 @@ public class GameService {
         removePlayerFromQueue(nickname);
 
         // Check if player is in an active game
-        String gameId = playerToGameMap.get(nickname);
+        String gameId = registry.getGameId(nickname);
         if (gameId != null) {
-            Game game = activeGames.get(gameId);
-            if (game != null && game.getStatus() == Game.GameStatus.IN_PROGRESS) {
-                log.info("🔌 [DISCONNECT] Marking game '{}' as abandoned", gameId);
-                game.setStatus(Game.GameStatus.ABANDONED);
-
-                // Notify the other player that opponent disconnected
-                String opponentNickname = getOpponentNickname(game, nickname);
-                if (opponentNickname != null) {
-                    log.info("🔌 [DISCONNECT] Opponent in game: '{}'", opponentNickname);
+            gameActors.tell(gameId, () -> {
+                Game game = registry.getGame(gameId);
+                if (game != null && game.getStatus() == Game.GameStatus.IN_PROGRESS) {
+                    log.info("🔌 [DISCONNECT] Marking game '{}' as abandoned", gameId);
+                    game.setStatus(Game.GameStatus.ABANDONED);
+
+                    // Notify the other player that opponent disconnected
+                    String opponentNickname = getOpponentNickname(game, nickname);
+                    if (opponentNickname != null) {
+                        log.info("🔌 [DISCONNECT] Opponent in game: '{}'", opponentNickname);
+                    }
+
+                    // Remove it (and give back its game slot) like a forfeited game
+                    lifecycleScheduler.schedule(gameId, "abandon-cleanup", ABANDONED_CLEANUP_DELAY_MS,
+                            () -> endGame(gameId));
                 }
-            }
+            });
         }
 
         // Clean up all player data
-        removePlayerFromGame(nickname);
+        registry.detachFromGame(nickname);
     }
 
     private String getOpponentNickname(Game game, String playerNickname) {
@@ -321,43 +565,56 @@ public class GameService {
      * Register player session (called on WebSocket connect)
      */
     public void registerPlayerSession(String nickname, String sessionId) {
-        playerSessions.put(nickname, sessionId);
+        registry.bindSession(nickname, sessionId);
         updatePlayerActivity(nickname);
         log.info("📝 [SESSION] Registered session for player '{}': {}", nickname, sessionId);
     }
 
     /**
-     * Unregister player session (called on WebSocket disconnect)
+     * Unregister player session (called on WebSocket disconnect).
+     * The player is only treated as disconnected when their last session (tab) closes.
      */
     public void unregisterPlayerSession(String sessionId) {
-        String nickname = null;
-        for (Map.Entry<String, String> entry : playerSessions.entrySet()) {
-            if (entry.getValue().equals(sessionId)) {
-                nickname = entry.getKey();
-                break;
-            }
+        GameRegistry.UnboundSession unbound = registry.unbindSession(sessionId);
+        if (unbound == null) {
+            return;
         }
 
-        if (nickname != null) {
-            log.info("📝 [SESSION] Unregistering session for player '{}': {}", nickname, sessionId);
+        log.info("📝 [SESSION] Unregistering session for player '{}': {}", unbound.nickname(), sessionId);
+        if (unbound.lastSession()) {
+            handlePlayerDisconnect(unbound.nickname());
+        }
+    }
+
+    /**
+     * Unregister many sessions in one pass, e.g. a burst of disconnects after a deploy
+     * @return number of players left with no session
+     */
+    public int unregisterPlayerSessions(Collection<String> sessionIds) {
+        List<String> disconnected = registry.unbindSessions(sessionIds);
+        for (String nickname : disconnected) {
             handlePlayerDisconnect(nickname);
         }
+
+        log.info("📝 [SESSION] Bulk unregistered {} sessions | Players disconnected: {}",
+                sessionIds.size(), disconnected.size());
+        return disconnected.size();
     }
 
     public int getActiveGamesCount() {
-        int count = activeGames.size();
+        int count = registry.getGameCount();
         log.debug("📊 [STATS] Active games count: {}", count);
         return count;
     }
 
     public int getWaitingPlayersCount() {
-        int count = waitingPlayers.size();
+        int count = matchmaker.size();
         log.debug("📊 [STATS] Waiting players count: {}", count);
         return count;
     }
 
     public List<String> getWaitingPlayersList() {
-        return new ArrayList<>(waitingPlayers);
+        return matchmaker.getWaitingPlayers();
     }
 
     /**
@@ -365,10 +622,19 @@ public class GameService {
      */
     public Map<String, Object> getDetailedStats() {
         Map<String, Object> stats = new HashMap<>();
-        stats.put("activeGames", activeGames.size());
-        stats.put("waitingPlayers", waitingPlayers.size());
-        stats.put("activeSessions", playerSessions.size());
-        stats.put("playersInGames", playerToGameMap.size());
+        stats.put("activeGames", registry.getGameCount());
+        stats.put("waitingPlayers", getWaitingPlayersCount());
+        stats.put("admission", admission.getStats());
+        stats.put("activeSessions", registry.getSessionCount());
+        stats.put("playersInGames", registry.getPlayersInGamesCount());
+        stats.put("trackedPlayers", registry.getPlayerCount());
+        stats.put("pendingExpiryTimers", timerWheel.getPendingCount());
+        stats.put("gameMailboxes", gameActors.getMailboxCount());
+        stats.put("lifecyclePendingTasks", lifecycleScheduler.getPendingCount());
+        stats.put("initialStatesPending", initialStateDelivery.getPendingCount());
+        stats.put("resultWriter", gameResultWriter.getStats());
+        stats.put("playerCache", playerCache.getStats());
+        stats.put("statePayloads", gameStatePublisher.getStats());
         return stats;
     }
 
@@ -376,32 +642,30 @@ public class GameService {
      * Check if a player is currently in a game
      */
     public boolean isPlayerInGame(String nickname) {
-        return playerToGameMap.containsKey(nickname);
+        return registry.getGameId(nickname) != null;
     }
 
     /**
      * Check if a player is in waiting queue
      */
     public boolean isPlayerWaiting(String nickname) {
-        return waitingPlayers.contains(nickname);
+        return matchmaker.isWaiting(nickname) || admission.isQueued(nickname);
     }
 
     /**
      * Clear all players from waiting queue
      * @return number of players removed
      */
-    public synchronized int clearWaitingQueue() {
-        int count = waitingPlayers.size();
+    public int clearWaitingQueue() {
+        log.info("🧹 [ADMIN] Clearing waiting queue. Removing {} players", matchmaker.size());
 
-        log.info("🧹 [ADMIN] Clearing waiting queue. Removing {} players", count);
+        // Remove all players from queue, including those waiting for a game slot
+        List<String> removedPlayers = new ArrayList<>(matchmaker.clear());
+        removedPlayers.addAll(admission.clear());
+        int count = removedPlayers.size();
 
-        // Remove all players from queue
-        List<String> playersToRemove = new ArrayList<>(waitingPlayers);
-
-        for (String nickname : playersToRemove) {
-            waitingPlayers.remove(nickname);
-            playerJoinTime.remove(nickname);
-            playerLastActivity.remove(nickname);
+        for (String nickname : removedPlayers) {
+            registry.setJoinedAt(nickname, 0);
             log.info("🧹 [ADMIN] Removed player '{}' from queue", nickname);
         }
 
@@ -422,9 +686,9 @@ public class GameService {
         // Clear inactive games
         cleanupInactivePlayers();
 
-        stats.put("waitingQueueSize", waitingPlayers.size());
-        stats.put("activeGames", activeGames.size());
-        stats.put("activeSessions", playerSessions.size());
+        stats.put("waitingQueueSize", getWaitingPlayersCount());
+        stats.put("activeGames", registry.getGameCount());
+        stats.put("activeSessions", registry.getSessionCount());
 
         log.info("🧹 [ADMIN] Cleanup completed: {}", stats);
 
@@ -439,17 +703,23 @@ public class GameService {
         log.warn("⚠️ [ADMIN] FORCE RESET - Clearing ALL game state");
 
         Map<String, Integer> beforeStats = new HashMap<>();
-        beforeStats.put("activeGames", activeGames.size());
-        beforeStats.put("waitingPlayers", waitingPlayers.size());
-        beforeStats.put("playerSessions", playerSessions.size());
+        beforeStats.put("activeGames", registry.getGameCount());
+        beforeStats.put("waitingPlayers", getWaitingPlayersCount());
+        beforeStats.put("playerSessions", registry.getSessionCount());
 
         // Clear everything
-        activeGames.clear();
-        waitingPlayers.clear();
-        playerToGameMap.clear();
-        playerJoinTime.clear();
-        playerLastActivity.clear();
-        playerSessions.clear();
+        for (String gameId : registry.getGameIds()) {
+            initialStateDelivery.cancel(gameId);
+            // Cleanup and fallback events would otherwise fire for games that are gone
+            lifecycleScheduler.cancel(gameId);
+            gameActors.stop(gameId);
+        }
+        gameTimeouts.values().forEach(TimerWheel.Timeout::cancel);
+        gameTimeouts.clear();
+        matchmaker.clear();
+        admission.reset();
+        registry.clear();
+        gameStatePublisher.clear();
 
         log.warn("🧹 [ADMIN] Force reset completed. Cleared: {}", beforeStats);
 
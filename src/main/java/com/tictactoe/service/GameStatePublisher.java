@@ -0,0 +1,151 @@
+package com.tictactoe.service;
+
+import com.tictactoe.config.BinaryGameMessageConverter;
+import com.tictactoe.dto.GameStateResponse;
+import com.tictactoe.dto.MoveDelta;
+import com.tictactoe.model.Game;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Broadcasts game states to {@code /topic/game/{id}}: a {@link MoveDelta} per move, and full
+ * snapshots when a game starts or ends, or a client asks for a resync.
+ *
+ * Each state version is serialized once, to JSON, plus the binary encoding the first time a binary
+ * session receives it; the result is kept as a ready-made message and reused for every resend of
+ * that version (initial-state fallback, resync). The cache is keyed on the version alone: every state change bumps it, and a
+ * snapshot's message text describes the event that produced the version, so a resend repeats it.
+ * The broker fans the same payload arrays out to every subscriber, so only the per-session STOMP
+ * framing is left per subscriber. Only the latest version of each game is kept, until the game ends.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GameStatePublisher {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final BinaryGameMessageConverter messageConverter;
+    private final GameMetrics metrics;
+
+    private final Map<String, Payload> latest = new ConcurrentHashMap<>();
+    private final LongAdder serialized = new LongAdder();
+    private final LongAdder reused = new LongAdder();
+    private final LongAdder serializedBytes = new LongAdder();
+    private final LongAdder deltas = new LongAdder();
+    private final LongAdder deltaBytes = new LongAdder();
+
+    private record Payload(long version, Message<byte[]> frame) {
+    }
+
+    /**
+     * Send the game's current state to everyone subscribed to its topic
+     * @param message what produced this version; ignored if the version was already serialized
+     */
+    public void publish(Game game, String message) {
+        String gameTopic = InitialStateDelivery.GAME_TOPIC_PREFIX + game.getGameId();
+        log.debug("📤 [GAME-STATE] Sending v{} to: {} | Turn: {}", game.getVersion(), gameTopic, game.getCurrentTurn());
+        Message<byte[]> frame = payloadFor(game, message);
+        long start = System.nanoTime();
+        messagingTemplate.send(gameTopic, frame);
+        metrics.recordStateFanout(System.nanoTime() - start);
+    }
+
+    /**
+     * Send the game's current state again, as last serialized if the version has not changed since
+     */
+    public void resend(Game game) {
+        publish(game, null);
+    }
+
+    /**
+     * Send just the move that produced the game's current version; a move that ends the game goes
+     * out through {@link #publish} instead
+     */
+    public void publishMove(Game game, int row, int col, String symbol) {
+        MoveDelta delta = new MoveDelta(
+                game.getVersion(),
+                row * game.getEngine().getSize() + col,
+                symbol,
+                game.getCurrentTurn());
+
+        Message<byte[]> frame = messageConverter.withBinaryAlternative(delta, null);
+        deltas.increment();
+        deltaBytes.add(frame.getPayload().length);
+
+        String gameTopic = InitialStateDelivery.GAME_TOPIC_PREFIX + game.getGameId();
+        log.debug("📤 [GAME-STATE] Sending move v{} to: {}", delta.getSeq(), gameTopic);
+        long start = System.nanoTime();
+        messagingTemplate.send(gameTopic, frame);
+        metrics.recordDeltaFanout(System.nanoTime() - start);
+    }
+
+    /**
+     * The serialized state of the game's current version, built on first use with the given message
+     */
+    public Message<byte[]> payloadFor(Game game, String message) {
+        long version = game.getVersion();
+        Payload cached = latest.get(game.getGameId());
+        if (cached != null && cached.version() == version) {
+            reused.increment();
+            return cached.frame();
+        }
+
+        Message<byte[]> frame = messageConverter.withBinaryAlternative(buildGameStateResponse(game, message), null);
+
+        serialized.increment();
+        serializedBytes.add(frame.getPayload().length);
+        latest.put(game.getGameId(), new Payload(version, frame));
+        return frame;
+    }
+
+    /**
+     * Drop the game's cached payload (when it ends)
+     */
+    public void evict(String gameId) {
+        latest.remove(gameId);
+    }
+
+    public void clear() {
+        latest.clear();
+    }
+
+    public static GameStateResponse buildGameStateResponse(Game game, String message) {
+        GameStateResponse response = new GameStateResponse();
+        response.setGameId(game.getGameId());
+        response.setVersion(game.getVersion());
+        response.setBoard(game.getBoard());
+        response.setCurrentTurn(game.getCurrentTurn());
+        response.setStatus(game.getStatus().toString());
+        response.setWinner(game.getWinner());
+        response.setMessage(message);
+
+        // Snapshot taken at pairing and refreshed with the result; no database reads per broadcast
+        response.setPlayer1(game.getPlayer1Stats());
+        response.setPlayer2(game.getPlayer2Stats());
+        return response;
+    }
+
+    /**
+     * Snapshots serialized, sends that reused cached bytes, payloads held, and move deltas sent
+     */
+    public Map<String, Object> getStats() {
+        long serializedCount = serialized.sum();
+        long deltaCount = deltas.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("serialized", serializedCount);
+        stats.put("reused", reused.sum());
+        stats.put("avgPayloadBytes", serializedCount == 0 ? 0 : serializedBytes.sum() / serializedCount);
+        stats.put("cachedGames", latest.size());
+        stats.put("moveDeltas", deltaCount);
+        stats.put("avgDeltaBytes", deltaCount == 0 ? 0 : deltaBytes.sum() / deltaCount);
+        return stats;
+    }
+}
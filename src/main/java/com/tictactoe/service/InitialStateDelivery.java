@@ -0,0 +1,125 @@
+package com.tictactoe.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sends a new game's initial state as soon as every human player has subscribed to
+ * {@code /topic/game/{id}}, instead of after a fixed delay.
+ *
+ * Subscriptions are reported by {@link com.tictactoe.config.SubscriptionReadinessInterceptor} once
+ * the broker has registered them. If a player has not subscribed within the fallback timeout the
+ * state is sent anyway. Time from game start to first state is recorded in {@link GameMetrics},
+ * split by whether the send was triggered by readiness or by the fallback.
+ */
+@Component
+@Slf4j
+public class InitialStateDelivery {
+
+    public static final String GAME_TOPIC_PREFIX = "/topic/game/";
+
+    private final GameLifecycleScheduler lifecycleScheduler;
+    private final GameActors gameActors;
+    private final GameRegistry registry;
+    private final GameMetrics metrics;
+    private final long fallbackMs;
+
+    private final Map<String, PendingState> pending = new ConcurrentHashMap<>();
+
+    public InitialStateDelivery(GameLifecycleScheduler lifecycleScheduler,
+                                GameActors gameActors,
+                                GameRegistry registry,
+                                GameMetrics metrics,
+                                @Value("${game.initial-state.fallback-ms:2000}") long fallbackMs) {
+        this.lifecycleScheduler = lifecycleScheduler;
+        this.gameActors = gameActors;
+        this.registry = registry;
+        this.metrics = metrics;
+        this.fallbackMs = fallbackMs;
+    }
+
+    /**
+     * Register a new game before its players are told it started.
+     * @param nicknames the players who must subscribe (the bot never does)
+     * @param send broadcasts the initial state; runs once, on the game's actor
+     */
+    public void expect(String gameId, Collection<String> nicknames, Runnable send) {
+        PendingState state = new PendingState(Set.copyOf(nicknames), send);
+        pending.put(gameId, state);
+
+        lifecycleScheduler.schedule(gameId, "initial-state-fallback", fallbackMs, () -> {
+            if (pending.remove(gameId, state) && state.claim()) {
+                log.warn("⚠️ [GAME-STATE] Not all players subscribed to game {} within {} ms; sending anyway",
+                        gameId, fallbackMs);
+                deliver(state, false);
+            }
+        });
+    }
+
+    /**
+     * Called for every STOMP SUBSCRIBE, after the broker has handled it
+     */
+    public void onSubscribe(String sessionId, String destination) {
+        if (destination == null || !destination.startsWith(GAME_TOPIC_PREFIX)) {
+            return;
+        }
+
+        String gameId = destination.substring(GAME_TOPIC_PREFIX.length());
+        PendingState state = pending.get(gameId);
+        if (state == null) {
+            return;
+        }
+
+        String nickname = registry.getNicknameForSession(sessionId);
+        if (nickname == null || !state.expected.contains(nickname)) {
+            return;
+        }
+
+        state.subscribed.add(nickname);
+        if (state.subscribed.containsAll(state.expected) && pending.remove(gameId, state) && state.claim()) {
+            log.debug("📡 [GAME-STATE] All players subscribed to game {} after {} ms",
+                    gameId, System.currentTimeMillis() - state.startedAt);
+            gameActors.tell(gameId, () -> deliver(state, true));
+        }
+    }
+
+    /**
+     * Forget the game's pending initial state (it ended, or was dropped, before everyone subscribed)
+     */
+    public void cancel(String gameId) {
+        pending.remove(gameId);
+    }
+
+    private void deliver(PendingState state, boolean onReady) {
+        metrics.recordInitialStateDelay(onReady, System.currentTimeMillis() - state.startedAt);
+        state.send.run();
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    private static final class PendingState {
+        private final Set<String> expected;
+        private final Set<String> subscribed = ConcurrentHashMap.newKeySet();
+        private final Runnable send;
+        private final long startedAt = System.currentTimeMillis();
+        private final AtomicBoolean sent = new AtomicBoolean();
+
+        private PendingState(Set<String> expected, Runnable send) {
+            this.expected = expected;
+            this.send = send;
+        }
+
+        private boolean claim() {
+            return sent.compareAndSet(false, true);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.tictactoe.service;
+
+import com.tictactoe.dto.LeaderboardEntry;
+import com.tictactoe.model.Player;
+import com.tictactoe.repository.PlayerRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory ranking of all players, in leaderboard order (total score, then wins, both descending;
+ * nickname breaks ties). Kept in an {@link OrderStatisticTree}, so the top K costs O(log n + K)
+ * and a player's rank and neighbours O(log n), without touching the database.
+ *
+ * Seeded from the database before the application starts serving, then kept current by the
+ * result-recording paths, which report each committed change. A change replaces the player's
+ * entry under the write lock; queries share the read lock.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LeaderboardIndex {
+
+    /**
+     * A player's leaderboard standing
+     */
+    public record Standing(String nickname, int wins, int losses, int draws, int totalScore) {
+
+        private Standing plus(int dWins, int dLosses, int dDraws, int dScore) {
+            return new Standing(nickname, wins + dWins, losses + dLosses, draws + dDraws, totalScore + dScore);
+        }
+
+        public LeaderboardEntry toEntry() {
+            return new LeaderboardEntry(nickname, wins, losses, draws,
+                    wins + "/" + losses + "/" + draws, totalScore);
+        }
+    }
+
+    /**
+     * A player's 1-based rank and the standings around it, starting at rank {@code fromRank}
+     */
+    public record RankView(Standing standing, int rank, int totalPlayers, int fromRank, List<Standing> neighbours) {
+    }
+
+    static final Comparator<Standing> LEADERBOARD_ORDER = Comparator
+            .comparingInt(Standing::totalScore).reversed()
+            .thenComparing(Comparator.comparingInt(Standing::wins).reversed())
+            .thenComparing(Standing::nickname);
+
+    private final PlayerRepository playerRepository;
+
+    private final OrderStatisticTree<Standing> ranking = new OrderStatisticTree<>(LEADERBOARD_ORDER);
+    private final Map<String, Standing> byNickname = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    @PostConstruct
+    public void seed() {
+        long begin = System.currentTimeMillis();
+        for (Player player : playerRepository.findAll()) {
+            put(player);
+        }
+        ready = true;
+        log.info("🏅 [LEADERBOARD] Seeded {} players in {} ms", size(), System.currentTimeMillis() - begin);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Insert or overwrite the player's standing from a loaded entity
+     */
+    public void put(Player player) {
+        Standing standing = new Standing(player.getNickname(), value(player.getWins()), value(player.getLosses()),
+                value(player.getDraws()), value(player.getTotalScore()));
+        lock.writeLock().lock();
+        try {
+            Standing previous = byNickname.put(standing.nickname(), standing);
+            if (previous != null) {
+                ranking.remove(previous);
+            }
+            ranking.add(standing);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Apply a committed change to the player's totals. Unknown players are ignored.
+     */
+    public void applyDelta(String nickname, int wins, int losses, int draws, int score) {
+        lock.writeLock().lock();
+        try {
+            Standing previous = byNickname.get(nickname);
+            if (previous == null) {
+                return;
+            }
+            Standing updated = previous.plus(wins, losses, draws, score);
+            byNickname.put(nickname, updated);
+            ranking.remove(previous);
+            ranking.add(updated);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The first {@code limit} standings in leaderboard order
+     */
+    public List<Standing> top(int limit) {
+        lock.readLock().lock();
+        try {
+            return ranking.range(0, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The player's rank with up to {@code window} standings either side, or null if the player is unknown
+     */
+    public RankView rankOf(String nickname, int window) {
+        lock.readLock().lock();
+        try {
+            Standing standing = byNickname.get(nickname);
+            if (standing == null) {
+                return null;
+            }
+            int index = ranking.rank(standing);
+            int from = Math.max(0, index - window);
+            return new RankView(standing, index + 1, ranking.size(), from + 1,
+                    ranking.range(from, index + window + 1));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ranking.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static int value(Integer value) {
+        return value != null ? value : 0;
+    }
+}
@@ -0,0 +1,58 @@
+package com.tictactoe.service;
+
+import com.tictactoe.engine.GameVariant;
+import com.tictactoe.model.Player;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Waiting-player pool. Implementations are selected with {@code game.matchmaking.mode}.
+ */
+public interface Matchmaker {
+
+    /**
+     * Two players taken off the queue together. {@code first} has waited longer.
+     */
+    record Pairing(Player first, Player second, GameVariant variant) {
+    }
+
+    /**
+     * Pair the player with a waiting opponent, or leave them waiting.
+     * Returns null if nobody was paired (or the player was already waiting).
+     */
+    Pairing join(Player player, GameVariant variant);
+
+    /**
+     * Remove a waiting player. Returns false if the player was not waiting or was just matched.
+     */
+    boolean cancel(String nickname);
+
+    /**
+     * Re-try players who have been waiting, for matchmakers whose criteria relax over time
+     */
+    default List<Pairing> sweep() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Claim waiting players of the variant who joined before the cutoff, e.g. to hand them to the bot
+     */
+    List<Player> claimWaitingSince(GameVariant variant, long cutoffMillis);
+
+    boolean isWaiting(String nickname);
+
+    /**
+     * Epoch millis when the player joined, or null if not waiting
+     */
+    Long getJoinedAt(String nickname);
+
+    int size();
+
+    List<String> getWaitingPlayers();
+
+    /**
+     * Cancel every waiting player. Returns the nicknames removed.
+     */
+    List<String> clear();
+}
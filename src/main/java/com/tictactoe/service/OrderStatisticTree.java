@@ -0,0 +1,197 @@
+package com.tictactoe.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sorted set that also answers "how many elements come before x" and "which element is at
+ * position i" in O(log n). A treap (randomised balanced binary search tree) whose nodes carry
+ * their subtree size.
+ *
+ * Not thread-safe; callers lock around it.
+ */
+final class OrderStatisticTree<T> {
+
+    private static final class Node<T> {
+        private final T value;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private Node<T> left;
+        private Node<T> right;
+        private int size = 1;
+
+        private Node(T value) {
+            this.value = value;
+        }
+    }
+
+    private final Comparator<? super T> comparator;
+    private Node<T> root;
+
+    OrderStatisticTree(Comparator<? super T> comparator) {
+        this.comparator = comparator;
+    }
+
+    int size() {
+        return size(root);
+    }
+
+    /**
+     * @return false if an equal element is already present
+     */
+    boolean add(T value) {
+        if (indexOf(value) >= 0) {
+            return false;
+        }
+        Node<T>[] parts = split(root, value);
+        root = merge(merge(parts[0], new Node<>(value)), parts[1]);
+        return true;
+    }
+
+    /**
+     * @return false if no equal element was present
+     */
+    boolean remove(T value) {
+        int before = size(root);
+        root = remove(root, value);
+        return size(root) < before;
+    }
+
+    /**
+     * Number of elements strictly before value (its 0-based position if present)
+     */
+    int rank(T value) {
+        int rank = 0;
+        Node<T> node = root;
+        while (node != null) {
+            int cmp = comparator.compare(value, node.value);
+            if (cmp <= 0) {
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * 0-based position of value, or -1 if absent
+     */
+    int indexOf(T value) {
+        int rank = 0;
+        Node<T> node = root;
+        while (node != null) {
+            int cmp = comparator.compare(value, node.value);
+            if (cmp == 0) {
+                return rank + size(node.left);
+            }
+            if (cmp < 0) {
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Elements at positions [from, to), in order; O(log n + (to - from))
+     */
+    List<T> range(int from, int to) {
+        int start = Math.max(0, from);
+        int end = Math.min(size(root), to);
+        List<T> out = new ArrayList<>(Math.max(0, end - start));
+        collect(root, start, end, 0, out);
+        return out;
+    }
+
+    private void collect(Node<T> node, int from, int to, int offset, List<T> out) {
+        if (node == null || from >= to) {
+            return;
+        }
+        int position = offset + size(node.left);
+        if (from < position) {
+            collect(node.left, from, to, offset, out);
+        }
+        if (from <= position && position < to) {
+            out.add(node.value);
+        }
+        if (position + 1 < to) {
+            collect(node.right, from, to, position + 1, out);
+        }
+    }
+
+    void clear() {
+        root = null;
+    }
+
+    private Node<T> remove(Node<T> node, T value) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = comparator.compare(value, node.value);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            node.left = remove(node.left, value);
+        } else {
+            node.right = remove(node.right, value);
+        }
+        update(node);
+        return node;
+    }
+
+    /**
+     * Split into (elements < value, elements >= value)
+     */
+    @SuppressWarnings("unchecked")
+    private Node<T>[] split(Node<T> node, T value) {
+        if (node == null) {
+            return new Node[]{null, null};
+        }
+        if (comparator.compare(node.value, value) < 0) {
+            Node<T>[] parts = split(node.right, value);
+            node.right = parts[0];
+            update(node);
+            parts[0] = node;
+            return parts;
+        }
+        Node<T>[] parts = split(node.left, value);
+        node.left = parts[1];
+        update(node);
+        parts[1] = node;
+        return parts;
+    }
+
+    /**
+     * Merge two treaps where every element of a precedes every element of b
+     */
+    private Node<T> merge(Node<T> a, Node<T> b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            update(a);
+            return a;
+        }
+        b.left = merge(a, b.left);
+        update(b);
+        return b;
+    }
+
+    private static <T> int size(Node<T> node) {
+        return node != null ? node.size : 0;
+    }
+
+    private static <T> void update(Node<T> node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+}
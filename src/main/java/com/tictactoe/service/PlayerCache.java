@@ -0,0 +1,156 @@
+package com.tictactoe.service;
+
+import com.tictactoe.model.Player;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded LRU cache of Player rows by nickname, in front of {@code PlayerRepository.findByNickname}.
+ *
+ * Split into segments (picked by nickname hash, as in {@link GameRegistry}), each an access-ordered
+ * map evicting its least recently used entry once full. Cached players are shared and must be
+ * treated as read-only.
+ *
+ * Writers bracket every change to a player row with {@link #beginWrite} and {@link #endWrite} (after
+ * the commit). The entry is dropped at the end of the write, and a load that overlapped a write on
+ * its segment is returned but not cached, so a stale row can never be put back after a write.
+ */
+@Component
+@Slf4j
+public class PlayerCache {
+
+    private static final int SEGMENTS = 16;
+
+    private static final class Segment extends LinkedHashMap<String, Player> {
+        private final int capacity;
+        private final LongAdder evictions;
+        // Writes in progress and completed on this segment; a load only caches if neither moved
+        private int writesInFlight;
+        private long writeGeneration;
+
+        private Segment(int capacity, LongAdder evictions) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Player> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final int capacity;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder uncachedLoads = new LongAdder();
+
+    public PlayerCache(@Value("${game.player-cache.max-size:10000}") int maxSize) {
+        int perSegment = Math.max(1, maxSize / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment, evictions);
+        }
+        this.capacity = perSegment * SEGMENTS;
+    }
+
+    private Segment segmentFor(String nickname) {
+        return segments[(nickname.hashCode() * 0x9E3779B9) >>> (32 - Integer.numberOfTrailingZeros(SEGMENTS))];
+    }
+
+    /**
+     * Cached player, or the result of the loader (cached if no write overlapped it)
+     */
+    public Optional<Player> get(String nickname, Function<String, Optional<Player>> loader) {
+        Segment segment = segmentFor(nickname);
+        long generation;
+        synchronized (segment) {
+            Player cached = segment.get(nickname);
+            if (cached != null) {
+                hits.increment();
+                return Optional.of(cached);
+            }
+            generation = segment.writesInFlight == 0 ? segment.writeGeneration : -1;
+        }
+
+        misses.increment();
+        Optional<Player> loaded = loader.apply(nickname);
+        if (loaded.isEmpty()) {
+            return loaded;
+        }
+
+        synchronized (segment) {
+            if (generation >= 0 && segment.writesInFlight == 0 && segment.writeGeneration == generation) {
+                segment.putIfAbsent(nickname, loaded.get());
+                return Optional.of(segment.get(nickname));
+            }
+        }
+        uncachedLoads.increment();
+        return loaded;
+    }
+
+    /**
+     * Called before a player row is changed
+     */
+    public void beginWrite(String nickname) {
+        Segment segment = segmentFor(nickname);
+        synchronized (segment) {
+            segment.writesInFlight++;
+            segment.remove(nickname);
+        }
+    }
+
+    /**
+     * Called once the change is committed or rolled back
+     */
+    public void endWrite(String nickname) {
+        Segment segment = segmentFor(nickname);
+        synchronized (segment) {
+            segment.writesInFlight--;
+            segment.writeGeneration++;
+            segment.remove(nickname);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Size, capacity, hits, misses, hit rate, evictions and loads not cached because a write overlapped
+     */
+    public Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", size());
+        stats.put("capacity", capacity);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", total == 0 ? 0.0 : Math.round(hitCount * 1000.0 / total) / 1000.0);
+        stats.put("evictions", evictions.sum());
+        stats.put("uncachedLoads", uncachedLoads.sum());
+        return stats;
+    }
+}
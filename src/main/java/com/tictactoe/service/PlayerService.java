@@ -1,11 +1,16 @@
 package com.tictactoe.service;
 
+import com.tictactoe.dto.LeaderboardEntry;
+import com.tictactoe.dto.PlayerRankResponse;
 import com.tictactoe.model.Player;
 import com.tictactoe.repository.PlayerRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 import java.util.Optional;
@@ -16,10 +21,15 @@ import java.util.Optional;
 public class PlayerService {
 
     private final PlayerRepository playerRepository;
+    private final LeaderboardIndex leaderboardIndex;
+    private final PlayerCache playerCache;
+
+    private static final int MAX_LEADERBOARD_LIMIT = 100;
+    private static final int MAX_RANK_WINDOW = 10;
 
     @Transactional
     public Player createOrGetPlayer(String nickname) {
-        Optional<Player> existingPlayer = playerRepository.findByNickname(nickname);
+        Optional<Player> existingPlayer = playerCache.get(nickname, playerRepository::findByNickname);
 
         if (existingPlayer.isPresent()) {
 //            log.info("Player found: {}", nickname);
@@ -34,48 +44,57 @@ public class PlayerService {
         newPlayer.setTotalScore(0);
 
         Player saved = playerRepository.save(newPlayer);
+        // Ranked only once the row is committed, like results applied by GameResultWriter
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                leaderboardIndex.put(saved);
+            }
+        });
 //        log.info("New player created: {}", nickname);
         return saved;
     }
 
-    @Transactional
-    public void recordWin(String nickname) {
-        Player player = playerRepository.findByNickname(nickname)
-                .orElseThrow(() -> new RuntimeException("Player not found: " + nickname));
-
-        player.addWin();
-        playerRepository.save(player);
-//        log.info("Win recorded for player: {}", nickname);
-    }
-
-    @Transactional
-    public void recordLoss(String nickname) {
-        Player player = playerRepository.findByNickname(nickname)
-                .orElseThrow(() -> new RuntimeException("Player not found: " + nickname));
-
-        player.addLoss();
-        playerRepository.save(player);
-//        log.info("Loss recorded for player: {}", nickname);
-    }
-
-    @Transactional
-    public void recordDraw(String nickname) {
-        Player player = playerRepository.findByNickname(nickname)
-                .orElseThrow(() -> new RuntimeException("Player not found: " + nickname));
-
-        player.addDraw();
-        playerRepository.save(player);
-//        log.info("Draw recorded for player: {}", nickname);
+    /**
+     * Top players, from the in-memory ranking once it is seeded, otherwise with a top-K query
+     */
+    public List<LeaderboardEntry> getLeaderboard(int limit) {
+        int k = Math.max(1, Math.min(limit, MAX_LEADERBOARD_LIMIT));
+        if (leaderboardIndex.isReady()) {
+            return leaderboardIndex.top(k).stream()
+                    .map(LeaderboardIndex.Standing::toEntry)
+                    .toList();
+        }
+        return playerRepository.findTopPlayers(PageRequest.of(0, k)).stream()
+                .map(player -> new LeaderboardEntry(
+                        player.getNickname(),
+                        player.getWins(),
+                        player.getLosses(),
+                        player.getDraws(),
+                        player.getWinLossDrawRecord(),
+                        player.getTotalScore()))
+                .toList();
     }
 
-    public List<Player> getLeaderboard(int limit) {
-        List<Player> allPlayers = playerRepository.findTopPlayers();
-        return allPlayers.stream()
-                .limit(limit)
-                .toList();
+    /**
+     * The player's global rank and up to {@code window} players either side, or null if unknown
+     */
+    public PlayerRankResponse getRank(String nickname, int window) {
+        LeaderboardIndex.RankView view = leaderboardIndex.rankOf(nickname,
+                Math.max(0, Math.min(window, MAX_RANK_WINDOW)));
+        if (view == null) {
+            return null;
+        }
+        return new PlayerRankResponse(
+                nickname,
+                view.rank(),
+                view.totalPlayers(),
+                view.standing().toEntry(),
+                view.fromRank(),
+                view.neighbours().stream().map(LeaderboardIndex.Standing::toEntry).toList());
     }
 
     public Player getPlayer(String nickname) {
-        return playerRepository.findByNickname(nickname).orElse(null);
+        return playerCache.get(nickname, playerRepository::findByNickname).orElse(null);
     }
 }
\ No newline at end of file
@@ -0,0 +1,119 @@
+package com.tictactoe.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Server-issued tokens that bind a nickname to one client. A client claims a nickname over REST
+ * ({@code POST /api/players}) and must present the token in its STOMP CONNECT frame; the session's
+ * user is only named after the nickname if the token matches.
+ *
+ * A nickname whose token has live STOMP sessions cannot be claimed by another client. Presenting the
+ * current token claims it again (a reload or another tab of the same client). Once its sessions are
+ * gone, the next claim replaces the token, so the earlier client has to claim again.
+ *
+ * One entry is kept per nickname ever claimed, like the players table.
+ */
+@Component
+@Slf4j
+public class PlayerTokens {
+
+    private static final int TOKEN_BYTES = 24;
+
+    private final SecureRandom random = new SecureRandom();
+    private final Map<String, Claim> claims = new ConcurrentHashMap<>();
+    private final Map<String, String> sessionNicknames = new ConcurrentHashMap<>();
+
+    /**
+     * A nickname's token and the STOMP sessions connected with it; mutated only inside compute
+     */
+    private static final class Claim {
+        private final String token;
+        private final Set<String> sessionIds = new HashSet<>();
+
+        private Claim(String token) {
+            this.token = token;
+        }
+    }
+
+    /**
+     * Token for the nickname: the current one if {@code presented} matches it, a new one if nobody is
+     * connected with the current one
+     * @return null if another client is connected under the nickname
+     */
+    @Nullable
+    public String claim(String nickname, @Nullable String presented) {
+        String[] issued = new String[1];
+        claims.compute(nickname, (key, claim) -> {
+            if (claim != null && matches(claim.token, presented)) {
+                issued[0] = claim.token;
+                return claim;
+            }
+            if (claim != null && !claim.sessionIds.isEmpty()) {
+                return claim;
+            }
+            issued[0] = newToken();
+            return new Claim(issued[0]);
+        });
+
+        if (issued[0] == null) {
+            log.warn("❌ [TOKEN] Nickname '{}' is connected from another client", nickname);
+        }
+        return issued[0];
+    }
+
+    /**
+     * Record a STOMP session connecting as the nickname
+     * @return false if the token is not the nickname's current one
+     */
+    public boolean connect(String nickname, @Nullable String token, String sessionId) {
+        boolean[] accepted = new boolean[1];
+        claims.computeIfPresent(nickname, (key, claim) -> {
+            if (matches(claim.token, token)) {
+                claim.sessionIds.add(sessionId);
+                accepted[0] = true;
+            }
+            return claim;
+        });
+        if (accepted[0]) {
+            sessionNicknames.put(sessionId, nickname);
+        }
+        return accepted[0];
+    }
+
+    public void disconnect(String sessionId) {
+        String nickname = sessionNicknames.remove(sessionId);
+        if (nickname != null) {
+            claims.computeIfPresent(nickname, (key, claim) -> {
+                claim.sessionIds.remove(sessionId);
+                return claim;
+            });
+        }
+    }
+
+    public int getClaimCount() {
+        return claims.size();
+    }
+
+    private String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    // Constant time, so a wrong guess says nothing about how close it was
+    private static boolean matches(String token, @Nullable String presented) {
+        return presented != null && MessageDigest.isEqual(
+                token.getBytes(StandardCharsets.UTF_8), presented.getBytes(StandardCharsets.UTF_8));
+    }
+}
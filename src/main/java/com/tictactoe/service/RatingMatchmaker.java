@@ -0,0 +1,354 @@
+package com.tictactoe.service;
+
+import com.tictactoe.engine.GameVariant;
+import com.tictactoe.model.Player;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rating-based matchmaking ({@code game.matchmaking.mode=rated}).
+ *
+ * Waiting players sit in fixed-width rating buckets (a TreeMap per variant, ordered by rating
+ * inside a bucket). A join probes buckets outward from the player's own bucket and takes the
+ * nearest-rated player whose rating gap fits the search window, older player first on a tie;
+ * probing stops once no unprobed bucket can hold anyone nearer. The window starts at
+ * {@code base-window} and widens by {@code widen-per-second} while a player waits, up to
+ * {@code max-window}. Enqueue, cancel and match-finding are O(log n) per probed bucket, with at
+ * most 2 * max-window / bucket-width + 2 probes, independent of queue length.
+ *
+ * The periodic sweep only retries players whose window has widened since they joined, one at a
+ * time from a snapshot, so joins are never held up behind a pass over the whole pool.
+ */
+@Component
+@ConditionalOnProperty(name = "game.matchmaking.mode", havingValue = "rated")
+@Slf4j
+public class RatingMatchmaker implements Matchmaker {
+
+    // Order inside a bucket; nicknames are unique among waiting players
+    private static final Comparator<Ticket> BY_RATING = Comparator.<Ticket>comparingInt(t -> t.rating)
+            .thenComparingLong(t -> t.joinedAt)
+            .thenComparing(t -> t.nickname);
+
+    private final int bucketWidth;
+    private final int baseWindow;
+    private final int widenPerSecond;
+    private final int maxWindow;
+
+    private final Map<String, Ticket> members = new ConcurrentHashMap<>();
+    private final Map<GameVariant, Lane> lanes = new EnumMap<>(GameVariant.class);
+    private final GameMetrics metrics;
+
+    public RatingMatchmaker(GameMetrics metrics,
+                            @Value("${game.matchmaking.rating.bucket-width:50}") int bucketWidth,
+                            @Value("${game.matchmaking.rating.base-window:100}") int baseWindow,
+                            @Value("${game.matchmaking.rating.widen-per-second:25}") int widenPerSecond,
+                            @Value("${game.matchmaking.rating.max-window:400}") int maxWindow) {
+        this.metrics = metrics;
+        this.bucketWidth = bucketWidth;
+        this.baseWindow = baseWindow;
+        this.widenPerSecond = widenPerSecond;
+        this.maxWindow = Math.max(baseWindow, maxWindow);
+        for (GameVariant variant : GameVariant.values()) {
+            lanes.put(variant, new Lane());
+        }
+        log.info("⚖️ [MATCHMAKER] Rating matchmaking | Bucket: {} | Window: {} +{}/s up to {}",
+                bucketWidth, baseWindow, widenPerSecond, this.maxWindow);
+    }
+
+    @Override
+    public Pairing join(Player player, GameVariant variant) {
+        long now = System.currentTimeMillis();
+        Ticket ticket = new Ticket(player, variant, ratingOf(player), now);
+        Lane lane = lanes.get(variant);
+
+        synchronized (lane) {
+            if (members.putIfAbsent(ticket.nickname, ticket) != null) {
+                return null;
+            }
+
+            Ticket opponent = findOpponent(lane, ticket, now);
+            if (opponent == null) {
+                lane.add(ticket);
+                return null;
+            }
+
+            lane.remove(opponent);
+            return pair(opponent, ticket, now);
+        }
+    }
+
+    @Override
+    public List<Pairing> sweep() {
+        long now = System.currentTimeMillis();
+        List<Pairing> pairings = new ArrayList<>();
+
+        for (Lane lane : lanes.values()) {
+            // Oldest first: they have the widest windows. Anyone still on the base window was
+            // already tried against the whole pool when they (or a later player) joined.
+            List<Ticket> widened = new ArrayList<>();
+            synchronized (lane) {
+                for (Ticket ticket : lane.byJoinOrder.values()) {
+                    if (windowOf(ticket, now) == baseWindow) {
+                        break;
+                    }
+                    widened.add(ticket);
+                }
+            }
+
+            for (Ticket ticket : widened) {
+                synchronized (lane) {
+                    if (!lane.byJoinOrder.containsKey(ticket.nickname)) {
+                        continue;
+                    }
+                    Ticket opponent = findOpponent(lane, ticket, now);
+                    if (opponent != null) {
+                        lane.remove(ticket);
+                        lane.remove(opponent);
+                        // Same order as join(): whoever waited longer comes first and plays X
+                        pairings.add(opponent.joinedAt <= ticket.joinedAt
+                                ? pair(opponent, ticket, now)
+                                : pair(ticket, opponent, now));
+                    }
+                }
+            }
+        }
+        return pairings;
+    }
+
+    private Pairing pair(Ticket first, Ticket second, long now) {
+        members.remove(first.nickname, first);
+        members.remove(second.nickname, second);
+        metrics.recordMatchmakingWait(now - first.joinedAt);
+        metrics.recordMatchmakingWait(now - second.joinedAt);
+        log.debug("⚖️ [MATCHMAKER] Paired '{}' ({}) with '{}' ({})",
+                first.nickname, first.rating, second.nickname, second.rating);
+        return new Pairing(first.player, second.player, first.variant);
+    }
+
+    /**
+     * Nearest-rated acceptable opponent (older on a tie), probing buckets in order of their rating
+     * distance from the ticket until no remaining bucket can hold anyone nearer than the best found
+     */
+    private Ticket findOpponent(Lane lane, Ticket ticket, long now) {
+        Integer lower = lane.buckets.floorKey(ticket.bucket);
+        Integer higher = lane.buckets.higherKey(ticket.bucket);
+        Ticket best = null;
+        int bestGap = maxWindow + 1;
+
+        while (lower != null || higher != null) {
+            int lowerGap = lower != null ? gapToBucket(ticket, lower) : Integer.MAX_VALUE;
+            int higherGap = higher != null ? gapToBucket(ticket, higher) : Integer.MAX_VALUE;
+            boolean probeLower = lowerGap <= higherGap;
+            int bucketGap = probeLower ? lowerGap : higherGap;
+            // A bucket at exactly bestGap may still hold an older player at the same distance
+            if (bucketGap > bestGap) {
+                return best;
+            }
+
+            Integer bucket = probeLower ? lower : higher;
+            Ticket candidate = nearestAcceptable(lane.buckets.get(bucket), ticket, now, best, bestGap);
+            if (candidate != null) {
+                best = candidate;
+                bestGap = Math.abs(candidate.rating - ticket.rating);
+            }
+
+            if (probeLower) {
+                lower = lane.buckets.lowerKey(lower);
+            } else {
+                higher = lane.buckets.higherKey(higher);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Smallest rating gap between the ticket and anyone in the bucket
+     */
+    private int gapToBucket(Ticket ticket, int bucket) {
+        int from = bucket * bucketWidth;
+        int to = from + bucketWidth - 1;
+        return ticket.rating < from ? from - ticket.rating : Math.max(0, ticket.rating - to);
+    }
+
+    /**
+     * Walk the bucket outward from the ticket's rating; the first acceptable candidate is the
+     * nearest-rated one. Only candidates that beat {@code best} are considered: nearer than
+     * {@code bestGap}, or as near and older.
+     */
+    private Ticket nearestAcceptable(TreeSet<Ticket> bucket, Ticket ticket, long now, Ticket best, int bestGap) {
+        Iterator<Ticket> down = bucket.headSet(ticket, false).descendingIterator();
+        Iterator<Ticket> up = bucket.tailSet(ticket, false).iterator();
+        Ticket below = next(down);
+        Ticket above = next(up);
+
+        while (below != null || above != null) {
+            int belowGap = below != null ? ticket.rating - below.rating : Integer.MAX_VALUE;
+            int aboveGap = above != null ? above.rating - ticket.rating : Integer.MAX_VALUE;
+            // On equal gaps take the older player
+            boolean takeBelow = belowGap < aboveGap || (belowGap == aboveGap && below.joinedAt <= above.joinedAt);
+            Ticket candidate = takeBelow ? below : above;
+            int gap = takeBelow ? belowGap : aboveGap;
+            if (gap > bestGap || (gap == bestGap && (best == null || candidate.joinedAt >= best.joinedAt))) {
+                return null;
+            }
+            if (accepts(ticket, candidate, gap, now)) {
+                return candidate;
+            }
+            if (takeBelow) {
+                below = next(down);
+            } else {
+                above = next(up);
+            }
+        }
+        return null;
+    }
+
+    private static Ticket next(Iterator<Ticket> iterator) {
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+    private boolean accepts(Ticket ticket, Ticket candidate, int gap, long now) {
+        return gap <= Math.max(windowOf(ticket, now), windowOf(candidate, now));
+    }
+
+    private int windowOf(Ticket ticket, long now) {
+        long waitedSeconds = (now - ticket.joinedAt) / 1000;
+        return (int) Math.min(maxWindow, baseWindow + waitedSeconds * widenPerSecond);
+    }
+
+    private static int ratingOf(Player player) {
+        return player.getRating() != null ? player.getRating() : Player.DEFAULT_RATING;
+    }
+
+    @Override
+    public boolean cancel(String nickname) {
+        Ticket ticket = members.get(nickname);
+        if (ticket == null) {
+            return false;
+        }
+
+        Lane lane = lanes.get(ticket.variant);
+        synchronized (lane) {
+            if (lane.remove(ticket)) {
+                members.remove(nickname, ticket);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    @Override
+    public List<Player> claimWaitingSince(GameVariant variant, long cutoffMillis) {
+        Lane lane = lanes.get(variant);
+        List<Player> claimed = new ArrayList<>();
+        synchronized (lane) {
+            Iterator<Ticket> iterator = lane.byJoinOrder.values().iterator();
+            while (iterator.hasNext()) {
+                Ticket ticket = iterator.next();
+                if (ticket.joinedAt >= cutoffMillis) {
+                    break;
+                }
+                iterator.remove();
+                lane.removeFromBucket(ticket);
+                members.remove(ticket.nickname, ticket);
+                metrics.recordMatchmakingWait(System.currentTimeMillis() - ticket.joinedAt);
+                claimed.add(ticket.player);
+            }
+        }
+        return claimed;
+    }
+
+    @Override
+    public boolean isWaiting(String nickname) {
+        return members.containsKey(nickname);
+    }
+
+    @Override
+    public Long getJoinedAt(String nickname) {
+        Ticket ticket = members.get(nickname);
+        return ticket != null ? ticket.joinedAt : null;
+    }
+
+    @Override
+    public int size() {
+        return members.size();
+    }
+
+    @Override
+    public List<String> getWaitingPlayers() {
+        return new ArrayList<>(members.keySet());
+    }
+
+    @Override
+    public List<String> clear() {
+        List<String> removed = new ArrayList<>();
+        for (String nickname : getWaitingPlayers()) {
+            if (cancel(nickname)) {
+                removed.add(nickname);
+            }
+        }
+        return removed;
+    }
+
+    private final class Ticket {
+        private final Player player;
+        private final String nickname;
+        private final GameVariant variant;
+        private final int rating;
+        private final int bucket;
+        private final long joinedAt;
+
+        private Ticket(Player player, GameVariant variant, int rating, long joinedAt) {
+            this.player = player;
+            this.nickname = player.getNickname();
+            this.variant = variant;
+            this.rating = rating;
+            this.bucket = Math.floorDiv(rating, bucketWidth);
+            this.joinedAt = joinedAt;
+        }
+    }
+
+    /**
+     * Per-variant pool; guarded by synchronizing on the lane
+     */
+    private static final class Lane {
+        private final TreeMap<Integer, TreeSet<Ticket>> buckets = new TreeMap<>();
+        private final LinkedHashMap<String, Ticket> byJoinOrder = new LinkedHashMap<>();
+
+        private void add(Ticket ticket) {
+            buckets.computeIfAbsent(ticket.bucket, b -> new TreeSet<>(BY_RATING)).add(ticket);
+            byJoinOrder.put(ticket.nickname, ticket);
+        }
+
+        private boolean remove(Ticket ticket) {
+            if (!byJoinOrder.remove(ticket.nickname, ticket)) {
+                return false;
+            }
+            removeFromBucket(ticket);
+            return true;
+        }
+
+        private void removeFromBucket(Ticket ticket) {
+            TreeSet<Ticket> bucket = buckets.get(ticket.bucket);
+            if (bucket != null) {
+                bucket.remove(ticket);
+                if (bucket.isEmpty()) {
+                    buckets.remove(ticket.bucket);
+                }
+            }
+        }
+    }
+}
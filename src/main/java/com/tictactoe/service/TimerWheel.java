@@ -0,0 +1,180 @@
+package com.tictactoe.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hashed timing wheel for coarse expiry timers (stale queue entries, idle players, game timeouts).
+ *
+ * Scheduling and cancelling are O(1): new timers go onto a lock-free queue that the wheel thread
+ * moves into slot {@code deadlineTick % slots} on its next tick, and cancelled timers are dropped
+ * when their slot is next visited. Each tick only touches one slot, so the cost of expiry is O(1)
+ * per timer regardless of how many are pending. Deadlines are rounded up to the tick.
+ */
+@Component
+@Slf4j
+public class TimerWheel {
+
+    /**
+     * Handle returned by {@link #schedule}
+     */
+    public interface Timeout {
+        /**
+         * Returns false if the timer already fired or was already cancelled
+         */
+        boolean cancel();
+    }
+
+    private final long tickMillis;
+    private final Queue<Entry>[] slots;
+    private final int mask;
+    private final Queue<Entry> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger scheduled = new AtomicInteger();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private volatile long startNanos;
+    private Thread worker;
+    private long tick;
+
+    @SuppressWarnings("unchecked")
+    public TimerWheel(@Value("${game.expiry.tick-ms:100}") long tickMillis,
+                      @Value("${game.expiry.wheel-slots:512}") int wheelSlots) {
+        this.tickMillis = tickMillis;
+        int size = Integer.highestOneBit(Math.max(2, wheelSlots - 1) << 1);
+        this.slots = new Queue[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new ArrayDeque<>();
+        }
+        this.mask = size - 1;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        startNanos = System.nanoTime();
+        worker = new Thread(this::run, "timer-wheel");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("⏱️ [TIMER-WHEEL] Started | Tick: {} ms | Slots: {}", tickMillis, slots.length);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running.set(false);
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * Run the task on the wheel thread after roughly delayMillis (rounded up to the next tick).
+     * Tasks should be short; anything slow belongs on another executor.
+     */
+    public Timeout schedule(Runnable task, long delayMillis) {
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        long deadlineTick = (elapsedMillis + Math.max(0, delayMillis) + tickMillis - 1) / tickMillis;
+        Entry entry = new Entry(task, deadlineTick);
+        scheduled.incrementAndGet();
+        pending.add(entry);
+        return entry;
+    }
+
+    /**
+     * Timers scheduled and not yet fired or cancelled
+     */
+    public int getPendingCount() {
+        return scheduled.get();
+    }
+
+    private void run() {
+        while (running.get()) {
+            long nextTickNanos = startNanos + TimeUnit.MILLISECONDS.toNanos((tick + 1) * tickMillis);
+            long sleepNanos = nextTickNanos - System.nanoTime();
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            tick++;
+            transferPending();
+            expire(slots[(int) (tick & mask)]);
+        }
+    }
+
+    private void transferPending() {
+        Entry entry;
+        while ((entry = pending.poll()) != null) {
+            if (entry.state.get() == Entry.CANCELLED) {
+                continue;
+            }
+            // Overdue timers fire on this tick
+            long deadlineTick = Math.max(entry.deadlineTick, tick);
+            entry.rounds = (deadlineTick - tick) / slots.length;
+            slots[(int) (deadlineTick & mask)].add(entry);
+        }
+    }
+
+    private void expire(Queue<Entry> slot) {
+        Iterator<Entry> iterator = slot.iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.state.get() == Entry.CANCELLED) {
+                iterator.remove();
+            } else if (entry.rounds > 0) {
+                entry.rounds--;
+            } else {
+                iterator.remove();
+                if (entry.state.compareAndSet(Entry.PENDING, Entry.FIRED)) {
+                    scheduled.decrementAndGet();
+                    try {
+                        entry.task.run();
+                    } catch (RuntimeException e) {
+                        log.error("❌ [TIMER-WHEEL] Timer task failed", e);
+                    }
+                }
+            }
+        }
+    }
+
+    private final class Entry implements Timeout {
+        private static final int PENDING = 0;
+        private static final int FIRED = 1;
+        private static final int CANCELLED = 2;
+
+        private final Runnable task;
+        private final long deadlineTick;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        // Only touched by the wheel thread
+        private long rounds;
+
+        private Entry(Runnable task, long deadlineTick) {
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (state.compareAndSet(PENDING, CANCELLED)) {
+                scheduled.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.tictactoe.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tictactoe.config.BinaryGameMessageConverter;
+import com.tictactoe.model.Game;
+import com.tictactoe.model.Player;
+import com.tictactoe.service.GameMetrics;
+import com.tictactoe.service.GameStatePublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Bytes allocated per game-state broadcast to /topic/game/{id} with n subscribers, through the
+ * simple broker and a STOMP encode per subscriber (what each WebSocket session does):
+ *  - legacy: build a GameStateResponse and convertAndSend it (Jackson runs on every send)
+ *  - new version: {@link GameStatePublisher} serializing a new state version
+ *  - resend: {@link GameStatePublisher} sending a version it already serialized
+ *
+ * Not part of the test suite; run main() after mvn test-compile.
+ */
+public class BroadcastAllocationBenchmark {
+
+    private static final int[] SUBSCRIBERS = {2, 100, 1_000};
+    private static final int BROADCASTS = 2_000;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) {
+        ObjectMapper objectMapper = new ObjectMapper();
+        Game game = newGame();
+        String topic = "/topic/game/" + game.getGameId();
+
+        for (int n : SUBSCRIBERS) {
+            ExecutorSubscribableChannel clientOutbound = new ExecutorSubscribableChannel();
+            StompEncoder encoder = new StompEncoder();
+            long[] encodedBytes = new long[1];
+            clientOutbound.subscribe(message -> {
+                if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+                    return;
+                }
+                // As StompSubProtocolHandler does for broker messages
+                StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+                accessor.updateStompCommandAsServerMessage();
+                encodedBytes[0] += encoder.encode(accessor.getMessageHeaders(), (byte[]) message.getPayload()).length;
+            });
+
+            ExecutorSubscribableChannel brokerChannel = new ExecutorSubscribableChannel();
+            SimpleBrokerMessageHandler broker = new SimpleBrokerMessageHandler(
+                    new ExecutorSubscribableChannel(), clientOutbound, brokerChannel, List.of("/topic"));
+            broker.start();
+            for (int i = 0; i < n; i++) {
+                broker.handleMessage(connect("session-" + i));
+                broker.handleMessage(subscribe("session-" + i, topic));
+            }
+
+            SimpMessagingTemplate template = new SimpMessagingTemplate(brokerChannel);
+            MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+            converter.setObjectMapper(objectMapper);
+            template.setMessageConverter(converter);
+            GameStatePublisher publisher = new GameStatePublisher(template, new BinaryGameMessageConverter(objectMapper),
+                    new GameMetrics(new SimpleMeterRegistry()));
+
+            long legacy = 0;
+            long newVersion = 0;
+            long resend = 0;
+            for (int round = 0; round < 2; round++) {
+                long begin = allocated();
+                for (int i = 0; i < BROADCASTS; i++) {
+                    template.convertAndSend(topic, GameStatePublisher.buildGameStateResponse(game, "Move successful"));
+                }
+                legacy = (allocated() - begin) / BROADCASTS;
+
+                begin = allocated();
+                for (int i = 0; i < BROADCASTS; i++) {
+                    game.setVersion(game.getVersion() + 1);
+                    publisher.publish(game, "Move successful");
+                }
+                newVersion = (allocated() - begin) / BROADCASTS;
+
+                begin = allocated();
+                for (int i = 0; i < BROADCASTS; i++) {
+                    publisher.publish(game, "Move successful");
+                }
+                resend = (allocated() - begin) / BROADCASTS;
+            }
+            broker.stop();
+
+            System.out.printf("%5d subscribers | legacy %,10d B | new version %,10d B | resend %,10d B"
+                            + " | per subscriber ~%,d B [%d]%n",
+                    n, legacy, newVersion, resend, resend / n, encodedBytes[0] & 1);
+        }
+    }
+
+    private static Game newGame() {
+        Game game = new Game("bench-game");
+        Player x = new Player();
+        x.setNickname("alice");
+        Player o = new Player();
+        o.setNickname("bob");
+        game.setPlayer1(x);
+        game.setPlayer2(o);
+        game.setStatus(Game.GameStatus.IN_PROGRESS);
+        game.snapshotStats();
+        game.makeMove(1, 1, "X");
+        return game;
+    }
+
+    // The broker only delivers to sessions it saw connect
+    private static Message<byte[]> connect(String sessionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.CONNECT);
+        accessor.setSessionId(sessionId);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Message<byte[]> subscribe(String sessionId, String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId("sub-0");
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static long allocated() {
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,160 @@
+package com.tictactoe.benchmark;
+
+import com.tictactoe.engine.BitboardEngine;
+import com.tictactoe.engine.BoardEngine;
+import com.tictactoe.model.Game;
+import com.tictactoe.service.GameActors;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Move throughput with 10k concurrent games, 9 move commands per game sent from 8 producer
+ * threads with the commands of every game spread across threads, comparing:
+ *  - per-game actors ({@link GameActors})
+ *  - a lock per game ({@code synchronized (game)}) on the producer threads
+ *
+ * Each command plays the first empty cell for whoever's turn it is, so every game must end
+ * with X winning on the 2-4-6 diagonal after 7 moves regardless of command order; any lost
+ * or interleaved update shows up as a wrong final board.
+ *
+ * Not part of the test suite; run main() after mvn test-compile.
+ */
+public class GameActorsBenchmark {
+
+    private static final int GAMES = 10_000;
+    private static final int COMMANDS_PER_GAME = 9;
+    private static final int PRODUCERS = 8;
+    private static final int ROUNDS = 10;
+
+    public static void main(String[] args) throws Exception {
+        GameActors actors = new GameActors(0, false);
+        try {
+            // Warm-up
+            runActors(actors);
+            runLocked();
+
+            long actorNanos = 0;
+            long lockedNanos = 0;
+            for (int round = 0; round < ROUNDS; round++) {
+                actorNanos += runActors(actors);
+                lockedNanos += runLocked();
+            }
+
+            long commands = (long) GAMES * COMMANDS_PER_GAME * ROUNDS;
+            System.out.printf("%d games x %d commands, %d producers, %d CPUs%n",
+                    GAMES, COMMANDS_PER_GAME, PRODUCERS, Runtime.getRuntime().availableProcessors());
+            System.out.printf("actors           %10.0f commands/s%n", commands / (actorNanos / 1e9));
+            System.out.printf("lock per game    %10.0f commands/s%n", commands / (lockedNanos / 1e9));
+        } finally {
+            actors.shutdown();
+        }
+    }
+
+    private static long runActors(GameActors actors) throws InterruptedException {
+        Game[] games = newGames();
+        for (Game game : games) {
+            actors.open(game.getGameId());
+        }
+        CountDownLatch applied = new CountDownLatch(GAMES * COMMANDS_PER_GAME);
+        long elapsed = produce(games, game -> actors.tell(game.getGameId(), () -> {
+            playNextMove(game);
+            applied.countDown();
+        }), () -> applied.await(60, TimeUnit.SECONDS));
+        verify(games);
+        for (Game game : games) {
+            actors.stop(game.getGameId());
+        }
+        return elapsed;
+    }
+
+    private static long runLocked() throws InterruptedException {
+        Game[] games = newGames();
+        long elapsed = produce(games, game -> {
+            synchronized (game) {
+                playNextMove(game);
+            }
+        }, () -> true);
+        verify(games);
+        return elapsed;
+    }
+
+    private interface Command {
+        void send(Game game);
+    }
+
+    private interface Completion {
+        boolean await() throws InterruptedException;
+    }
+
+    /**
+     * Producer p sends command c of game g when (g + c) % PRODUCERS == p,
+     * so every game receives commands from several threads
+     */
+    private static long produce(Game[] games, Command command, Completion completion)
+            throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(PRODUCERS);
+        for (int p = 0; p < PRODUCERS; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int c = 0; c < COMMANDS_PER_GAME; c++) {
+                        for (int g = 0; g < games.length; g++) {
+                            if ((g + c) % PRODUCERS == producer) {
+                                command.send(games[g]);
+                            }
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+            thread.start();
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        if (!completion.await()) {
+            throw new IllegalStateException("Commands did not finish");
+        }
+        return System.nanoTime() - begin;
+    }
+
+    private static Game[] newGames() {
+        Game[] games = new Game[GAMES];
+        for (int i = 0; i < GAMES; i++) {
+            games[i] = new Game("game-" + i);
+            games[i].setStatus(Game.GameStatus.IN_PROGRESS);
+        }
+        return games;
+    }
+
+    private static void playNextMove(Game game) {
+        if (game.getStatus() != Game.GameStatus.IN_PROGRESS) {
+            return;
+        }
+        BoardEngine engine = game.getEngine();
+        for (int cell = 0; cell < BitboardEngine.CELLS; cell++) {
+            int row = cell / BitboardEngine.SIZE;
+            int col = cell % BitboardEngine.SIZE;
+            if (engine.cellAt(row, col) != 'X' && engine.cellAt(row, col) != 'O') {
+                game.makeMove(row, col, game.getCurrentTurn());
+                return;
+            }
+        }
+    }
+
+    private static void verify(Game[] games) {
+        for (Game game : games) {
+            BitboardEngine engine = (BitboardEngine) game.getEngine();
+            if (!"X".equals(game.getWinner()) || engine.getXMask() != 0b001010101 || engine.getOMask() != 0b000101010) {
+                throw new IllegalStateException("Corrupted game " + game.getGameId() + ": " + engine);
+            }
+        }
+    }
+}
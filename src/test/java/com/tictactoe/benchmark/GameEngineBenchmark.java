@@ -0,0 +1,212 @@
+package com.tictactoe.benchmark;
+
+import com.tictactoe.engine.BitboardEngine;
+import com.tictactoe.engine.PackedBoardEngine;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Compares the legacy char[][] board with {@link BitboardEngine}.
+ * Plays the same pre-generated random games on both and reports time and allocation per game.
+ * Also reports per-move cost of {@link PackedBoardEngine} across board sizes.
+ *
+ * Not part of the test suite; run main() after mvn test-compile.
+ */
+public class GameEngineBenchmark {
+
+    private static final int GAMES = 10_000;
+    private static final int ROUNDS = 200;
+
+    public static void main(String[] args) {
+        int[][] games = randomGames(GAMES, 42);
+
+        // Warm up both paths before measuring
+        for (int i = 0; i < 20; i++) {
+            runLegacy(games);
+            runBitboard(games);
+        }
+
+        measure("legacy char[][]", () -> runLegacy(games));
+        measure("bitboard", () -> runBitboard(games));
+
+        measurePacked(3, 3);
+        measurePacked(15, 5);
+        measurePacked(101, 5);
+    }
+
+    private static void measurePacked(int size, int winLength) {
+        int[][] games = randomGames(1_000, size * size, 7);
+        for (int i = 0; i < 10; i++) {
+            runPacked(games, size, winLength);
+        }
+
+        long start = System.nanoTime();
+        long moves = 0;
+        for (int i = 0; i < 20; i++) {
+            moves += runPacked(games, size, winLength);
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("packed %3dx%-3d k=%d %8.1f ns/move%n", size, size, winLength, (double) elapsed / moves);
+    }
+
+    private static long runPacked(int[][] games, int size, int winLength) {
+        long moves = 0;
+        int sum = 0;
+        for (int[] cells : games) {
+            PackedBoardEngine engine = new PackedBoardEngine(size, winLength);
+            for (int cell : cells) {
+                engine.makeMove(cell / size, cell % size, engine.getTurn());
+                moves++;
+                if (engine.isFinished()) {
+                    break;
+                }
+            }
+            sum += engine.getOutcome();
+        }
+        checksum += sum;
+        return moves;
+    }
+
+    private static void measure(String name, Runnable round) {
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            round.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocatedBefore;
+
+        long totalGames = (long) GAMES * ROUNDS;
+        System.out.printf("%-16s %8.1f ns/game %8.1f bytes/game%n",
+                name, (double) elapsed / totalGames, (double) allocated / totalGames);
+    }
+
+    private static int checksum;
+
+    private static void runLegacy(int[][] games) {
+        int sum = 0;
+        for (int[] moves : games) {
+            LegacyBoard board = new LegacyBoard();
+            for (int cell : moves) {
+                board.makeMove(cell / 3, cell % 3, board.currentTurn);
+                if (board.winner != null) {
+                    break;
+                }
+            }
+            sum += board.winner == null ? 0 : board.winner.length();
+        }
+        checksum += sum;
+    }
+
+    private static void runBitboard(int[][] games) {
+        int sum = 0;
+        for (int[] moves : games) {
+            BitboardEngine engine = new BitboardEngine();
+            for (int cell : moves) {
+                engine.makeMove(cell, engine.getTurn());
+                if (engine.isFinished()) {
+                    break;
+                }
+            }
+            sum += engine.getOutcome();
+        }
+        checksum += sum;
+    }
+
+    private static int[][] randomGames(int count, long seed) {
+        return randomGames(count, BitboardEngine.CELLS, seed);
+    }
+
+    private static int[][] randomGames(int count, int cellCount, long seed) {
+        Random random = new Random(seed);
+        int[][] games = new int[count][];
+        for (int g = 0; g < count; g++) {
+            int[] cells = new int[cellCount];
+            for (int i = 0; i < cellCount; i++) {
+                cells[i] = i;
+            }
+            for (int i = cells.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int tmp = cells[i];
+                cells[i] = cells[j];
+                cells[j] = tmp;
+            }
+            games[g] = cells;
+        }
+        return games;
+    }
+
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean bean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * The board logic Game used before the bitboard engine, kept here as the baseline
+     */
+    private static final class LegacyBoard {
+        private final char[][] board = new char[3][3];
+        private String currentTurn = "X";
+        private String winner;
+
+        LegacyBoard() {
+            for (int i = 0; i < 3; i++) {
+                Arrays.fill(board[i], ' ');
+            }
+        }
+
+        boolean makeMove(int row, int col, String symbol) {
+            if (row < 0 || row > 2 || col < 0 || col > 2) {
+                return false;
+            }
+            if (board[row][col] != ' ') {
+                return false;
+            }
+            if (!currentTurn.equals(symbol)) {
+                return false;
+            }
+            board[row][col] = symbol.charAt(0);
+            currentTurn = currentTurn.equals("X") ? "O" : "X";
+            checkGameStatus();
+            return true;
+        }
+
+        private void checkGameStatus() {
+            for (int i = 0; i < 3; i++) {
+                if (board[i][0] != ' ' && board[i][0] == board[i][1] && board[i][1] == board[i][2]) {
+                    winner = String.valueOf(board[i][0]);
+                    return;
+                }
+            }
+            for (int i = 0; i < 3; i++) {
+                if (board[0][i] != ' ' && board[0][i] == board[1][i] && board[1][i] == board[2][i]) {
+                    winner = String.valueOf(board[0][i]);
+                    return;
+                }
+            }
+            if (board[0][0] != ' ' && board[0][0] == board[1][1] && board[1][1] == board[2][2]) {
+                winner = String.valueOf(board[0][0]);
+                return;
+            }
+            if (board[0][2] != ' ' && board[0][2] == board[1][1] && board[1][1] == board[2][0]) {
+                winner = String.valueOf(board[0][2]);
+                return;
+            }
+            boolean boardFull = true;
+            for (int i = 0; i < 3; i++) {
+                for (int j = 0; j < 3; j++) {
+                    if (board[i][j] == ' ') {
+                        boardFull = false;
+                        break;
+                    }
+                }
+            }
+            if (boardFull) {
+                winner = "DRAW";
+            }
+        }
+    }
+}
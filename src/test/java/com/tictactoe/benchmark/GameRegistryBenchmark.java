@@ -0,0 +1,106 @@
+package com.tictactoe.benchmark;
+
+import com.tictactoe.model.Game;
+import com.tictactoe.service.GameRegistry;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-player memory and lookup cost of {@link GameRegistry} with 1M tracked players, against the
+ * previous layout of one ConcurrentHashMap per attribute (game id, session id, join time, last activity)
+ * plus the activeGames map.
+ *
+ * Every player has a session, a join time and activity, and two players share each game.
+ * Nicknames, session ids and Game objects are allocated before the baseline is taken, so the
+ * figures are the cost of the bookkeeping only (including half a game entry per player).
+ *
+ * Not part of the test suite; run main() after mvn test-compile, with -Xmx2g or more.
+ */
+public class GameRegistryBenchmark {
+
+    private static final int PLAYERS = 1_000_000;
+    private static final int LOOKUPS = 10_000_000;
+
+    public static void main(String[] args) {
+        String[] nicknames = new String[PLAYERS];
+        String[] sessionIds = new String[PLAYERS];
+        Game[] games = new Game[PLAYERS / 2];
+        for (int i = 0; i < PLAYERS; i++) {
+            nicknames[i] = "player-" + i;
+            sessionIds[i] = "session-" + i;
+        }
+        for (int i = 0; i < games.length; i++) {
+            games[i] = new Game("game-" + i);
+        }
+
+        long before = usedHeap();
+        GameRegistry registry = new GameRegistry(64);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < PLAYERS; i++) {
+            registry.touch(nicknames[i], now);
+            registry.bindSession(nicknames[i], sessionIds[i]);
+            registry.setJoinedAt(nicknames[i], now);
+        }
+        for (int g = 0; g < games.length; g++) {
+            registry.putGame(games[g], nicknames[2 * g], nicknames[2 * g + 1]);
+        }
+        long registryBytes = usedHeap() - before;
+
+        before = usedHeap();
+        Map<String, Game> activeGames = new ConcurrentHashMap<>();
+        Map<String, String> playerToGameMap = new ConcurrentHashMap<>();
+        Map<String, String> playerSessions = new ConcurrentHashMap<>();
+        Map<String, Long> playerJoinTime = new ConcurrentHashMap<>();
+        Map<String, LocalDateTime> playerLastActivity = new ConcurrentHashMap<>();
+        for (int i = 0; i < PLAYERS; i++) {
+            activeGames.put(games[i / 2].getGameId(), games[i / 2]);
+            playerToGameMap.put(nicknames[i], games[i / 2].getGameId());
+            playerSessions.put(nicknames[i], sessionIds[i]);
+            playerJoinTime.put(nicknames[i], now);
+            playerLastActivity.put(nicknames[i], LocalDateTime.now());
+        }
+        long flatBytes = usedHeap() - before;
+
+        System.out.printf("%,d players%n", PLAYERS);
+        System.out.printf("registry (one record)   %6.1f bytes/player%n", (double) registryBytes / PLAYERS);
+        System.out.printf("flat maps (four maps)   %6.1f bytes/player%n", (double) flatBytes / PLAYERS);
+
+        // Lookups: the registry answers with one probe, the flat layout needs one per attribute
+        long sink = 0;
+        for (int warm = 0; warm < 2; warm++) {
+            long begin = System.nanoTime();
+            for (int n = 0; n < LOOKUPS; n++) {
+                GameRegistry.PlayerRecord record = registry.getPlayer(nicknames[(int) ((n * 7919L) % PLAYERS)]);
+                sink += record.getLastActivity() + record.getSessionIds().get(0).length();
+            }
+            long registryNanos = System.nanoTime() - begin;
+
+            begin = System.nanoTime();
+            for (int n = 0; n < LOOKUPS; n++) {
+                String nickname = nicknames[(int) ((n * 7919L) % PLAYERS)];
+                sink += playerLastActivity.get(nickname).getNano() + playerSessions.get(nickname).length();
+            }
+            long flatNanos = System.nanoTime() - begin;
+
+            if (warm == 1) {
+                System.out.printf("session+activity lookup: registry %5.1f ns, flat maps %5.1f ns [%d]%n",
+                        (double) registryNanos / LOOKUPS, (double) flatNanos / LOOKUPS, sink & 1);
+            }
+        }
+
+        // Keep both structures reachable until measured
+        if (registry.getPlayerCount() + activeGames.size() + playerToGameMap.size() + playerJoinTime.size() == 0) {
+            System.out.println();
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
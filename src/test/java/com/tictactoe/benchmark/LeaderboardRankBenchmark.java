@@ -0,0 +1,67 @@
+package com.tictactoe.benchmark;
+
+import com.tictactoe.model.Player;
+import com.tictactoe.service.LeaderboardIndex;
+
+import java.util.Random;
+
+/**
+ * "My rank" lookups with n ranked players: {@link LeaderboardIndex#rankOf} (order-statistic tree)
+ * against counting the players ahead with a full scan, the in-memory equivalent of
+ * {@code SELECT COUNT(*) ... WHERE total_score > ?}. Also times a result update (remove + insert).
+ *
+ * Not part of the test suite; run main() after mvn test-compile.
+ */
+public class LeaderboardRankBenchmark {
+
+    private static final int[] PLAYERS = {10_000, 100_000, 1_000_000};
+    private static final int QUERIES = 100_000;
+
+    public static void main(String[] args) {
+        for (int n : PLAYERS) {
+            Random random = new Random(42);
+            int[] scores = new int[n];
+            LeaderboardIndex index = new LeaderboardIndex(null);
+            for (int i = 0; i < n; i++) {
+                Player player = new Player();
+                player.setNickname("player-" + i);
+                player.setWins(random.nextInt(100));
+                player.setLosses(random.nextInt(100));
+                player.setDraws(random.nextInt(100));
+                player.setTotalScore(player.getWins() * Player.WIN_POINTS + player.getDraws() * Player.DRAW_POINTS);
+                scores[i] = player.getTotalScore();
+                index.put(player);
+            }
+
+            long sink = 0;
+            long begin = System.nanoTime();
+            for (int q = 0; q < QUERIES; q++) {
+                sink += index.rankOf("player-" + random.nextInt(n), 2).rank();
+            }
+            long treeNanos = System.nanoTime() - begin;
+
+            int scans = Math.max(10, QUERIES / (n / 1_000));
+            begin = System.nanoTime();
+            for (int q = 0; q < scans; q++) {
+                int score = scores[random.nextInt(n)];
+                int ahead = 0;
+                for (int s : scores) {
+                    if (s > score) {
+                        ahead++;
+                    }
+                }
+                sink += ahead;
+            }
+            long scanNanos = System.nanoTime() - begin;
+
+            begin = System.nanoTime();
+            for (int q = 0; q < QUERIES; q++) {
+                index.applyDelta("player-" + random.nextInt(n), 1, 0, 0, Player.WIN_POINTS);
+            }
+            long updateNanos = System.nanoTime() - begin;
+
+            System.out.printf("%,9d players | rank+window %6.2f us | count scan %9.2f us | update %5.2f us [%d]%n",
+                    n, treeNanos / 1e3 / QUERIES, scanNanos / 1e3 / scans, updateNanos / 1e3 / QUERIES, sink & 1);
+        }
+    }
+}
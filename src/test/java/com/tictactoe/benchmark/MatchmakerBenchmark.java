@@ -0,0 +1,136 @@
+package com.tictactoe.benchmark;
+
+import com.tictactoe.engine.GameVariant;
+import com.tictactoe.model.Player;
+import com.tictactoe.service.FifoMatchmaker;
+import com.tictactoe.service.GameMetrics;
+import com.tictactoe.service.Matchmaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Join throughput of {@link FifoMatchmaker} against the old synchronized LinkedList queue
+ * at 1, 8 and 64 threads. Every run also checks that no player is matched twice or with itself.
+ *
+ * Not part of the test suite; run main() after mvn test-compile.
+ */
+public class MatchmakerBenchmark {
+
+    private static final int JOINS = 400_000;
+    private static final int[] THREADS = {1, 8, 64};
+
+    public static void main(String[] args) throws Exception {
+        Player[] players = new Player[JOINS];
+        for (int i = 0; i < JOINS; i++) {
+            players[i] = new Player();
+            players[i].setNickname("player-" + i);
+        }
+
+        // Warm-up
+        run(players, 8, () -> {
+            Matchmaker matchmaker = new FifoMatchmaker(new GameMetrics(new SimpleMeterRegistry()));
+            return player -> matchmaker.join(player, GameVariant.CLASSIC);
+        });
+        run(players, 8, () -> new LegacyQueue()::join);
+
+        for (int threads : THREADS) {
+            report("legacy synchronized", threads, run(players, threads, () -> new LegacyQueue()::join));
+            report("lock-free", threads, run(players, threads, () -> {
+                Matchmaker matchmaker = new FifoMatchmaker(new GameMetrics(new SimpleMeterRegistry()));
+                return player -> matchmaker.join(player, GameVariant.CLASSIC);
+            }));
+        }
+    }
+
+    private static void report(String name, int threads, long nanos) {
+        System.out.printf("%-20s %3d threads %10.0f joins/s%n", name, threads, JOINS / (nanos / 1e9));
+    }
+
+    private static long run(Player[] players, int threads,
+                            Supplier<Function<Player, Matchmaker.Pairing>> factory)
+            throws InterruptedException {
+        Function<Player, Matchmaker.Pairing> join = factory.get();
+        List<List<Matchmaker.Pairing>> results = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+
+        for (int t = 0; t < threads; t++) {
+            List<Matchmaker.Pairing> pairings = new ArrayList<>();
+            results.add(pairings);
+            int from = t * (players.length / threads);
+            int to = t == threads - 1 ? players.length : from + players.length / threads;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = from; i < to; i++) {
+                        Matchmaker.Pairing pairing = join.apply(players[i]);
+                        if (pairing != null) {
+                            pairings.add(pairing);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+            thread.start();
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - begin;
+
+        verify(results);
+        return elapsed;
+    }
+
+    private static void verify(List<List<Matchmaker.Pairing>> results) {
+        Set<String> matched = new HashSet<>();
+        int pairs = 0;
+        for (List<Matchmaker.Pairing> pairings : results) {
+            for (Matchmaker.Pairing pairing : pairings) {
+                String first = pairing.first().getNickname();
+                String second = pairing.second().getNickname();
+                if (first.equals(second)) {
+                    throw new IllegalStateException("Self-match: " + first);
+                }
+                if (!matched.add(first) || !matched.add(second)) {
+                    throw new IllegalStateException("Double match: " + pairing);
+                }
+                pairs++;
+            }
+        }
+        if (JOINS - pairs * 2 > 1) {
+            throw new IllegalStateException("Unpaired players left: " + (JOINS - pairs * 2));
+        }
+    }
+
+    /**
+     * The pre-Matchmaker approach: one lock around an O(n) contains() and a LinkedList
+     */
+    private static final class LegacyQueue {
+        private final Queue<Player> waitingPlayers = new LinkedList<>();
+
+        synchronized Matchmaker.Pairing join(Player player) {
+            if (waitingPlayers.contains(player)) {
+                return null;
+            }
+            if (!waitingPlayers.isEmpty()) {
+                return new Matchmaker.Pairing(waitingPlayers.poll(), player, GameVariant.CLASSIC);
+            }
+            waitingPlayers.offer(player);
+            return null;
+        }
+    }
+}
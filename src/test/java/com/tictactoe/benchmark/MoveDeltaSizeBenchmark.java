@@ -0,0 +1,81 @@
+package com.tictactoe.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tictactoe.dto.MoveDelta;
+import com.tictactoe.engine.GameVariant;
+import com.tictactoe.model.Game;
+import com.tictactoe.model.Player;
+import com.tictactoe.service.GameStatePublisher;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * Outbound bytes per move on /topic/game/{id}, per subscriber: the full GameStateResponse that used
+ * to follow every move against a {@link MoveDelta}, as JSON and as the STOMP MESSAGE frame the
+ * session writes (headers as the simple broker sets them).
+ *
+ * Not part of the test suite; run main() after mvn test-compile.
+ */
+public class MoveDeltaSizeBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        StompEncoder encoder = new StompEncoder();
+
+        for (GameVariant variant : GameVariant.values()) {
+            Game game = newGame(variant);
+            int size = game.getEngine().getSize();
+            long fullJson = 0, fullFrame = 0, deltaJson = 0, deltaFrame = 0;
+            int moves = 0;
+
+            // Fill the board row by row until the game ends or every cell is taken
+            for (int cell = 0; cell < size * size && game.getStatus() == Game.GameStatus.IN_PROGRESS; cell++) {
+                String symbol = game.getCurrentTurn();
+                if (!game.makeMove(cell / size, cell % size, symbol)) {
+                    continue;
+                }
+                boolean over = game.getStatus() != Game.GameStatus.IN_PROGRESS;
+                byte[] full = objectMapper.writeValueAsBytes(
+                        GameStatePublisher.buildGameStateResponse(game, "Move successful"));
+                // The move that ends the game goes out as a full snapshot
+                byte[] delta = over ? full : objectMapper.writeValueAsBytes(
+                        new MoveDelta(game.getVersion(), cell, symbol, game.getCurrentTurn()));
+
+                fullJson += full.length;
+                fullFrame += frame(encoder, game, full);
+                deltaJson += delta.length;
+                deltaFrame += frame(encoder, game, delta);
+                moves++;
+            }
+
+            System.out.printf("%-14s %2d moves | JSON full %4d B, delta %3d B (%4.1fx) | frame full %4d B, delta %3d B (%4.1fx)%n",
+                    variant, moves,
+                    fullJson / moves, deltaJson / moves, (double) fullJson / deltaJson,
+                    fullFrame / moves, deltaFrame / moves, (double) fullFrame / deltaFrame);
+        }
+    }
+
+    private static Game newGame(GameVariant variant) {
+        Game game = new Game("0f8d0409-1af7-4df2-aa91-88ac70e6a2a8", variant);
+        Player x = new Player();
+        x.setNickname("alice561");
+        Player o = new Player();
+        o.setNickname("bob741");
+        game.setPlayer1(x);
+        game.setPlayer2(o);
+        game.setStatus(Game.GameStatus.IN_PROGRESS);
+        game.snapshotStats();
+        return game;
+    }
+
+    private static int frame(StompEncoder encoder, Game game, byte[] payload) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.MESSAGE);
+        accessor.setDestination("/topic/game/" + game.getGameId());
+        accessor.setSubscriptionId("sub-1");
+        accessor.setMessageId("a1b2c3d4-0001-0002-0003-00000000002a");
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        return encoder.encode(accessor.getMessageHeaders(), payload).length;
+    }
+}
@@ -0,0 +1,80 @@
+package com.tictactoe.benchmark;
+
+import com.tictactoe.engine.GameVariant;
+import com.tictactoe.model.Player;
+import com.tictactoe.service.GameMetrics;
+import com.tictactoe.service.Matchmaker;
+import com.tictactoe.service.RatingMatchmaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Cost of a join against {@link RatingMatchmaker} with 1k, 10k and 100k players already waiting,
+ * plus the cost of a sweep (which only retries players whose search window has widened).
+ *
+ * Waiting players are spread 1000 rating points apart so nobody pairs while the pool fills.
+ * Each measured join lands 10 points from a waiting player, pairs with them, and the pairing
+ * is undone by re-joining a fresh player at the same rating, keeping the pool size constant.
+ *
+ * Not part of the test suite; run main() after mvn test-compile.
+ */
+public class RatingMatchmakerBenchmark {
+
+    private static final int[] POOL_SIZES = {1_000, 10_000, 100_000};
+    private static final int MEASURED_JOINS = 200_000;
+
+    public static void main(String[] args) {
+        for (int poolSize : POOL_SIZES) {
+            measure(poolSize);
+        }
+    }
+
+    private static void measure(int poolSize) {
+        RatingMatchmaker matchmaker = new RatingMatchmaker(new GameMetrics(new SimpleMeterRegistry()), 50, 100, 25, 400);
+        for (int i = 0; i < poolSize; i++) {
+            matchmaker.join(player("waiting-" + i, ratingOf(i)), GameVariant.CLASSIC);
+        }
+
+        // Warm-up, then measure
+        long sink = joinAndRefill(matchmaker, poolSize, MEASURED_JOINS / 4, "warm");
+        long begin = System.nanoTime();
+        sink += joinAndRefill(matchmaker, poolSize, MEASURED_JOINS, "run");
+        long joinNanos = System.nanoTime() - begin;
+
+        if (matchmaker.size() != poolSize) {
+            throw new IllegalStateException("Pool size drifted: " + matchmaker.size());
+        }
+
+        begin = System.nanoTime();
+        int swept = matchmaker.sweep().size();
+        long sweepNanos = System.nanoTime() - begin;
+
+        System.out.printf("pool %7d | %6.0f ns per join+pair (2 joins) | sweep %7.2f ms (%d pairs) [%d]%n",
+                poolSize, (double) joinNanos / MEASURED_JOINS, sweepNanos / 1e6, swept, sink);
+    }
+
+    private static long joinAndRefill(RatingMatchmaker matchmaker, int poolSize, int joins, String tag) {
+        long paired = 0;
+        for (int n = 0; n < joins; n++) {
+            int i = n % poolSize;
+            Matchmaker.Pairing pairing = matchmaker.join(
+                    player(tag + "-joiner-" + n, ratingOf(i) + 10), GameVariant.CLASSIC);
+            if (pairing == null) {
+                throw new IllegalStateException("Expected a pairing near rating " + ratingOf(i));
+            }
+            paired++;
+            matchmaker.join(player(tag + "-refill-" + n, ratingOf(i)), GameVariant.CLASSIC);
+        }
+        return paired;
+    }
+
+    private static int ratingOf(int index) {
+        return index * 1000;
+    }
+
+    private static Player player(String nickname, int rating) {
+        Player player = new Player();
+        player.setNickname(nickname);
+        player.setRating(rating);
+        return player;
+    }
+}
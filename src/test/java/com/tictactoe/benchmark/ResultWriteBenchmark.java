@@ -0,0 +1,200 @@
+package com.tictactoe.benchmark;
+
+import com.tictactoe.TictactoeApplication;
+import com.tictactoe.model.Player;
+import com.tictactoe.repository.PlayerRepository;
+import com.tictactoe.service.GameResultWriter;
+import com.tictactoe.service.PlayerService;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Random;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * JDBC statements and round trips per recorded game (one winner, one loser, random pairs of 100 players):
+ *  - legacy: find + save of each player through JPA, one transaction per game
+ *  - writer: GameResultWriter, which locks the rows, reads ratings and applies both players' deltas
+ *    in one transaction, with {@code game.results.flush-size} of 1 and of 100
+ *
+ * A statement in a JDBC batch counts as a statement but not as a round trip. Boots the application on
+ * an in-memory H2 database with its DataSource wrapped to count calls.
+ * Not part of the test suite; run main() after mvn test-compile.
+ */
+public class ResultWriteBenchmark {
+
+    private static final int GAMES = 5_000;
+    private static final int PLAYERS = 100;
+
+    private static final LongAdder statements = new LongAdder();
+    private static final LongAdder roundTrips = new LongAdder();
+
+    public static void main(String[] args) throws InterruptedException {
+        for (int flushSize : new int[]{1, 100}) {
+            run(flushSize);
+        }
+    }
+
+    private static void run(int flushSize) throws InterruptedException {
+        // System properties, so they win over application.properties
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        System.setProperty("server.port", "0");
+        System.setProperty("spring.datasource.url", "jdbc:h2:mem:result-benchmark-" + flushSize + ";DB_CLOSE_ON_EXIT=FALSE");
+        System.setProperty("game.results.flush-size", String.valueOf(flushSize));
+        System.setProperty("game.results.flush-interval-ms", "1");
+        System.setProperty("logging.level.root", "WARN");
+        System.setProperty("logging.level.com.tictactoe", "WARN");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TictactoeApplication.class)
+                .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+                    @Override
+                    public Object postProcessAfterInitialization(Object bean, String beanName) {
+                        return bean instanceof DataSource dataSource ? counting(dataSource) : bean;
+                    }
+                }))
+                .run();
+        try {
+            PlayerService playerService = context.getBean(PlayerService.class);
+            PlayerRepository playerRepository = context.getBean(PlayerRepository.class);
+            GameResultWriter writer = context.getBean(GameResultWriter.class);
+            TransactionTemplate tx = context.getBean(TransactionTemplate.class);
+            for (int i = 0; i < PLAYERS; i++) {
+                playerService.createOrGetPlayer("player-" + i);
+            }
+
+            Random random = new Random(1);
+            for (int round = 0; round < 2; round++) {
+                reset();
+                long begin = System.nanoTime();
+                for (int i = 0; i < GAMES; i++) {
+                    String[] pair = pair(random);
+                    tx.executeWithoutResult(status -> {
+                        legacyRecord(playerRepository, pair[0], Player::addWin);
+                        legacyRecord(playerRepository, pair[1], Player::addLoss);
+                    });
+                }
+                long legacyNanos = System.nanoTime() - begin;
+                long legacyStatements = statements.sum();
+                long legacyRoundTrips = roundTrips.sum();
+
+                reset();
+                long target = (long) writer.getStats().get("written") + GAMES;
+                begin = System.nanoTime();
+                for (int i = 0; i < GAMES; i++) {
+                    String[] pair = pair(random);
+                    writer.submit(new GameResultWriter.GameResult(pair[0], pair[1], "X", System.currentTimeMillis()));
+                    if (flushSize == 1) {
+                        // One game per flush: wait for it, so batches never merge games
+                        awaitWritten(writer, target - GAMES + i + 1);
+                    }
+                }
+                awaitWritten(writer, target);
+                long writerNanos = System.nanoTime() - begin;
+
+                if (round == 1) {
+                    System.out.printf("legacy find+save:      %5.2f statements/game | %5.2f round trips/game | %6.1f us/game%n",
+                            (double) legacyStatements / GAMES, (double) legacyRoundTrips / GAMES, legacyNanos / 1e3 / GAMES);
+                    System.out.printf("writer, flush-size %-3d %5.2f statements/game | %5.2f round trips/game | %6.1f us/game%n",
+                            flushSize, (double) statements.sum() / GAMES, (double) roundTrips.sum() / GAMES,
+                            writerNanos / 1e3 / GAMES);
+                }
+            }
+
+            if ((long) writer.getStats().get("dropped") != 0) {
+                throw new IllegalStateException("Dropped results: " + writer.getStats());
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    /**
+     * The pre-change PlayerService.recordWin/recordLoss body
+     */
+    private static void legacyRecord(PlayerRepository repository, String nickname, Consumer<Player> outcome) {
+        Player player = repository.findByNickname(nickname)
+                .orElseThrow(() -> new RuntimeException("Player not found: " + nickname));
+        outcome.accept(player);
+        repository.save(player);
+    }
+
+    private static String[] pair(Random random) {
+        int first = random.nextInt(PLAYERS);
+        int second = (first + 1 + random.nextInt(PLAYERS - 1)) % PLAYERS;
+        return new String[]{"player-" + first, "player-" + second};
+    }
+
+    private static void awaitWritten(GameResultWriter writer, long target) throws InterruptedException {
+        while ((long) writer.getStats().get("written") < target) {
+            Thread.sleep(0, 100_000);
+        }
+    }
+
+    private static void reset() {
+        statements.reset();
+        roundTrips.reset();
+    }
+
+    private static DataSource counting(DataSource target) {
+        return proxy(DataSource.class, target, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            return result instanceof Connection connection ? countingConnection(connection) : result;
+        });
+    }
+
+    private static Connection countingConnection(Connection target) {
+        return proxy(Connection.class, target, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            return result instanceof Statement statement ? countingStatement(statement) : result;
+        });
+    }
+
+    /**
+     * Counts execute* calls as one statement and one round trip; executeBatch as one round trip and
+     * one statement per addBatch
+     */
+    private static Statement countingStatement(Statement target) {
+        LongAdder batched = new LongAdder();
+        Class<?> type = target instanceof CallableStatement ? CallableStatement.class
+                : target instanceof PreparedStatement ? PreparedStatement.class
+                : Statement.class;
+        return (Statement) Proxy.newProxyInstance(ResultWriteBenchmark.class.getClassLoader(),
+                new Class<?>[]{type}, (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.equals("addBatch")) {
+                        batched.increment();
+                    } else if (name.startsWith("executeBatch") || name.startsWith("executeLargeBatch")) {
+                        statements.add(batched.sumThenReset());
+                        roundTrips.increment();
+                    } else if (name.startsWith("execute")) {
+                        statements.increment();
+                        roundTrips.increment();
+                    }
+                    return invoke(target, method, args);
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(ResultWriteBenchmark.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.tictactoe.benchmark;
+
+import com.tictactoe.service.GameRegistry;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Time to disconnect every session after a mass reconnect (n players, one session each):
+ *  - legacy: scan the nickname -> session map for each disconnecting session (O(n) each)
+ *  - registry: reverse-index lookup per session, and the bulk path doing all of them in one pass
+ *
+ * Not part of the test suite; run main() after mvn test-compile.
+ */
+public class SessionDisconnectBenchmark {
+
+    private static final int[] SESSIONS = {1_000, 10_000, 50_000};
+
+    public static void main(String[] args) {
+        for (int n : SESSIONS) {
+            String[] nicknames = new String[n];
+            String[] sessionIds = new String[n];
+            for (int i = 0; i < n; i++) {
+                nicknames[i] = "player-" + i;
+                sessionIds[i] = "session-" + i;
+            }
+
+            Map<String, String> playerSessions = new ConcurrentHashMap<>();
+            for (int i = 0; i < n; i++) {
+                playerSessions.put(nicknames[i], sessionIds[i]);
+            }
+            long begin = System.nanoTime();
+            for (String sessionId : sessionIds) {
+                legacyUnregister(playerSessions, sessionId);
+            }
+            long legacyNanos = System.nanoTime() - begin;
+
+            GameRegistry registry = bind(nicknames, sessionIds);
+            begin = System.nanoTime();
+            for (String sessionId : sessionIds) {
+                registry.unbindSession(sessionId);
+            }
+            long singleNanos = System.nanoTime() - begin;
+
+            registry = bind(nicknames, sessionIds);
+            begin = System.nanoTime();
+            List<String> disconnected = registry.unbindSessions(Arrays.asList(sessionIds));
+            long bulkNanos = System.nanoTime() - begin;
+
+            if (disconnected.size() != n || registry.getPlayerCount() != 0 || !playerSessions.isEmpty()) {
+                throw new IllegalStateException("Sessions left behind");
+            }
+
+            System.out.printf("%6d sessions | legacy scan %9.2f ms | reverse index %6.2f ms | bulk %6.2f ms%n",
+                    n, legacyNanos / 1e6, singleNanos / 1e6, bulkNanos / 1e6);
+        }
+    }
+
+    private static GameRegistry bind(String[] nicknames, String[] sessionIds) {
+        GameRegistry registry = new GameRegistry(64);
+        for (int i = 0; i < nicknames.length; i++) {
+            registry.bindSession(nicknames[i], sessionIds[i]);
+        }
+        return registry;
+    }
+
+    /**
+     * The pre-registry GameService.unregisterPlayerSession lookup
+     */
+    private static void legacyUnregister(Map<String, String> playerSessions, String sessionId) {
+        String nickname = null;
+        for (Map.Entry<String, String> entry : playerSessions.entrySet()) {
+            if (entry.getValue().equals(sessionId)) {
+                nickname = entry.getKey();
+                break;
+            }
+        }
+        if (nickname != null) {
+            playerSessions.remove(nickname);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.tictactoe.benchmark;
+
+import com.tictactoe.config.PlayerPrincipal;
+import com.tictactoe.dto.MatchmakingResponse;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.simp.user.DefaultUserDestinationResolver;
+import org.springframework.messaging.simp.user.UserDestinationMessageHandler;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.messaging.DefaultSimpUserRegistry;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cost of sending one matchmaking message to one of n connected players through the simple broker:
+ *  - nickname queues: everyone subscribes to /queue/matchmaking-{nickname} and /queue/error-{nickname},
+ *    the server sends to the nickname's queue
+ *  - user destinations: everyone subscribes to /user/queue/matchmaking and /user/queue/error, the
+ *    server uses convertAndSendToUser (user registry lookup + session-suffixed broker destination)
+ * each with a destination cache sized for every player and with the broker's default (1024).
+ *
+ * Not part of the test suite; run main() after mvn test-compile.
+ */
+public class UserDestinationBenchmark {
+
+    private static final int PLAYERS = Integer.getInteger("players", 50_000);
+    // Misses in a small destination cache scan every subscription, so those runs send fewer
+    private static final int SENDS = 200_000;
+    private static final int SENDS_SMALL_CACHE = 2_000;
+
+    public static void main(String[] args) {
+        for (int cacheLimit : new int[]{4 * PLAYERS, 1024}) {
+            run("nickname queues", cacheLimit, false);
+            run("user destinations", cacheLimit, true);
+        }
+    }
+
+    private static void run(String label, int cacheLimit, boolean userDestinations) {
+        ExecutorSubscribableChannel clientInbound = new ExecutorSubscribableChannel();
+        ExecutorSubscribableChannel clientOutbound = new ExecutorSubscribableChannel();
+        ExecutorSubscribableChannel brokerChannel = new ExecutorSubscribableChannel();
+        LongAdder delivered = new LongAdder();
+        clientOutbound.subscribe(message -> delivered.increment());
+
+        SimpleBrokerMessageHandler broker = new SimpleBrokerMessageHandler(
+                clientInbound, clientOutbound, brokerChannel, List.of("/topic", "/queue"));
+        broker.setCacheLimit(cacheLimit);
+        broker.start();
+
+        DefaultSimpUserRegistry userRegistry = new DefaultSimpUserRegistry();
+        UserDestinationMessageHandler userHandler = new UserDestinationMessageHandler(
+                clientInbound, brokerChannel, new DefaultUserDestinationResolver(userRegistry));
+        userHandler.start();
+
+        // Route brokerChannel sends the way the real configuration does
+        brokerChannel.subscribe(broker);
+        brokerChannel.subscribe(userHandler);
+
+        SimpMessagingTemplate template = new SimpMessagingTemplate(brokerChannel);
+        template.setMessageConverter(new MappingJackson2MessageConverter());
+
+        long begin = System.nanoTime();
+        for (int i = 0; i < PLAYERS; i++) {
+            String nickname = "player-" + i;
+            String sessionId = "session-" + i;
+            if (userDestinations) {
+                Principal user = new PlayerPrincipal(nickname);
+                broker.handleMessage(connect(sessionId, user));
+                userRegistry.onApplicationEvent(new SessionConnectedEvent(broker, connected(sessionId, user), user));
+                userHandler.handleMessage(subscribe(sessionId, user, "/user/queue/matchmaking"));
+                userHandler.handleMessage(subscribe(sessionId, user, "/user/queue/error"));
+            } else {
+                broker.handleMessage(connect(sessionId, null));
+                broker.handleMessage(subscribe(sessionId, null, "/queue/matchmaking-" + nickname));
+                broker.handleMessage(subscribe(sessionId, null, "/queue/error-" + nickname));
+            }
+        }
+        double subscribeMs = (System.nanoTime() - begin) / 1e6;
+
+        MatchmakingResponse response = new MatchmakingResponse("WAITING", null, "Finding opponent...");
+        Random random = new Random(42);
+        int sends = cacheLimit < 2 * PLAYERS ? SENDS_SMALL_CACHE : SENDS;
+        double nanosPerSend = 0;
+        for (int round = 0; round < 2; round++) {
+            delivered.reset();
+            begin = System.nanoTime();
+            for (int i = 0; i < sends; i++) {
+                String nickname = "player-" + random.nextInt(PLAYERS);
+                if (userDestinations) {
+                    template.convertAndSendToUser(nickname, "/queue/matchmaking", response);
+                } else {
+                    template.convertAndSend("/queue/matchmaking-" + nickname, response);
+                }
+            }
+            nanosPerSend = (System.nanoTime() - begin) / (double) sends;
+        }
+        if (delivered.sum() != sends) {
+            throw new IllegalStateException(label + ": delivered " + delivered.sum() + " of " + sends);
+        }
+
+        System.out.printf("%-18s cache %,7d | %,d players subscribed in %,6.0f ms | send %,8.0f ns%n",
+                label, cacheLimit, PLAYERS, subscribeMs, nanosPerSend);
+        userHandler.stop();
+        broker.stop();
+    }
+
+    // The broker only delivers to sessions it saw connect
+    private static Message<byte[]> connect(String sessionId, Principal user) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.CONNECT);
+        accessor.setSessionId(sessionId);
+        accessor.setUser(user);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Message<byte[]> connected(String sessionId, Principal user) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.CONNECT_ACK);
+        accessor.setSessionId(sessionId);
+        accessor.setUser(user);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Message<byte[]> subscribe(String sessionId, Principal user, String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId("sub-" + destination.hashCode());
+        accessor.setDestination(destination);
+        accessor.setUser(user);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,300 @@
+package com.tictactoe.benchmark;
+
+import com.tictactoe.TictactoeApplication;
+import com.tictactoe.config.PlayerPrincipalInterceptor;
+import com.tictactoe.service.PlayerTokens;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Boots the application in pooled or virtual-thread mode and drives it with n players over STOMP
+ * (raw WebSocket endpoint, JSON): every player joins GOMOKU matchmaking, plays random free cells with
+ * a short think time, and rejoins when its game ends. Reports connections sustained, games started
+ * and the latency from sending a move to receiving its own delta (p50 / p99 / max).
+ *
+ * Usage: main [pooled|virtual] [players] [seconds]. Virtual mode needs a Java 21 runtime; run
+ * both modes on the same JDK to compare. Not part of the test suite; run main() after mvn test-compile.
+ */
+public class VirtualThreadLoadBenchmark {
+
+    private static final long THINK_TIME_MS = 20;
+
+    private final LongAdder connected = new LongAdder();
+    private final LongAdder connectFailures = new LongAdder();
+    private final LongAdder gamesStarted = new LongAdder();
+    private final LongAdder movesSent = new LongAdder();
+    private final long[] latencies = new long[2_000_000];
+    private final AtomicInteger latencyCount = new AtomicInteger();
+    private volatile boolean running = true;
+
+    private ScheduledExecutorService thinker;
+
+    public static void main(String[] args) throws Exception {
+        String mode = args.length > 0 ? args[0] : "pooled";
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+
+        // System properties, so they win over application.properties
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        System.setProperty("spring.threads.virtual.enabled", String.valueOf("virtual".equals(mode)));
+        System.setProperty("server.port", "0");
+        System.setProperty("spring.datasource.url", "jdbc:h2:mem:load-benchmark;DB_CLOSE_ON_EXIT=FALSE");
+        System.setProperty("game.bot.wait-threshold-ms", "600000");
+        System.setProperty("game.max.concurrent.games", String.valueOf(players));
+        System.setProperty("logging.level.root", "WARN");
+        System.setProperty("logging.level.com.tictactoe", "WARN");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TictactoeApplication.class).run();
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            new VirtualThreadLoadBenchmark().run(mode, "ws://localhost:" + port + "/ws-raw", players, seconds,
+                    context.getBean(PlayerTokens.class));
+        } finally {
+            context.close();
+        }
+    }
+
+    private void run(String mode, String url, int players, int seconds, PlayerTokens tokens) throws Exception {
+        WebSocketStompClient client = new WebSocketStompClient(new StandardWebSocketClient());
+        client.setMessageConverter(new MappingJackson2MessageConverter());
+        client.setInboundMessageSizeLimit(256 * 1024);
+        thinker = Executors.newScheduledThreadPool(4);
+
+        List<Player> all = new ArrayList<>();
+        List<CompletableFuture<?>> connecting = new ArrayList<>();
+        long begin = System.nanoTime();
+        for (int i = 0; i < players; i++) {
+            Player player = new Player("load-" + i, new Random(i));
+            all.add(player);
+            StompHeaders connectHeaders = new StompHeaders();
+            connectHeaders.add(PlayerPrincipalInterceptor.NICKNAME_HEADER, player.nickname);
+            // What POST /api/players hands out
+            connectHeaders.add(PlayerPrincipalInterceptor.TOKEN_HEADER, tokens.claim(player.nickname, null));
+            connecting.add(client.connectAsync(url, new WebSocketHttpHeaders(), connectHeaders,
+                    new StompSessionHandlerAdapter() {
+                    }).whenComplete((session, error) -> {
+                if (error != null) {
+                    connectFailures.increment();
+                } else {
+                    connected.increment();
+                    player.start(session);
+                }
+            }));
+        }
+        for (CompletableFuture<?> future : connecting) {
+            try {
+                future.get(30, TimeUnit.SECONDS);
+            } catch (Exception ignored) {
+                // counted in connectFailures
+            }
+        }
+        double connectSeconds = (System.nanoTime() - begin) / 1e9;
+
+        // Measure steady state only
+        Thread.sleep(3_000);
+        latencyCount.set(0);
+        long measuredMoves = movesSent.sum();
+        long measuredGames = gamesStarted.sum();
+        Thread.sleep(seconds * 1000L);
+        running = false;
+
+        int count = Math.min(latencyCount.get(), latencies.length);
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        System.out.printf("%-7s %,d players | connected %,d (failed %,d) in %.1f s | games started %,d"
+                        + " | moves %,d (%,.0f/s) | move->delta p50 %.2f ms, p99 %.2f ms, max %.2f ms (%s)%n",
+                mode, players, connected.sum(), connectFailures.sum(), connectSeconds,
+                gamesStarted.sum() - measuredGames, movesSent.sum() - measuredMoves,
+                count / (double) seconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 1.0),
+                Runtime.version());
+
+        thinker.shutdownNow();
+        for (Player player : all) {
+            player.stop();
+        }
+        client.stop();
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private final class Player {
+        private final String nickname;
+        private final Random random;
+        private StompSession session;
+
+        // Guarded by this
+        private String gameId;
+        private String symbol;
+        private int size;
+        private final BitSet taken = new BitSet();
+        private long version;
+        private long awaitedSeq = -1;
+        private long sentAt;
+
+        private Player(String nickname, Random random) {
+            this.nickname = nickname;
+            this.random = random;
+        }
+
+        void start(StompSession session) {
+            this.session = session;
+            session.subscribe("/user/queue/matchmaking", handler(this::onMatchmaking));
+            join();
+        }
+
+        void stop() {
+            if (session != null && session.isConnected()) {
+                session.disconnect();
+            }
+        }
+
+        private void join() {
+            if (running) {
+                session.send("/app/join", Map.of("nickname", nickname, "variant", "GOMOKU"));
+            }
+        }
+
+        private void onMatchmaking(Map<?, ?> response) {
+            if (!"STARTED".equals(response.get("status"))) {
+                return;
+            }
+            synchronized (this) {
+                gameId = (String) response.get("gameId");
+                symbol = null;
+                taken.clear();
+                awaitedSeq = -1;
+            }
+            gamesStarted.increment();
+            String subscribedTo = (String) response.get("gameId");
+            session.subscribe("/topic/game/" + subscribedTo, handler(event -> onGameEvent(subscribedTo, event)));
+        }
+
+        private void onGameEvent(String eventGameId, Map<?, ?> event) {
+            boolean myTurn;
+            boolean finished;
+            synchronized (this) {
+                if (!eventGameId.equals(gameId)) {
+                    return;
+                }
+                if (event.containsKey("board")) {
+                    applySnapshot(event);
+                } else {
+                    long seq = ((Number) event.get("seq")).longValue();
+                    if (seq == awaitedSeq) {
+                        recordLatency(System.nanoTime() - sentAt);
+                        awaitedSeq = -1;
+                    }
+                    taken.set(((Number) event.get("cell")).intValue());
+                    version = seq;
+                    event = Map.of("currentTurn", event.get("turn"), "status",
+                            event.get("status") != null ? event.get("status") : "IN_PROGRESS");
+                }
+                finished = !"IN_PROGRESS".equals(event.get("status"));
+                myTurn = !finished && symbol != null && symbol.equals(event.get("currentTurn"));
+                if (finished) {
+                    gameId = null;
+                }
+            }
+
+            if (finished) {
+                thinker.schedule(this::join, THINK_TIME_MS, TimeUnit.MILLISECONDS);
+            } else if (myTurn) {
+                thinker.schedule(this::move, THINK_TIME_MS, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        private void applySnapshot(Map<?, ?> state) {
+            version = ((Number) state.get("version")).longValue();
+            if (symbol == null) {
+                Map<?, ?> player1 = (Map<?, ?>) state.get("player1");
+                symbol = nickname.equals(player1.get("nickname")) ? "X" : "O";
+            }
+            List<?> rows = (List<?>) state.get("board");
+            size = rows.size();
+            taken.clear();
+            for (int row = 0; row < size; row++) {
+                String line = (String) rows.get(row);
+                for (int col = 0; col < size; col++) {
+                    if (line.charAt(col) != ' ') {
+                        taken.set(row * size + col);
+                    }
+                }
+            }
+        }
+
+        private void move() {
+            String game;
+            int cell;
+            synchronized (this) {
+                if (!running || gameId == null || awaitedSeq != -1) {
+                    return;
+                }
+                int free = size * size - taken.cardinality();
+                if (free == 0) {
+                    return;
+                }
+                cell = taken.nextClearBit(0);
+                for (int skip = random.nextInt(free); skip > 0; skip--) {
+                    cell = taken.nextClearBit(cell + 1);
+                }
+                game = gameId;
+                awaitedSeq = version + 1;
+                sentAt = System.nanoTime();
+            }
+            movesSent.increment();
+            session.send("/app/move", Map.of("gameId", game, "nickname", nickname,
+                    "row", cell / size, "col", cell % size, "variant", "GOMOKU"));
+        }
+    }
+
+    private void recordLatency(long nanos) {
+        int index = latencyCount.getAndIncrement();
+        if (index < latencies.length) {
+            latencies[index] = nanos;
+        }
+    }
+
+    private static StompFrameHandler handler(Consumer<Map<?, ?>> consumer) {
+        return new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return Map.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                consumer.accept((Map<?, ?>) payload);
+            }
+        };
+    }
+}
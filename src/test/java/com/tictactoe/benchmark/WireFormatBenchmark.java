@@ -0,0 +1,124 @@
+package com.tictactoe.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tictactoe.config.BinaryGameCodec;
+import com.tictactoe.dto.GameMoveRequest;
+import com.tictactoe.dto.MatchmakingResponse;
+import com.tictactoe.dto.MoveDelta;
+import com.tictactoe.engine.GameVariant;
+import com.tictactoe.model.Game;
+import com.tictactoe.model.Player;
+import com.tictactoe.service.GameStatePublisher;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Encode and decode cost and size of each game message in {@link BinaryGameCodec} against Jackson,
+ * plus the size of the STOMP frame that carries it. Every binary round trip is checked against
+ * the original first.
+ *
+ * Not part of the test suite; run main() after mvn test-compile.
+ */
+public class WireFormatBenchmark {
+
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 1_000_000;
+
+    public static void main(String[] args) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        String gameId = "0f8d0409-1af7-4df2-aa91-88ac70e6a2a8";
+
+        Map<String, Object> messages = new LinkedHashMap<>();
+        messages.put("GameMoveRequest", new GameMoveRequest(gameId, "alice561", 1, 2, null));
+        messages.put("MatchmakingResponse", new MatchmakingResponse("STARTED", gameId, "Opponent found! Starting game..."));
+        messages.put("MoveDelta", new MoveDelta(5L, 4, "O", "X"));
+        messages.put("GameState 3x3", GameStatePublisher.buildGameStateResponse(
+                midGame(gameId, GameVariant.CLASSIC), "Move successful"));
+        messages.put("GameState 15x15", GameStatePublisher.buildGameStateResponse(
+                midGame(gameId, GameVariant.GOMOKU), "Move successful"));
+
+        System.out.printf("%-20s | %-27s | %-27s | %-15s | %s%n",
+                "", "JSON  encode / decode", "binary encode / decode", "payload B", "STOMP frame B");
+        for (Map.Entry<String, Object> entry : messages.entrySet()) {
+            Object message = entry.getValue();
+            Class<?> type = message.getClass();
+            byte[] json = objectMapper.writeValueAsBytes(message);
+            byte[] binary = BinaryGameCodec.encode(message);
+            if (!message.equals(BinaryGameCodec.decode(binary, type))) {
+                throw new IllegalStateException("Binary round trip changed " + entry.getKey());
+            }
+
+            long sink = 0;
+            for (int i = 0; i < WARMUP; i++) {
+                sink += objectMapper.writeValueAsBytes(message).length + BinaryGameCodec.encode(message).length;
+                sink += objectMapper.readValue(json, type).hashCode() + BinaryGameCodec.decode(binary, type).hashCode();
+            }
+
+            long begin = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                sink += objectMapper.writeValueAsBytes(message).length;
+            }
+            double jsonEncode = (System.nanoTime() - begin) / (double) ITERATIONS;
+
+            begin = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                sink += objectMapper.readValue(json, type).hashCode();
+            }
+            double jsonDecode = (System.nanoTime() - begin) / (double) ITERATIONS;
+
+            begin = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                sink += BinaryGameCodec.encode(message).length;
+            }
+            double binaryEncode = (System.nanoTime() - begin) / (double) ITERATIONS;
+
+            begin = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                sink += BinaryGameCodec.decode(binary, type).hashCode();
+            }
+            double binaryDecode = (System.nanoTime() - begin) / (double) ITERATIONS;
+
+            System.out.printf("%-20s | %7.0f ns / %7.0f ns     | %7.0f ns / %7.0f ns     | %4d -> %4d    | %4d -> %4d [%d]%n",
+                    entry.getKey(), jsonEncode, jsonDecode, binaryEncode, binaryDecode,
+                    json.length, binary.length,
+                    frame(gameId, json, MimeTypeUtils.APPLICATION_JSON),
+                    frame(gameId, binary, BinaryGameCodec.MIME_TYPE), sink & 1);
+        }
+    }
+
+    private static Game midGame(String gameId, GameVariant variant) {
+        Game game = new Game(gameId, variant);
+        Player x = new Player();
+        x.setNickname("alice561");
+        Player o = new Player();
+        o.setNickname("bob741");
+        game.setPlayer1(x);
+        game.setPlayer2(o);
+        game.setStatus(Game.GameStatus.IN_PROGRESS);
+        game.snapshotStats();
+
+        // A handful of scattered moves that do not end the game
+        int size = variant.getSize();
+        int[][] moves = {{0, 0}, {size - 1, size - 1}, {size / 2, size / 2}, {0, size - 1}, {size - 1, 0}};
+        for (int[] move : moves) {
+            game.makeMove(move[0], move[1], game.getCurrentTurn());
+        }
+        return game;
+    }
+
+    // As sent by the broker to one subscriber of /topic/game/{id}
+    private static int frame(String gameId, byte[] payload, MimeType contentType) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.MESSAGE);
+        accessor.setDestination("/topic/game/" + gameId);
+        accessor.setSubscriptionId("sub-1");
+        accessor.setMessageId("a1b2c3d4-0001-0002-0003-00000000002a");
+        accessor.setContentType(contentType);
+        return new StompEncoder().encode(accessor.getMessageHeaders(), payload).length;
+    }
+}
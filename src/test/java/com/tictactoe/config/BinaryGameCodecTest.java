@@ -0,0 +1,102 @@
+package com.tictactoe.config;
+
+import com.tictactoe.dto.GameMoveRequest;
+import com.tictactoe.dto.GameStateResponse;
+import com.tictactoe.dto.MatchmakingResponse;
+import com.tictactoe.dto.MoveDelta;
+import com.tictactoe.engine.GameVariant;
+import com.tictactoe.model.PlayerStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BinaryGameCodecTest {
+
+    private static final String GAME_ID = UUID.randomUUID().toString();
+
+    @Test
+    void roundTripsMoveRequest() {
+        GameMoveRequest request = new GameMoveRequest(GAME_ID, "alice", 2, 1, GameVariant.GOMOKU);
+
+        assertThat(roundTrip(request, GameMoveRequest.class)).isEqualTo(request);
+    }
+
+    @Test
+    void roundTripsMoveRequestWithNegativeCellAndNoVariant() {
+        GameMoveRequest request = new GameMoveRequest("not-a-uuid", "bob", -1, Integer.MIN_VALUE, null);
+
+        assertThat(roundTrip(request, GameMoveRequest.class)).isEqualTo(request);
+    }
+
+    @Test
+    void roundTripsGameState() {
+        char[][] board = {
+                {'X', ' ', 'O'},
+                {' ', 'X', ' '},
+                {'O', ' ', 'X'}
+        };
+        GameStateResponse state = new GameStateResponse(GAME_ID, 7L, board, "O", "FINISHED", "X",
+                new PlayerStats("alice", "X", 3, 1, 2), new PlayerStats("bob", "O", 0, 4, 2), "X wins");
+
+        assertThat(roundTrip(state, GameStateResponse.class)).isEqualTo(state);
+    }
+
+    @Test
+    void roundTripsGameStateWithNullPlayerStats() {
+        char[][] board = new char[GameVariant.GOMOKU.getSize()][GameVariant.GOMOKU.getSize()];
+        for (char[] row : board) {
+            Arrays.fill(row, ' ');
+        }
+        board[7][7] = 'X';
+        board[14][0] = 'O';
+        GameStateResponse state = new GameStateResponse(GAME_ID, 0L, board, "X", "IN_PROGRESS", null,
+                new PlayerStats("alice", "X", 0, 0, 0), null, null);
+
+        assertThat(roundTrip(state, GameStateResponse.class)).isEqualTo(state);
+
+        GameStateResponse empty = new GameStateResponse();
+        assertThat(roundTrip(empty, GameStateResponse.class)).isEqualTo(empty);
+    }
+
+    @Test
+    void roundTripsMatchmakingResponse() {
+        MatchmakingResponse started = new MatchmakingResponse("STARTED", GAME_ID, "Game started");
+        MatchmakingResponse queued = new MatchmakingResponse("QUEUED", null, "Server is full", 3, 1_500L);
+        MatchmakingResponse firstInQueue = new MatchmakingResponse("QUEUED", null, null, 1, 0L);
+
+        assertThat(roundTrip(started, MatchmakingResponse.class)).isEqualTo(started);
+        assertThat(roundTrip(queued, MatchmakingResponse.class)).isEqualTo(queued);
+        assertThat(roundTrip(firstInQueue, MatchmakingResponse.class)).isEqualTo(firstInQueue);
+    }
+
+    @Test
+    void roundTripsMoveDelta() {
+        MoveDelta move = new MoveDelta(12L, 4, "X", "O");
+        MoveDelta gomokuMove = new MoveDelta(300L, 224, "O", "X");
+
+        assertThat(roundTrip(move, MoveDelta.class)).isEqualTo(move);
+        assertThat(roundTrip(gomokuMove, MoveDelta.class)).isEqualTo(gomokuMove);
+    }
+
+    @Test
+    void rejectsUnsupportedAndMismatchedTypes() {
+        assertThat(BinaryGameCodec.supports(String.class)).isFalse();
+        assertThatThrownBy(() -> BinaryGameCodec.encode("hello"))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        byte[] delta = BinaryGameCodec.encode(new MoveDelta(1L, 0, "X", "O"));
+        assertThatThrownBy(() -> BinaryGameCodec.decode(delta, GameStateResponse.class))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BinaryGameCodec.decode(new byte[]{BinaryGameCodec.GAME_STATE}, GameStateResponse.class))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static <T> T roundTrip(T payload, Class<T> type) {
+        assertThat(BinaryGameCodec.supports(type)).isTrue();
+        return BinaryGameCodec.decode(BinaryGameCodec.encode(payload), type);
+    }
+}
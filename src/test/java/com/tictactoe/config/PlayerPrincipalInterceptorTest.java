@@ -0,0 +1,73 @@
+package com.tictactoe.config;
+
+import com.tictactoe.service.PlayerTokens;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PlayerPrincipalInterceptorTest {
+
+    private final PlayerTokens tokens = new PlayerTokens();
+    private final PlayerPrincipalInterceptor interceptor = new PlayerPrincipalInterceptor(tokens);
+
+    @Test
+    void namesTheUserWhenTheTokenMatches() {
+        String token = tokens.claim("alice", null);
+
+        Message<?> connected = interceptor.preSend(connect("s1", " alice ", token), null);
+
+        assertThat(StompHeaderAccessor.wrap(connected).getUser()).isEqualTo(new PlayerPrincipal("alice"));
+    }
+
+    @Test
+    void refusesAClientWithoutTheToken() {
+        String token = tokens.claim("alice", null);
+        interceptor.preSend(connect("s1", "alice", token), null);
+
+        assertThatThrownBy(() -> interceptor.preSend(connect("s2", "alice", null), null))
+                .isInstanceOf(MessageDeliveryException.class);
+        assertThatThrownBy(() -> interceptor.preSend(connect("s2", "alice", "forged"), null))
+                .isInstanceOf(MessageDeliveryException.class);
+        assertThatThrownBy(() -> interceptor.preSend(connect("s2", "nobody", token), null))
+                .isInstanceOf(MessageDeliveryException.class);
+    }
+
+    @Test
+    void releasesTheNicknameOnDisconnect() {
+        String token = tokens.claim("alice", null);
+        interceptor.preSend(connect("s1", "alice", token), null);
+        assertThat(tokens.claim("alice", null)).isNull();
+
+        StompHeaderAccessor disconnect = StompHeaderAccessor.create(StompCommand.DISCONNECT);
+        disconnect.setSessionId("s1");
+        interceptor.preSend(MessageBuilder.createMessage(new byte[0], disconnect.getMessageHeaders()), null);
+
+        assertThat(tokens.claim("alice", null)).isNotNull();
+    }
+
+    @Test
+    void leavesAConnectWithoutANicknameAnonymous() {
+        Message<?> connected = interceptor.preSend(connect("s1", null, null), null);
+
+        assertThat(StompHeaderAccessor.wrap(connected).getUser()).isNull();
+    }
+
+    private static Message<byte[]> connect(String sessionId, String nickname, String token) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        accessor.setSessionId(sessionId);
+        if (nickname != null) {
+            accessor.addNativeHeader(PlayerPrincipalInterceptor.NICKNAME_HEADER, nickname);
+        }
+        if (token != null) {
+            accessor.addNativeHeader(PlayerPrincipalInterceptor.TOKEN_HEADER, token);
+        }
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
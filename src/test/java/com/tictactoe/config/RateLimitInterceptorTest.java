@@ -0,0 +1,177 @@
+package com.tictactoe.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RateLimitInterceptorTest {
+
+    private final SimpMessagingTemplate template = mock(SimpMessagingTemplate.class);
+
+    @Test
+    void destinationBucketsHoldTheirBurstAndNoMore() {
+        // 1 a second: nothing refills within the test
+        RateLimitInterceptor limiter = limiter(100, 100, 1, 3, 1, 2);
+        connect(limiter, "s1");
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(send(limiter, "s1", "/app/join")).isNotNull();
+        }
+        assertThat(send(limiter, "s1", "/app/join")).isNull();
+
+        // Other destinations have their own bucket
+        assertThat(send(limiter, "s1", "/app/move")).isNotNull();
+        assertThat(send(limiter, "s1", "/app/move")).isNotNull();
+        assertThat(send(limiter, "s1", "/app/move")).isNull();
+        assertThat(send(limiter, "s1", "/app/resync")).as("no bucket of its own").isNotNull();
+
+        assertThat(rejected(limiter)).containsEntry("/app/join", 1L).containsEntry("/app/move", 1L)
+                .containsEntry("session", 0L);
+    }
+
+    @Test
+    void sessionBucketCoversEverySendAndSubscribe() {
+        RateLimitInterceptor limiter = limiter(1, 4, 100, 100, 100, 100);
+        connect(limiter, "s1");
+
+        assertThat(subscribe(limiter, "s1")).isNotNull();
+        assertThat(send(limiter, "s1", "/app/move")).isNotNull();
+        assertThat(send(limiter, "s1", "/app/resync")).isNotNull();
+        assertThat(subscribe(limiter, "s1")).isNotNull();
+        assertThat(send(limiter, "s1", "/app/resync")).isNull();
+        assertThat(subscribe(limiter, "s1")).isNull();
+
+        assertThat(rejected(limiter)).containsEntry("session", 2L);
+    }
+
+    @Test
+    void refillsAtTheConfiguredRate() throws InterruptedException {
+        // One token every 50 ms, at most 2
+        RateLimitInterceptor limiter = limiter(100, 100, 100, 100, 20, 2);
+        connect(limiter, "s1");
+        assertThat(send(limiter, "s1", "/app/move")).isNotNull();
+        assertThat(send(limiter, "s1", "/app/move")).isNotNull();
+        assertThat(send(limiter, "s1", "/app/move")).isNull();
+
+        Thread.sleep(60);
+        assertThat(send(limiter, "s1", "/app/move")).isNotNull();
+        assertThat(send(limiter, "s1", "/app/move")).as("one token back, not the burst").isNull();
+
+        // Idle time beyond the burst does not bank more tokens
+        Thread.sleep(300);
+        assertThat(send(limiter, "s1", "/app/move")).isNotNull();
+        assertThat(send(limiter, "s1", "/app/move")).isNotNull();
+        assertThat(send(limiter, "s1", "/app/move")).isNull();
+    }
+
+    @Test
+    void keepsBucketsPerSessionUntilDisconnect() {
+        RateLimitInterceptor limiter = limiter(100, 100, 1, 1, 100, 100);
+        connect(limiter, "s1");
+        connect(limiter, "s2");
+
+        assertThat(send(limiter, "s1", "/app/join")).isNotNull();
+        assertThat(send(limiter, "s1", "/app/join")).isNull();
+        assertThat(send(limiter, "s2", "/app/join")).isNotNull();
+        assertThat(limiter.getStats()).containsEntry("trackedSessions", 2);
+
+        limiter.preSend(message(SimpMessageType.DISCONNECT, "s1", null), null);
+        assertThat(limiter.getStats()).containsEntry("trackedSessions", 1);
+        // A session without buckets (never connected, or already gone) is not limited
+        assertThat(send(limiter, "s1", "/app/join")).isNotNull();
+
+        // Reconnecting starts full again
+        connect(limiter, "s2");
+        assertThat(send(limiter, "s2", "/app/join")).isNotNull();
+    }
+
+    @Test
+    void tellsTheUserAtMostOnceASecond() throws InterruptedException {
+        RateLimitInterceptor limiter = limiter(100, 100, 1, 1, 100, 100);
+        connect(limiter, "s1");
+        send(limiter, "s1", "/app/join");
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(send(limiter, "s1", "/app/join")).isNull();
+        }
+        verify(template, times(1)).convertAndSendToUser(eq("alice"), eq("/queue/error"), any(Object.class));
+
+        Thread.sleep(1_050);
+        // One join token is back: spend it, then the next rejection is a second later than the first
+        send(limiter, "s1", "/app/join");
+        assertThat(send(limiter, "s1", "/app/join")).isNull();
+        verify(template, times(2)).convertAndSendToUser(eq("alice"), eq("/queue/error"), any(Object.class));
+    }
+
+    @Test
+    void passesEverythingWhenDisabled() {
+        RateLimitInterceptor limiter = new RateLimitInterceptor(provider(), false, 1, 1, 1, 1, 1, 1, 1, 1);
+        connect(limiter, "s1");
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(send(limiter, "s1", "/app/join")).isNotNull();
+        }
+        assertThat(limiter.getStats()).containsEntry("trackedSessions", 0);
+    }
+
+    @Test
+    void rejectsLimitsThatCouldNeverAdmitAFrame() {
+        assertThatThrownBy(() -> limiter(0, 10, 1, 1, 1, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> limiter(10, 0, 1, 1, 1, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private RateLimitInterceptor limiter(double sessionRate, int sessionBurst, double joinRate, int joinBurst,
+                                         double moveRate, int moveBurst) {
+        return new RateLimitInterceptor(provider(), true, sessionRate, sessionBurst, joinRate, joinBurst,
+                moveRate, moveBurst, 100, 100);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ObjectProvider<SimpMessagingTemplate> provider() {
+        ObjectProvider<SimpMessagingTemplate> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(template);
+        return provider;
+    }
+
+    private static void connect(RateLimitInterceptor limiter, String sessionId) {
+        limiter.preSend(message(SimpMessageType.CONNECT, sessionId, null), null);
+    }
+
+    private static Message<?> send(RateLimitInterceptor limiter, String sessionId, String destination) {
+        return limiter.preSend(message(SimpMessageType.MESSAGE, sessionId, destination), null);
+    }
+
+    private static Message<?> subscribe(RateLimitInterceptor limiter, String sessionId) {
+        return limiter.preSend(message(SimpMessageType.SUBSCRIBE, sessionId, "/topic/game/g1"), null);
+    }
+
+    private static Message<byte[]> message(SimpMessageType type, String sessionId, String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(type);
+        accessor.setSessionId(sessionId);
+        accessor.setUser(new PlayerPrincipal("alice"));
+        if (destination != null) {
+            accessor.setDestination(destination);
+        }
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> rejected(RateLimitInterceptor limiter) {
+        return (Map<String, Object>) limiter.getStats().get("rejected");
+    }
+}
@@ -0,0 +1,92 @@
+package com.tictactoe.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tictactoe.dto.MoveDelta;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WireFormatInterceptorTest {
+
+    private static final String DESTINATION = "/topic/game/g1";
+
+    private final WireFormatInterceptor interceptor = new WireFormatInterceptor();
+    private final BinaryGameMessageConverter converter = new BinaryGameMessageConverter(new ObjectMapper());
+
+    @Test
+    void jsonSessionsNeverEncodeTheBinaryForm() {
+        connect("json", true, false);
+        connect("sockjs", false, true);
+        Message<byte[]> broadcast = converter.withBinaryAlternative(new MoveDelta(3L, 4, "X", "O"), null);
+
+        Message<?> json = interceptor.preSend(deliver(broadcast, "json"), null);
+        Message<?> sockJs = interceptor.preSend(deliver(broadcast, "sockjs"), null);
+
+        assertThat(json.getPayload()).isSameAs(broadcast.getPayload());
+        assertThat(sockJs.getPayload()).isSameAs(broadcast.getPayload());
+        assertThat(lazyBinary(broadcast).isEncoded()).isFalse();
+        assertThat(interceptor.binarySessionCount()).isZero();
+    }
+
+    @Test
+    void binarySessionsShareOneEncodingPerBroadcast() {
+        connect("tab-1", true, true);
+        connect("tab-2", true, true);
+        MoveDelta delta = new MoveDelta(3L, 4, "X", "O");
+        Message<byte[]> broadcast = converter.withBinaryAlternative(delta, null);
+
+        Message<?> first = interceptor.preSend(deliver(broadcast, "tab-1"), null);
+        Message<?> second = interceptor.preSend(deliver(broadcast, "tab-2"), null);
+
+        assertThat(first.getPayload()).isEqualTo(BinaryGameCodec.encode(delta));
+        assertThat(second.getPayload()).isSameAs(first.getPayload());
+        assertThat(first.getHeaders()).doesNotContainKey(WireFormatInterceptor.BINARY_PAYLOAD_HEADER);
+        assertThat(SimpMessageHeaderAccessor.wrap(first).getContentType()).isEqualTo(BinaryGameCodec.MIME_TYPE);
+    }
+
+    @Test
+    void disconnectedSessionsGoBackToJson() {
+        connect("tab-1", true, true);
+        StompHeaderAccessor disconnect = StompHeaderAccessor.create(StompCommand.DISCONNECT);
+        disconnect.setSessionId("tab-1");
+        interceptor.preSend(MessageBuilder.createMessage(new byte[0], disconnect.getMessageHeaders()), null);
+
+        assertThat(interceptor.isBinary("tab-1")).isFalse();
+    }
+
+    private void connect(String sessionId, boolean rawWebSocket, boolean asksForBinary) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        accessor.setSessionId(sessionId);
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(WireFormatInterceptor.RAW_WEBSOCKET_ATTRIBUTE, rawWebSocket);
+        accessor.setSessionAttributes(attributes);
+        if (asksForBinary) {
+            accessor.addNativeHeader(WireFormatInterceptor.WIRE_FORMAT_HEADER, WireFormatInterceptor.BINARY);
+        }
+        interceptor.preSend(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()), null);
+        assertThat(interceptor.isBinary(sessionId)).isEqualTo(rawWebSocket && asksForBinary);
+    }
+
+    // The per-subscriber copy the simple broker sends
+    private static Message<byte[]> deliver(Message<byte[]> broadcast, String sessionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setDestination(DESTINATION);
+        accessor.setHeader(WireFormatInterceptor.BINARY_PAYLOAD_HEADER,
+                broadcast.getHeaders().get(WireFormatInterceptor.BINARY_PAYLOAD_HEADER));
+        return MessageBuilder.createMessage(broadcast.getPayload(), accessor.getMessageHeaders());
+    }
+
+    private static BinaryGameMessageConverter.LazyBinary lazyBinary(Message<?> message) {
+        return (BinaryGameMessageConverter.LazyBinary) message.getHeaders().get(WireFormatInterceptor.BINARY_PAYLOAD_HEADER);
+    }
+}
@@ -0,0 +1,176 @@
+package com.tictactoe.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BitboardEngineTest {
+
+    @Test
+    void detectsEveryWinningLine() {
+        int[][][] lines = {
+                {{0, 0}, {0, 1}, {0, 2}}, {{1, 0}, {1, 1}, {1, 2}}, {{2, 0}, {2, 1}, {2, 2}},
+                {{0, 0}, {1, 0}, {2, 0}}, {{0, 1}, {1, 1}, {2, 1}}, {{0, 2}, {1, 2}, {2, 2}},
+                {{0, 0}, {1, 1}, {2, 2}}, {{0, 2}, {1, 1}, {2, 0}}
+        };
+        for (int[][] line : lines) {
+            BitboardEngine engine = new BitboardEngine();
+            int[][] others = emptyCellsOff(line);
+            for (int i = 0; i < 3; i++) {
+                assertThat(engine.getOutcome()).isEqualTo(BoardEngine.IN_PROGRESS);
+                assertThat(engine.makeMove(line[i][0], line[i][1], BoardEngine.X)).isTrue();
+                if (i < 2) {
+                    assertThat(engine.makeMove(others[i][0], others[i][1], BoardEngine.O)).isTrue();
+                }
+            }
+            assertThat(engine.getOutcome()).as("line %s", Arrays.deepToString(line)).isEqualTo(BoardEngine.X_WINS);
+        }
+    }
+
+    @Test
+    void detectsADrawOnAFullBoard() {
+        // X O X / X O O / O X X
+        int[][] moves = {{0, 0}, {0, 1}, {0, 2}, {1, 1}, {1, 0}, {1, 2}, {2, 1}, {2, 0}, {2, 2}};
+        BitboardEngine engine = new BitboardEngine();
+        for (int i = 0; i < moves.length; i++) {
+            assertThat(engine.getOutcome()).isEqualTo(BoardEngine.IN_PROGRESS);
+            assertThat(engine.makeMove(moves[i][0], moves[i][1], i % 2)).isTrue();
+        }
+        assertThat(engine.getOutcome()).isEqualTo(BoardEngine.DRAW);
+    }
+
+    @Test
+    void rejectsIllegalMoves() {
+        BitboardEngine engine = new BitboardEngine();
+
+        assertThat(engine.makeMove(-1, 0, BoardEngine.X)).isFalse();
+        assertThat(engine.makeMove(0, 3, BoardEngine.X)).isFalse();
+        assertThat(engine.makeMove(0, 0, BoardEngine.O)).as("wrong turn").isFalse();
+        assertThat(engine.makeMove(0, 0, BoardEngine.X)).isTrue();
+        assertThat(engine.makeMove(0, 0, BoardEngine.O)).as("occupied").isFalse();
+        assertThat(engine.getTurn()).isEqualTo(BoardEngine.O);
+        assertThat(engine.getXMask()).isEqualTo(1);
+        assertThat(engine.getOMask()).isZero();
+    }
+
+    @Test
+    void rejectsMovesOnceDecided() {
+        BitboardEngine engine = new BitboardEngine();
+        engine.makeMove(0, 0, BoardEngine.X);
+        engine.makeMove(1, 0, BoardEngine.O);
+        engine.makeMove(0, 1, BoardEngine.X);
+        engine.makeMove(1, 1, BoardEngine.O);
+        engine.makeMove(0, 2, BoardEngine.X);
+
+        assertThat(engine.getOutcome()).isEqualTo(BoardEngine.X_WINS);
+        assertThat(engine.makeMove(2, 2, BoardEngine.O)).isFalse();
+        assertThat(engine.cellAt(2, 2)).isEqualTo(' ');
+    }
+
+    @Test
+    void agreesWithTheOriginalRulesOnEveryGame() {
+        // Walks every legal 3x3 game, comparing each accepted or rejected move and outcome
+        assertThat(walk(new int[9], 0)).isEqualTo(255_168);
+    }
+
+    private static long walk(int[] played, int depth) {
+        char[][] board = new char[3][3];
+        for (char[] row : board) {
+            Arrays.fill(row, ' ');
+        }
+        for (int i = 0; i < depth; i++) {
+            board[played[i] / 3][played[i] % 3] = i % 2 == 0 ? 'X' : 'O';
+        }
+        BitboardEngine engine = copyOf(played, depth);
+
+        String expected = OriginalRules.winner(board);
+        assertThat(outcomeOf(engine)).as("after %s", Arrays.toString(Arrays.copyOf(played, depth))).isEqualTo(expected);
+        if (expected != null) {
+            return 1;
+        }
+
+        long games = 0;
+        int side = depth % 2;
+        for (int cell = 0; cell < 9; cell++) {
+            boolean free = board[cell / 3][cell % 3] == ' ';
+            BitboardEngine probe = copyOf(played, depth);
+            assertThat(probe.makeMove(cell / 3, cell % 3, side)).isEqualTo(free);
+            assertThat(probe.makeMove(cell / 3, cell % 3, side)).as("same side twice").isFalse();
+            if (free) {
+                played[depth] = cell;
+                games += walk(played, depth + 1);
+            }
+        }
+        return games;
+    }
+
+    private static BitboardEngine copyOf(int[] played, int depth) {
+        BitboardEngine engine = new BitboardEngine();
+        for (int i = 0; i < depth; i++) {
+            engine.makeMove(played[i] / 3, played[i] % 3, i % 2);
+        }
+        return engine;
+    }
+
+    private static String outcomeOf(BoardEngine engine) {
+        return switch (engine.getOutcome()) {
+            case BoardEngine.X_WINS -> "X";
+            case BoardEngine.O_WINS -> "O";
+            case BoardEngine.DRAW -> "DRAW";
+            default -> null;
+        };
+    }
+
+    private static int[][] emptyCellsOff(int[][] line) {
+        int[][] out = new int[6][];
+        int n = 0;
+        for (int row = 0; row < 3; row++) {
+            for (int col = 0; col < 3; col++) {
+                boolean onLine = false;
+                for (int[] cell : line) {
+                    onLine |= cell[0] == row && cell[1] == col;
+                }
+                if (!onLine) {
+                    out[n++] = new int[]{row, col};
+                }
+            }
+        }
+        // O only gets two moves before X completes the line, so it cannot win first
+        return new int[][]{out[0], out[5]};
+    }
+
+    /**
+     * Win and draw check of the original char[][] Game, kept as the reference for 3x3
+     */
+    static final class OriginalRules {
+
+        static String winner(char[][] board) {
+            for (int i = 0; i < 3; i++) {
+                if (board[i][0] != ' ' && board[i][0] == board[i][1] && board[i][1] == board[i][2]) {
+                    return String.valueOf(board[i][0]);
+                }
+            }
+            for (int i = 0; i < 3; i++) {
+                if (board[0][i] != ' ' && board[0][i] == board[1][i] && board[1][i] == board[2][i]) {
+                    return String.valueOf(board[0][i]);
+                }
+            }
+            if (board[0][0] != ' ' && board[0][0] == board[1][1] && board[1][1] == board[2][2]) {
+                return String.valueOf(board[0][0]);
+            }
+            if (board[0][2] != ' ' && board[0][2] == board[1][1] && board[1][1] == board[2][0]) {
+                return String.valueOf(board[0][2]);
+            }
+            for (char[] row : board) {
+                for (char cell : row) {
+                    if (cell == ' ') {
+                        return null;
+                    }
+                }
+            }
+            return "DRAW";
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.tictactoe.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PackedBoardEngineTest {
+
+    @Test
+    void detectsLinesAlongTheEdgesAndCorners() {
+        for (GameVariant variant : new GameVariant[]{GameVariant.FOUR_IN_A_ROW, GameVariant.GOMOKU}) {
+            int n = variant.getSize();
+            int k = variant.getWinLength();
+
+            assertWins(variant, line(0, n - k, 0, 1, k));          // top row, against the right edge
+            assertWins(variant, line(n - 1, 0, 0, 1, k));          // bottom row, from the left edge
+            assertWins(variant, line(n - k, n - 1, 1, 0, k));      // last column, down to the corner
+            assertWins(variant, line(n - k, n - k, 1, 1, k));      // diagonal into the bottom-right corner
+            assertWins(variant, line(0, n - 1, 1, -1, k));         // anti-diagonal from the top-right corner
+            assertWins(variant, line(n - k, 0, 1, 1, k));          // diagonal from the left edge
+            assertWins(variant, line(k - 1, 0, -1, 1, k));         // anti-diagonal up from the left edge
+        }
+    }
+
+    @Test
+    void completesALineFromTheMiddle() {
+        // The last stone joins two runs; on 15x15 row 4 also straddles the first 64-bit word
+        List<int[]> line = line(4, 3, 0, 1, 5);
+        Collections.swap(line, 2, 4);
+        assertWins(GameVariant.GOMOKU, line);
+    }
+
+    @Test
+    void doesNotCountShortBrokenOrWrappedRuns() {
+        int n = GameVariant.FOUR_IN_A_ROW.getSize();
+
+        assertNoWin(GameVariant.FOUR_IN_A_ROW, line(3, 0, 0, 1, 3));
+        // Consecutive cell indexes across the end of a row are not a line
+        assertNoWin(GameVariant.FOUR_IN_A_ROW, List.of(
+                new int[]{0, n - 2}, new int[]{0, n - 1}, new int[]{1, 0}, new int[]{1, 1}));
+        assertNoWin(GameVariant.GOMOKU, List.of(
+                new int[]{0, 13}, new int[]{0, 14}, new int[]{1, 0}, new int[]{1, 1}, new int[]{1, 2}));
+
+        // O sits in the middle of X's five
+        PackedBoardEngine engine = engine(GameVariant.GOMOKU);
+        int[][] moves = {{7, 3}, {7, 5}, {7, 4}, {0, 0}, {7, 6}, {0, 2}, {7, 7}, {0, 4}, {7, 8}};
+        for (int i = 0; i < moves.length; i++) {
+            assertThat(engine.makeMove(moves[i][0], moves[i][1], i % 2)).isTrue();
+        }
+        assertThat(engine.getOutcome()).isEqualTo(BoardEngine.IN_PROGRESS);
+    }
+
+    @Test
+    void detectsADrawOnAFullBoard() {
+        // Column pairs alternate by row: X X O O X X O / O O X X O O X / ... has no four in a row
+        int n = GameVariant.FOUR_IN_A_ROW.getSize();
+        List<int[]> xs = new ArrayList<>();
+        List<int[]> os = new ArrayList<>();
+        for (int row = 0; row < n; row++) {
+            for (int col = 0; col < n; col++) {
+                ((col / 2 + row) % 2 == 0 ? xs : os).add(new int[]{row, col});
+            }
+        }
+        assertThat(xs).hasSize(25);
+        assertThat(os).hasSize(24);
+
+        PackedBoardEngine engine = engine(GameVariant.FOUR_IN_A_ROW);
+        for (int i = 0; i < n * n; i++) {
+            assertThat(engine.getOutcome()).isEqualTo(BoardEngine.IN_PROGRESS);
+            int[] cell = (i % 2 == 0 ? xs : os).get(i / 2);
+            assertThat(engine.makeMove(cell[0], cell[1], i % 2)).isTrue();
+        }
+        assertThat(engine.getOutcome()).isEqualTo(BoardEngine.DRAW);
+    }
+
+    @Test
+    void rejectsIllegalMoves() {
+        PackedBoardEngine engine = engine(GameVariant.GOMOKU);
+
+        assertThat(engine.makeMove(15, 0, BoardEngine.X)).isFalse();
+        assertThat(engine.makeMove(0, -1, BoardEngine.X)).isFalse();
+        assertThat(engine.makeMove(7, 7, BoardEngine.O)).as("wrong turn").isFalse();
+        assertThat(engine.makeMove(7, 7, BoardEngine.X)).isTrue();
+        assertThat(engine.makeMove(7, 7, BoardEngine.O)).as("occupied").isFalse();
+        assertThat(engine.makeMove(7, 8, BoardEngine.X)).as("same side twice").isFalse();
+        assertThat(engine.getTurn()).isEqualTo(BoardEngine.O);
+
+        assertThatThrownBy(() -> new PackedBoardEngine(3, 4)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsMovesOnceDecided() {
+        PackedBoardEngine engine = play(GameVariant.FOUR_IN_A_ROW, line(0, 0, 0, 1, 4));
+
+        assertThat(engine.getOutcome()).isEqualTo(BoardEngine.X_WINS);
+        assertThat(engine.makeMove(6, 6, BoardEngine.O)).isFalse();
+        assertThat(engine.cellAt(6, 6)).isEqualTo(' ');
+    }
+
+    @Test
+    void matchesAFullBoardScanOnRandomGames() {
+        Random random = new Random(7);
+        for (GameVariant variant : new GameVariant[]{GameVariant.FOUR_IN_A_ROW, GameVariant.GOMOKU}) {
+            int n = variant.getSize();
+            for (int game = 0; game < 300; game++) {
+                PackedBoardEngine engine = engine(variant);
+                char[][] board = new char[n][n];
+                for (char[] row : board) {
+                    Arrays.fill(row, ' ');
+                }
+                int side = BoardEngine.X;
+                while (engine.getOutcome() == BoardEngine.IN_PROGRESS) {
+                    int row = random.nextInt(n);
+                    int col = random.nextInt(n);
+                    boolean free = board[row][col] == ' ';
+                    assertThat(engine.makeMove(row, col, side)).isEqualTo(free);
+                    if (free) {
+                        board[row][col] = side == BoardEngine.X ? 'X' : 'O';
+                        side ^= 1;
+                        assertThat(engine.getOutcome()).isEqualTo(scan(board, variant.getWinLength()));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void classicSizeAgreesWithTheBitboard() {
+        Random random = new Random(3);
+        for (int game = 0; game < 5_000; game++) {
+            PackedBoardEngine packed = new PackedBoardEngine(3, 3);
+            BitboardEngine bitboard = new BitboardEngine();
+            while (!bitboard.isFinished()) {
+                int row = random.nextInt(3);
+                int col = random.nextInt(3);
+                int side = bitboard.getTurn();
+                assertThat(packed.makeMove(row, col, side)).isEqualTo(bitboard.makeMove(row, col, side));
+                assertThat(packed.getOutcome()).isEqualTo(bitboard.getOutcome());
+            }
+        }
+    }
+
+    private static void assertWins(GameVariant variant, List<int[]> xMoves) {
+        PackedBoardEngine engine = play(variant, xMoves);
+        assertThat(engine.getOutcome()).as(describe(variant, xMoves)).isEqualTo(BoardEngine.X_WINS);
+    }
+
+    private static void assertNoWin(GameVariant variant, List<int[]> xMoves) {
+        PackedBoardEngine engine = play(variant, xMoves);
+        assertThat(engine.getOutcome()).as(describe(variant, xMoves)).isEqualTo(BoardEngine.IN_PROGRESS);
+    }
+
+    /**
+     * X plays the given cells; O answers on the first free cells off them. O gets one stone fewer
+     * than X, so it never completes a line first.
+     */
+    private static PackedBoardEngine play(GameVariant variant, List<int[]> xMoves) {
+        PackedBoardEngine engine = engine(variant);
+        int n = variant.getSize();
+        int filler = 0;
+        for (int i = 0; i < xMoves.size(); i++) {
+            int[] move = xMoves.get(i);
+            if (i > 0) {
+                while (contains(xMoves, filler / n, filler % n) || engine.cellAt(filler / n, filler % n) != ' ') {
+                    filler++;
+                }
+                assertThat(engine.makeMove(filler / n, filler % n, BoardEngine.O)).isTrue();
+            }
+            assertThat(engine.getOutcome()).isEqualTo(BoardEngine.IN_PROGRESS);
+            assertThat(engine.makeMove(move[0], move[1], BoardEngine.X)).isTrue();
+        }
+        return engine;
+    }
+
+    private static List<int[]> line(int row, int col, int dr, int dc, int length) {
+        List<int[]> cells = new ArrayList<>();
+        for (int i = 0; i < length; i++) {
+            cells.add(new int[]{row + i * dr, col + i * dc});
+        }
+        return cells;
+    }
+
+    private static boolean contains(List<int[]> cells, int row, int col) {
+        for (int[] cell : cells) {
+            if (cell[0] == row && cell[1] == col) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int scan(char[][] board, int k) {
+        int n = board.length;
+        int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+        boolean full = true;
+        for (int row = 0; row < n; row++) {
+            for (int col = 0; col < n; col++) {
+                char c = board[row][col];
+                if (c == ' ') {
+                    full = false;
+                    continue;
+                }
+                for (int[] d : directions) {
+                    int run = 1;
+                    while (run < k) {
+                        int r = row + run * d[0];
+                        int cc = col + run * d[1];
+                        if (r < 0 || r >= n || cc < 0 || cc >= n || board[r][cc] != c) {
+                            break;
+                        }
+                        run++;
+                    }
+                    if (run == k) {
+                        return c == 'X' ? BoardEngine.X_WINS : BoardEngine.O_WINS;
+                    }
+                }
+            }
+        }
+        return full ? BoardEngine.DRAW : BoardEngine.IN_PROGRESS;
+    }
+
+    private static PackedBoardEngine engine(GameVariant variant) {
+        return (PackedBoardEngine) variant.newEngine();
+    }
+
+    private static String describe(GameVariant variant, List<int[]> cells) {
+        StringBuilder out = new StringBuilder(variant.name());
+        for (int[] cell : cells) {
+            out.append(" (").append(cell[0]).append(',').append(cell[1]).append(')');
+        }
+        return out.toString();
+    }
+}
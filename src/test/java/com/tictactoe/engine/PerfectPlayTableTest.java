@@ -0,0 +1,90 @@
+package com.tictactoe.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PerfectPlayTableTest {
+
+    private static final PerfectPlayTable TABLE = PerfectPlayTable.build();
+
+    @Test
+    void neverLosesAsX() {
+        assertThat(playAgainstEveryReply(new BitboardEngine(), BoardEngine.X)).isGreaterThan(0);
+    }
+
+    @Test
+    void neverLosesAsO() {
+        assertThat(playAgainstEveryReply(new BitboardEngine(), BoardEngine.O)).isGreaterThan(0);
+    }
+
+    @Test
+    void drawsAgainstItself() {
+        BitboardEngine engine = new BitboardEngine();
+        while (!engine.isFinished()) {
+            assertThat(engine.makeMove(TABLE.bestMove(engine.getXMask(), engine.getOMask()), engine.getTurn())).isTrue();
+        }
+        assertThat(engine.getOutcome()).isEqualTo(BoardEngine.DRAW);
+    }
+
+    @Test
+    void takesAnImmediateWinAndBlocksOne() {
+        // X X . / O O . / . . .  with X to move: X wins at (0,2)
+        assertThat(TABLE.bestMove(0b000_000_011, 0b000_011_000)).isEqualTo(2);
+        // X . . / O O . / X . .  with X to move: X must block at (1,2)
+        assertThat(TABLE.bestMove(0b001_000_001, 0b000_011_000)).isEqualTo(5);
+    }
+
+    @Test
+    void returnsNoMoveForDecidedPositions() {
+        // X has the top row
+        assertThat(TABLE.bestMove(0b000_000_111, 0b000_011_000)).isEqualTo(-1);
+    }
+
+    /**
+     * Lets the table play {@code side} against every possible sequence of opponent moves
+     * @return number of games played out
+     */
+    private static long playAgainstEveryReply(BitboardEngine engine, int side) {
+        if (engine.isFinished()) {
+            int lost = side == BoardEngine.X ? BoardEngine.O_WINS : BoardEngine.X_WINS;
+            assertThat(engine.getOutcome()).as("%s", engine).isNotEqualTo(lost);
+            return 1;
+        }
+
+        if (engine.getTurn() == side) {
+            int cell = TABLE.bestMove(engine.getXMask(), engine.getOMask());
+            BitboardEngine next = copy(engine);
+            assertThat(next.makeMove(cell, side)).as("legal move for %s", engine).isTrue();
+            return playAgainstEveryReply(next, side);
+        }
+
+        long games = 0;
+        for (int cell = 0; cell < BitboardEngine.CELLS; cell++) {
+            BitboardEngine next = copy(engine);
+            if (next.makeMove(cell, engine.getTurn())) {
+                games += playAgainstEveryReply(next, side);
+            }
+        }
+        return games;
+    }
+
+    private static BitboardEngine copy(BitboardEngine engine) {
+        BitboardEngine copy = new BitboardEngine();
+        int x = engine.getXMask();
+        int o = engine.getOMask();
+        // Replay alternately; the order of earlier moves does not change the position
+        while (x != 0 || o != 0) {
+            if (copy.getTurn() == BoardEngine.X) {
+                int bit = Integer.numberOfTrailingZeros(x);
+                x &= x - 1;
+                copy.makeMove(bit, BoardEngine.X);
+            } else {
+                int bit = Integer.numberOfTrailingZeros(o);
+                o &= o - 1;
+                copy.makeMove(bit, BoardEngine.O);
+            }
+        }
+        return copy;
+    }
+}
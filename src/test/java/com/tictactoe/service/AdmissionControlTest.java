@@ -0,0 +1,136 @@
+package com.tictactoe.service;
+
+import com.tictactoe.engine.GameVariant;
+import com.tictactoe.model.Player;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class AdmissionControlTest {
+
+    @Test
+    void capsLiveGamesAtTheConfiguredSlots() {
+        AdmissionControl admission = new AdmissionControl(2, 30_000);
+
+        assertThat(admission.tryAcquireGame()).isTrue();
+        assertThat(admission.tryAcquireGame()).isTrue();
+        assertThat(admission.tryAcquireGame()).isFalse();
+
+        admission.releaseGame();
+        assertThat(admission.tryAcquireGame()).isTrue();
+        assertThat(admission.getStats()).containsEntry("activeGames", 2);
+
+        assertThatThrownBy(() -> new AdmissionControl(0, 30_000)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void letsPlayersIntoMatchmakingOnlyWhileTheyCouldPlay() {
+        AdmissionControl admission = new AdmissionControl(2, 30_000);
+        admission.tryAcquireGame();
+
+        // One free slot: room for two players
+        assertThat(admission.hasRoomForMatchmaking(1)).isTrue();
+        assertThat(admission.hasRoomForMatchmaking(2)).isFalse();
+
+        // Nobody jumps the overflow queue
+        admission.enqueue(player("alice"), GameVariant.CLASSIC);
+        assertThat(admission.hasRoomForMatchmaking(0)).isFalse();
+    }
+
+    @Test
+    void queuesFirstInFirstOutWithRequeuedPlayersAtTheHead() {
+        AdmissionControl admission = full(1);
+
+        assertThat(admission.enqueue(player("alice"), GameVariant.CLASSIC).position()).isEqualTo(1);
+        assertThat(admission.enqueue(player("bob"), GameVariant.CLASSIC).position()).isEqualTo(2);
+        assertThat(admission.enqueue(player("carol"), GameVariant.GOMOKU).position()).isEqualTo(3);
+        assertThat(admission.enqueue(player("alice"), GameVariant.CLASSIC).position()).as("already queued").isEqualTo(1);
+        assertThat(admission.positionChanges()).isEmpty();
+
+        admission.requeueFirst(player("dave"), GameVariant.CLASSIC);
+        assertThat(admission.positionChanges()).extracting(AdmissionControl.QueueStatus::nickname,
+                AdmissionControl.QueueStatus::position).containsExactly(
+                tuple("dave", 1), tuple("alice", 2), tuple("bob", 3), tuple("carol", 4));
+
+        assertThat(admission.admit(0)).as("no free slot").isEmpty();
+        admission.releaseGame();
+        assertThat(admission.admit(0)).extracting(queued -> queued.player().getNickname()).containsExactly("dave", "alice");
+        assertThat(admission.isQueued("alice")).isFalse();
+        assertThat(admission.getStatus("carol").position()).isEqualTo(2);
+
+        assertThat(admission.cancel("bob")).isTrue();
+        assertThat(admission.cancel("bob")).isFalse();
+        assertThat(admission.getStatus("carol").position()).isEqualTo(1);
+        assertThat(admission.getStats()).containsEntry("queued", 3L).containsEntry("requeued", 1L)
+                .containsEntry("admitted", 2L);
+    }
+
+    @Test
+    void admitsOnlyTheRoomLeftAfterPlayersAlreadyInMatchmaking() {
+        AdmissionControl admission = full(2);
+        for (String nickname : new String[]{"alice", "bob", "carol"}) {
+            admission.enqueue(player(nickname), GameVariant.CLASSIC);
+        }
+
+        admission.releaseGame();
+        admission.releaseGame();
+        // Four player slots free, three already waiting in matchmaking
+        assertThat(admission.admit(3)).extracting(queued -> queued.player().getNickname()).containsExactly("alice");
+        assertThat(admission.getQueuedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void estimatesTheWaitFromRecentGameEndings() {
+        AdmissionControl admission = new AdmissionControl(10, 30_000);
+        assertThat(admission.enqueue(player("p1"), GameVariant.CLASSIC).estimatedWaitMs())
+                .as("no game has ended yet").isNull();
+        admission.clear();
+
+        // Six endings in the 60 s window: one every 10 s, each letting two queued players in
+        for (int i = 0; i < 6; i++) {
+            admission.tryAcquireGame();
+            admission.releaseGame();
+        }
+        assertThat(admission.enqueue(player("p1"), GameVariant.CLASSIC).estimatedWaitMs()).isEqualTo(10_000L);
+        assertThat(admission.enqueue(player("p2"), GameVariant.CLASSIC).estimatedWaitMs()).isEqualTo(10_000L);
+        assertThat(admission.enqueue(player("p3"), GameVariant.CLASSIC).estimatedWaitMs()).isEqualTo(20_000L);
+        for (int i = 4; i <= 6; i++) {
+            assertThat(admission.enqueue(player("p" + i), GameVariant.CLASSIC)).isNotNull();
+        }
+        assertThat(admission.getStatus("p6").estimatedWaitMs()).as("exactly the timeout").isEqualTo(30_000L);
+
+        // Seventh in line would wait 40 s, past the 30 s timeout
+        assertThat(admission.enqueue(player("p7"), GameVariant.CLASSIC)).isNull();
+        assertThat(admission.isQueued("p7")).isFalse();
+        assertThat(admission.getStats()).containsEntry("rejected", 1L).containsEntry("gamesEndedPerSecond", 0.1);
+    }
+
+    @Test
+    void dropsPlayersWhoWaitPastTheTimeout() {
+        AdmissionControl admission = new AdmissionControl(1, 1_000);
+        long queuedAt = System.currentTimeMillis();
+        admission.enqueue(player("alice"), GameVariant.CLASSIC);
+
+        assertThat(admission.expire(queuedAt)).isEmpty();
+        assertThat(admission.expire(System.currentTimeMillis() + 1_000)).containsExactly("alice");
+        assertThat(admission.isQueued("alice")).isFalse();
+        assertThat(admission.getStats()).containsEntry("timedOut", 1L);
+    }
+
+    // Every slot taken, so joins go to the overflow queue
+    private static AdmissionControl full(int maxGames) {
+        AdmissionControl admission = new AdmissionControl(maxGames, 30_000);
+        for (int i = 0; i < maxGames; i++) {
+            admission.tryAcquireGame();
+        }
+        return admission;
+    }
+
+    private static Player player(String nickname) {
+        Player player = new Player();
+        player.setNickname(nickname);
+        return player;
+    }
+}
@@ -0,0 +1,156 @@
+package com.tictactoe.service;
+
+import com.tictactoe.engine.GameVariant;
+import com.tictactoe.model.Player;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FifoMatchmakerTest {
+
+    private final FifoMatchmaker matchmaker = new FifoMatchmaker(new GameMetrics(new SimpleMeterRegistry()));
+
+    @Test
+    void pairsTheWaitingPlayerWithTheNextOne() {
+        Player alice = player("alice");
+        Player bob = player("bob");
+
+        assertThat(matchmaker.join(alice, GameVariant.CLASSIC)).isNull();
+        assertThat(matchmaker.isWaiting("alice")).isTrue();
+
+        Matchmaker.Pairing pairing = matchmaker.join(bob, GameVariant.CLASSIC);
+
+        assertThat(pairing).isNotNull();
+        assertThat(pairing.first()).isSameAs(alice);
+        assertThat(pairing.second()).isSameAs(bob);
+        assertThat(pairing.variant()).isEqualTo(GameVariant.CLASSIC);
+        assertThat(matchmaker.size()).isZero();
+    }
+
+    @Test
+    void rejectsASecondJoinOfAWaitingPlayer() {
+        assertThat(matchmaker.join(player("alice"), GameVariant.CLASSIC)).isNull();
+        assertThat(matchmaker.join(player("alice"), GameVariant.CLASSIC)).isNull();
+
+        assertThat(matchmaker.size()).isEqualTo(1);
+        assertThat(matchmaker.getWaitingPlayers()).containsExactly("alice");
+    }
+
+    @Test
+    void doesNotPairAcrossVariants() {
+        assertThat(matchmaker.join(player("alice"), GameVariant.CLASSIC)).isNull();
+        assertThat(matchmaker.join(player("bob"), GameVariant.GOMOKU)).isNull();
+
+        assertThat(matchmaker.size()).isEqualTo(2);
+    }
+
+    @Test
+    void cancelledPlayerIsNotPaired() {
+        matchmaker.join(player("alice"), GameVariant.CLASSIC);
+
+        assertThat(matchmaker.cancel("alice")).isTrue();
+        assertThat(matchmaker.cancel("alice")).isFalse();
+        assertThat(matchmaker.join(player("bob"), GameVariant.CLASSIC)).isNull();
+        assertThat(matchmaker.getWaitingPlayers()).containsExactly("bob");
+    }
+
+    @Test
+    void concurrentJoinsOfTheSamePlayerNeverSelfMatch() throws InterruptedException {
+        Player alice = player("alice");
+        Queue<Matchmaker.Pairing> pairings = new ConcurrentLinkedQueue<>();
+
+        runConcurrently(16, thread -> {
+            for (int i = 0; i < 1_000; i++) {
+                Matchmaker.Pairing pairing = matchmaker.join(alice, GameVariant.CLASSIC);
+                if (pairing != null) {
+                    pairings.add(pairing);
+                }
+            }
+        });
+
+        assertThat(pairings).isEmpty();
+        assertThat(matchmaker.getWaitingPlayers()).containsExactly("alice");
+    }
+
+    @Test
+    void concurrentJoinsAndCancelsPairEachPlayerAtMostOnce() throws InterruptedException {
+        int threads = 8;
+        int perThread = 5_000;
+        Queue<Matchmaker.Pairing> pairings = new ConcurrentLinkedQueue<>();
+        Set<String> cancelled = ConcurrentHashMap.newKeySet();
+        GameVariant[] variants = GameVariant.values();
+
+        runConcurrently(threads, thread -> {
+            for (int i = 0; i < perThread; i++) {
+                String nickname = "player-" + thread + "-" + i;
+                Matchmaker.Pairing pairing = matchmaker.join(player(nickname), variants[i % variants.length]);
+                if (pairing != null) {
+                    pairings.add(pairing);
+                }
+                // Race cancels against joins from the other threads
+                if (i % 5 == 0 && matchmaker.cancel(nickname)) {
+                    cancelled.add(nickname);
+                }
+            }
+        });
+
+        Set<String> paired = new HashSet<>();
+        for (Matchmaker.Pairing pairing : pairings) {
+            String first = pairing.first().getNickname();
+            String second = pairing.second().getNickname();
+            assertThat(first).isNotEqualTo(second);
+            assertThat(paired.add(first)).as("%s paired twice", first).isTrue();
+            assertThat(paired.add(second)).as("%s paired twice", second).isTrue();
+        }
+        assertThat(paired).doesNotContainAnyElementsOf(cancelled);
+
+        List<String> waiting = matchmaker.getWaitingPlayers();
+        assertThat(waiting).hasSizeLessThanOrEqualTo(variants.length);
+        assertThat(waiting).doesNotContainAnyElementsOf(paired).doesNotContainAnyElementsOf(cancelled);
+        assertThat(paired.size() + cancelled.size() + waiting.size()).isEqualTo(threads * perThread);
+    }
+
+    private static Player player(String nickname) {
+        Player player = new Player();
+        player.setNickname(nickname);
+        return player;
+    }
+
+    private interface Worker {
+        void run(int thread);
+    }
+
+    private static void runConcurrently(int threads, Worker worker) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> started = new ArrayList<>();
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            Thread th = new Thread(() -> {
+                try {
+                    start.await();
+                    worker.run(thread);
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+            th.start();
+            started.add(th);
+        }
+        start.countDown();
+        for (Thread th : started) {
+            th.join();
+        }
+        assertThat(failures).isEmpty();
+    }
+}
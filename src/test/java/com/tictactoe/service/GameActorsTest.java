@@ -0,0 +1,181 @@
+package com.tictactoe.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameActorsTest {
+
+    private GameActors actors = new GameActors(4, false);
+
+    @AfterEach
+    void shutdown() throws InterruptedException {
+        actors.shutdown();
+    }
+
+    @Test
+    void runsEachSendersCommandsInOrderAndOneAtATime() throws InterruptedException {
+        actors.open("game");
+        int senders = 4;
+        int perSender = 5_000;
+        List<List<Integer>> seen = new ArrayList<>();
+        AtomicInteger running = new AtomicInteger();
+        AtomicBoolean overlapped = new AtomicBoolean();
+        CountDownLatch done = new CountDownLatch(senders * perSender);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int s = 0; s < senders; s++) {
+            // Only touched from the game's commands, which never overlap
+            List<Integer> order = new ArrayList<>();
+            seen.add(order);
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < perSender; i++) {
+                    int n = i;
+                    assertThat(actors.tell("game", () -> {
+                        if (running.incrementAndGet() != 1) {
+                            overlapped.set(true);
+                        }
+                        order.add(n);
+                        running.decrementAndGet();
+                        done.countDown();
+                    })).isTrue();
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(overlapped).isFalse();
+        for (List<Integer> order : seen) {
+            assertThat(order).hasSize(perSender).isSorted();
+        }
+    }
+
+    @Test
+    void runsDifferentGamesInParallel() throws InterruptedException {
+        actors.open("slow");
+        actors.open("fast");
+        CountDownLatch fastRan = new CountDownLatch(1);
+        AtomicBoolean slowSawFast = new AtomicBoolean();
+        CountDownLatch slowDone = new CountDownLatch(1);
+
+        // The slow game's command waits for the other game's command to run
+        actors.tell("slow", () -> {
+            try {
+                slowSawFast.set(fastRan.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            slowDone.countDown();
+        });
+        actors.tell("fast", fastRan::countDown);
+
+        assertThat(slowDone.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(slowSawFast).isTrue();
+    }
+
+    @Test
+    void refusesCommandsForGamesThatWereNeverOpened() {
+        AtomicBoolean ran = new AtomicBoolean();
+
+        assertThat(actors.tell("unknown", () -> ran.set(true))).isFalse();
+        assertThat(actors.getMailboxCount()).isZero();
+        assertThat(ran).isFalse();
+    }
+
+    @Test
+    void stopRunsQueuedCommandsThenRefusesAndRemovesTheMailbox() throws InterruptedException {
+        actors.open("game");
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> order = new ArrayList<>();
+
+        actors.tell("game", () -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            order.add(1);
+        });
+        actors.tell("game", () -> order.add(2));
+        actors.stop("game");
+
+        assertThat(actors.tell("game", () -> order.add(3))).isFalse();
+        release.countDown();
+
+        awaitMailboxCount(0);
+        assertThat(order).containsExactly(1, 2);
+
+        // The id can be opened again once the old mailbox is gone
+        CountDownLatch reopened = new CountDownLatch(1);
+        actors.open("game");
+        assertThat(actors.tell("game", reopened::countDown)).isTrue();
+        assertThat(reopened.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void stoppingAnIdleMailboxRemovesIt() throws InterruptedException {
+        actors.open("game");
+        assertThat(actors.getMailboxCount()).isEqualTo(1);
+
+        actors.stop("game");
+
+        awaitMailboxCount(0);
+        assertThat(actors.tell("game", () -> { })).isFalse();
+    }
+
+    @Test
+    void keepsRunningAfterAFailedCommand() throws InterruptedException {
+        actors.open("game");
+        CountDownLatch next = new CountDownLatch(1);
+
+        actors.tell("game", () -> {
+            throw new IllegalStateException("boom");
+        });
+        actors.tell("game", next::countDown);
+
+        assertThat(next.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void keepsOrderOnVirtualThreads() throws InterruptedException {
+        actors.shutdown();
+        actors = new GameActors(0, true);
+        actors.open("game");
+        List<Integer> order = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(1_000);
+
+        for (int i = 0; i < 1_000; i++) {
+            int n = i;
+            actors.tell("game", () -> {
+                order.add(n);
+                done.countDown();
+            });
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(order).hasSize(1_000).isSorted();
+    }
+
+    private void awaitMailboxCount(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (actors.getMailboxCount() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(actors.getMailboxCount()).isEqualTo(expected);
+    }
+}
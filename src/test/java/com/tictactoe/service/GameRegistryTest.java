@@ -0,0 +1,222 @@
+package com.tictactoe.service;
+
+import com.tictactoe.model.Game;
+import com.tictactoe.model.Player;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameRegistryTest {
+
+    private final GameRegistry registry = new GameRegistry(8);
+
+    @Test
+    void putGamePointsPlayersAtItAndClearsTheirQueueTime() {
+        registry.setJoinedAt("alice", 1_000);
+        Game game = game("g1", "alice", "bob");
+
+        registry.putGame(game, "alice", "bob");
+
+        assertThat(registry.getGame("g1")).isSameAs(game);
+        assertThat(registry.getGameId("alice")).isEqualTo("g1");
+        assertThat(registry.getGameId("bob")).isEqualTo("g1");
+        assertThat(registry.getPlayer("alice").getJoinedAt()).isZero();
+        assertThat(registry.getPlayersInGamesCount()).isEqualTo(2);
+    }
+
+    @Test
+    void removeGameOnlyDetachesPlayersStillInIt() {
+        registry.putGame(game("old", "alice", "bob"), "alice", "bob");
+        // A rematch moved alice on before the old game was removed
+        registry.putGame(game("rematch", "alice", "carol"), "alice", "carol");
+
+        assertThat(registry.removeGame("old")).isNotNull();
+        assertThat(registry.removeGame("old")).isNull();
+
+        assertThat(registry.getGameId("alice")).isEqualTo("rematch");
+        assertThat(registry.getGameId("bob")).isNull();
+        // Bob's record held nothing else, so it is gone
+        assertThat(registry.getPlayer("bob")).isNull();
+        assertThat(registry.getGameCount()).isEqualTo(1);
+    }
+
+    @Test
+    void dropsARecordOnceItHoldsNothing() {
+        registry.setJoinedAt("alice", 1_000);
+        assertThat(registry.getPlayer("alice")).isNotNull();
+
+        registry.setJoinedAt("alice", 0);
+        assertThat(registry.getPlayer("alice")).isNull();
+
+        registry.putGame(game("g1", "alice", "bob"), "alice");
+        registry.detachFromGame("alice");
+        assertThat(registry.getPlayer("alice")).isNull();
+        assertThat(registry.getPlayerCount()).isZero();
+    }
+
+    @Test
+    void tracksActivityUntilItIsClearedUnchanged() {
+        assertThat(registry.touch("alice", 100)).isTrue();
+        assertThat(registry.touch("alice", 200)).isFalse();
+
+        assertThat(registry.clearActivityIfUnchanged("alice", 100)).as("active again since").isFalse();
+        assertThat(registry.getPlayer("alice").getLastActivity()).isEqualTo(200);
+
+        assertThat(registry.clearActivityIfUnchanged("alice", 200)).isTrue();
+        assertThat(registry.getPlayer("alice")).isNull();
+        assertThat(registry.touch("alice", 300)).as("watched again").isTrue();
+    }
+
+    @Test
+    void countsAndListsGamesAcrossAllShards() {
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 500; i++) {
+            String id = "game-" + i;
+            ids.add(id);
+            registry.putGame(game(id, "x" + i, "o" + i), "x" + i, "o" + i);
+        }
+
+        assertThat(registry.getGameCount()).isEqualTo(500);
+        assertThat(registry.getPlayerCount()).isEqualTo(1_000);
+        assertThat(registry.getGameIds()).containsExactlyInAnyOrderElementsOf(ids);
+        assertThat(registry.getGames()).hasSize(500);
+
+        registry.clear();
+        assertThat(registry.getGameCount()).isZero();
+        assertThat(registry.getPlayerCount()).isZero();
+    }
+
+    @Test
+    void concurrentUpdatesOfOnePlayerAreNotLost() throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int thread = t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 2_000; i++) {
+                    String id = "g-" + thread + "-" + i;
+                    registry.putGame(game(id, "alice", "p" + thread), "p" + thread);
+                    registry.touch("alice", 1 + i);
+                    registry.removeGame(id);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(registry.getGameCount()).isZero();
+        assertThat(registry.getPlayersInGamesCount()).isZero();
+        // Only alice's activity is left
+        assertThat(registry.getPlayerCount()).isEqualTo(1);
+        assertThat(registry.getPlayer("alice").getLastActivity()).isPositive();
+    }
+
+    @Test
+    void keepsThePlayerConnectedUntilTheirLastTabCloses() {
+        registry.bindSession("alice", "tab-1");
+        registry.bindSession("alice", "tab-2");
+        registry.bindSession("alice", "tab-2");
+
+        assertThat(registry.getPlayer("alice").getSessionIds()).containsExactly("tab-1", "tab-2");
+        assertThat(registry.getNicknameForSession("tab-2")).isEqualTo("alice");
+        assertThat(registry.getSessionCount()).isEqualTo(2);
+
+        assertThat(registry.unbindSession("tab-1")).isEqualTo(new GameRegistry.UnboundSession("alice", false));
+        assertThat(registry.unbindSession("tab-1")).as("already unbound").isNull();
+        assertThat(registry.unbindSession("tab-2")).isEqualTo(new GameRegistry.UnboundSession("alice", true));
+
+        assertThat(registry.getNicknameForSession("tab-2")).isNull();
+        assertThat(registry.getPlayer("alice")).isNull();
+        assertThat(registry.getSessionCount()).isZero();
+    }
+
+    @Test
+    void keepsTheRecordOfAPlayerInAGameAfterTheirLastSession() {
+        registry.bindSession("alice", "s1");
+        registry.putGame(game("g1", "alice", "bob"), "alice", "bob");
+
+        assertThat(registry.unbindSession("s1").lastSession()).isTrue();
+
+        assertThat(registry.getPlayer("alice").getSessionIds()).isEmpty();
+        assertThat(registry.getGameId("alice")).isEqualTo("g1");
+    }
+
+    @Test
+    void movesASessionThatIsBoundAgainToAnotherPlayer() {
+        registry.bindSession("alice", "s1");
+        registry.bindSession("alice", "s2");
+
+        registry.bindSession("bob", "s1");
+
+        assertThat(registry.getNicknameForSession("s1")).isEqualTo("bob");
+        assertThat(registry.getPlayer("alice").getSessionIds()).containsExactly("s2");
+        assertThat(registry.getPlayer("bob").getSessionIds()).containsExactly("s1");
+        assertThat(registry.unbindSession("s1")).isEqualTo(new GameRegistry.UnboundSession("bob", true));
+    }
+
+    @Test
+    void bulkUnbindReportsOnlyPlayersLeftWithoutSessions() {
+        registry.bindSession("alice", "a1");
+        registry.bindSession("alice", "a2");
+        registry.bindSession("bob", "b1");
+        registry.bindSession("carol", "c1");
+        registry.bindSession("carol", "c2");
+
+        List<String> disconnected = registry.unbindSessions(List.of("a1", "a2", "b1", "c1", "unknown"));
+
+        assertThat(disconnected).containsExactlyInAnyOrder("alice", "bob");
+        assertThat(registry.getPlayer("carol").getSessionIds()).containsExactly("c2");
+        assertThat(registry.getSessionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentTabsNeverReportALastSessionWhileOneStaysOpen() throws InterruptedException {
+        int tabs = 8;
+        int rounds = 2_000;
+        AtomicInteger lastSessions = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < tabs; t++) {
+            int tab = t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < rounds; i++) {
+                    String sessionId = "tab-" + tab + "-" + i;
+                    registry.bindSession("alice", sessionId);
+                    if (registry.unbindSession(sessionId).lastSession()) {
+                        lastSessions.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        // One tab stays open throughout, so no unbind is ever the last one
+        registry.bindSession("alice", "pinned");
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(lastSessions).hasValue(0);
+        assertThat(registry.getPlayer("alice").getSessionIds()).containsExactly("pinned");
+        assertThat(registry.unbindSession("pinned").lastSession()).isTrue();
+        assertThat(registry.getSessionCount()).isZero();
+    }
+
+    private static Game game(String gameId, String first, String second) {
+        Game game = new Game(gameId);
+        game.setPlayer1(player(first));
+        game.setPlayer2(player(second));
+        return game;
+    }
+
+    private static Player player(String nickname) {
+        Player player = new Player();
+        player.setNickname(nickname);
+        return player;
+    }
+}
@@ -0,0 +1,74 @@
+package com.tictactoe.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tictactoe.config.BinaryGameMessageConverter;
+import com.tictactoe.model.Game;
+import com.tictactoe.model.Player;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class GameStatePublisherTest {
+
+    private final SimpMessagingTemplate template = mock(SimpMessagingTemplate.class);
+    private final GameStatePublisher publisher = new GameStatePublisher(
+            template, new BinaryGameMessageConverter(new ObjectMapper()), new GameMetrics(new SimpleMeterRegistry()));
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void resendsOfAVersionReuseItsBytesWhateverTheMessage() {
+        Game game = game();
+        publisher.publish(game, "Game started! X goes first.");
+        publisher.resend(game);
+        publisher.resend(game);
+
+        ArgumentCaptor<Message<?>> frames = ArgumentCaptor.forClass(Message.class);
+        verify(template, times(3)).send(eq("/topic/game/g1"), frames.capture());
+        List<Message<?>> sent = frames.getAllValues();
+        assertThat(sent.get(1)).isSameAs(sent.get(0));
+        assertThat(sent.get(2)).isSameAs(sent.get(0));
+        assertThat(new String((byte[]) sent.get(0).getPayload())).contains("Game started! X goes first.");
+
+        assertThat(publisher.getStats()).containsEntry("serialized", 1L).containsEntry("reused", 2L);
+    }
+
+    @Test
+    void serializesANewVersionAgain() {
+        Game game = game();
+        Message<byte[]> started = publisher.payloadFor(game, "Game started! X goes first.");
+
+        assertThat(game.makeMove(1, 1, "X")).isTrue();
+        Message<byte[]> resynced = publisher.payloadFor(game, null);
+
+        assertThat(resynced).isNotSameAs(started);
+        assertThat(publisher.payloadFor(game, "ignored")).isSameAs(resynced);
+        assertThat(publisher.getStats()).containsEntry("serialized", 2L).containsEntry("reused", 1L);
+
+        publisher.evict("g1");
+        assertThat(publisher.payloadFor(game, null)).isNotSameAs(resynced);
+    }
+
+    private static Game game() {
+        Game game = new Game("g1");
+        game.setPlayer1(player("alice"));
+        game.setPlayer2(player("bob"));
+        game.setStatus(Game.GameStatus.IN_PROGRESS);
+        return game;
+    }
+
+    private static Player player(String nickname) {
+        Player player = new Player();
+        player.setNickname(nickname);
+        return player;
+    }
+}
@@ -0,0 +1,96 @@
+package com.tictactoe.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderStatisticTreeTest {
+
+    private final OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+
+    @Test
+    void ranksSelectsAndRangesInOrder() {
+        for (int value : new int[]{50, 10, 40, 20, 30}) {
+            assertThat(tree.add(value)).isTrue();
+        }
+
+        assertThat(tree.size()).isEqualTo(5);
+        assertThat(tree.indexOf(10)).isZero();
+        assertThat(tree.indexOf(40)).isEqualTo(3);
+        assertThat(tree.indexOf(35)).isEqualTo(-1);
+        assertThat(tree.rank(35)).isEqualTo(3);
+        assertThat(tree.rank(5)).isZero();
+        assertThat(tree.rank(99)).isEqualTo(5);
+        assertThat(tree.range(0, 5)).containsExactly(10, 20, 30, 40, 50);
+        assertThat(tree.range(1, 3)).containsExactly(20, 30);
+        assertThat(tree.range(4, 5)).containsExactly(50);
+    }
+
+    @Test
+    void rejectsDuplicatesAndMissingRemovals() {
+        assertThat(tree.add(7)).isTrue();
+        assertThat(tree.add(7)).isFalse();
+        assertThat(tree.remove(8)).isFalse();
+        assertThat(tree.remove(7)).isTrue();
+        assertThat(tree.remove(7)).isFalse();
+        assertThat(tree.size()).isZero();
+    }
+
+    @Test
+    void clampsRangesToTheTree() {
+        tree.add(1);
+        tree.add(2);
+        tree.add(3);
+
+        assertThat(tree.range(-2, 2)).containsExactly(1, 2);
+        assertThat(tree.range(2, 10)).containsExactly(3);
+        assertThat(tree.range(3, 10)).isEmpty();
+        assertThat(tree.range(2, 1)).isEmpty();
+    }
+
+    @Test
+    void matchesASortedSetAfterRandomUpdates() {
+        TreeSet<Integer> expected = new TreeSet<>();
+        Random random = new Random(42);
+
+        for (int step = 0; step < 20_000; step++) {
+            int value = random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                assertThat(tree.remove(value)).isEqualTo(expected.remove(value));
+            } else {
+                assertThat(tree.add(value)).isEqualTo(expected.add(value));
+            }
+
+            if (step % 500 == 0) {
+                assertSameAs(expected, random);
+            }
+        }
+        assertSameAs(expected, random);
+    }
+
+    private void assertSameAs(TreeSet<Integer> expected, Random random) {
+        List<Integer> sorted = new ArrayList<>(expected);
+        assertThat(tree.size()).isEqualTo(sorted.size());
+        assertThat(tree.range(0, sorted.size())).isEqualTo(sorted);
+
+        for (int i = 0; i < 50; i++) {
+            int probe = random.nextInt(2_100) - 50;
+            int rank = expected.headSet(probe).size();
+            assertThat(tree.rank(probe)).isEqualTo(rank);
+            assertThat(tree.indexOf(probe)).isEqualTo(expected.contains(probe) ? rank : -1);
+        }
+
+        if (!sorted.isEmpty()) {
+            int from = random.nextInt(sorted.size());
+            int to = from + random.nextInt(sorted.size() - from + 1);
+            assertThat(tree.range(from, to)).isEqualTo(sorted.subList(from, to));
+            assertThat(tree.range(from, from + 1)).containsExactly(sorted.get(from));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.tictactoe.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlayerTokensTest {
+
+    private final PlayerTokens tokens = new PlayerTokens();
+
+    @Test
+    void refusesANicknameConnectedFromAnotherClient() {
+        String token = tokens.claim("alice", null);
+        assertThat(tokens.connect("alice", token, "s1")).isTrue();
+
+        assertThat(tokens.claim("alice", null)).isNull();
+        assertThat(tokens.claim("alice", "guess")).isNull();
+        // The same client (a reload or another tab) gets its token back
+        assertThat(tokens.claim("alice", token)).isEqualTo(token);
+    }
+
+    @Test
+    void connectNeedsTheCurrentToken() {
+        String token = tokens.claim("alice", null);
+
+        assertThat(tokens.connect("alice", null, "s1")).isFalse();
+        assertThat(tokens.connect("alice", token + "x", "s1")).isFalse();
+        assertThat(tokens.connect("bob", token, "s1")).as("token of another nickname").isFalse();
+        assertThat(tokens.connect("alice", token, "s1")).isTrue();
+    }
+
+    @Test
+    void handsTheNicknameOnOnceItsSessionsAreGone() {
+        String first = tokens.claim("alice", null);
+        tokens.connect("alice", first, "s1");
+        tokens.connect("alice", first, "s2");
+
+        tokens.disconnect("s1");
+        assertThat(tokens.claim("alice", null)).as("one tab still open").isNull();
+
+        tokens.disconnect("s2");
+        String second = tokens.claim("alice", null);
+        assertThat(second).isNotNull().isNotEqualTo(first);
+        assertThat(tokens.connect("alice", first, "s3")).as("replaced token").isFalse();
+        assertThat(tokens.getClaimCount()).isEqualTo(1);
+    }
+
+    @Test
+    void issuesUnguessableTokens() {
+        assertThat(tokens.claim("alice", null)).hasSize(32).isNotEqualTo(tokens.claim("bob", null));
+    }
+}
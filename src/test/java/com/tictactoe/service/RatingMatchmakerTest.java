@@ -0,0 +1,129 @@
+package com.tictactoe.service;
+
+import com.tictactoe.engine.GameVariant;
+import com.tictactoe.model.Player;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RatingMatchmakerTest {
+
+    private static final int BUCKET_WIDTH = 50;
+
+    @Test
+    void pairsTheNearestRatedPlayerAcrossABucketEdge() throws InterruptedException {
+        RatingMatchmaker matchmaker = fixedWindow(40);
+        Player near = player("near", 995);
+
+        matchmaker.join(player("sameBucket", 1040), GameVariant.CLASSIC);
+        pause();
+        matchmaker.join(near, GameVariant.CLASSIC);
+        Matchmaker.Pairing pairing = matchmaker.join(player("me", 1000), GameVariant.CLASSIC);
+
+        assertThat(pairing.first()).isSameAs(near);
+        assertThat(pairing.second().getNickname()).isEqualTo("me");
+        assertThat(matchmaker.getWaitingPlayers()).containsExactly("sameBucket");
+    }
+
+    @Test
+    void prefersANearerPlayerOverAnOlderOne() throws InterruptedException {
+        // The two waiting players are too far apart to pair with each other
+        RatingMatchmaker matchmaker = fixedWindow(50);
+
+        matchmaker.join(player("older", 1070), GameVariant.CLASSIC);
+        pause();
+        matchmaker.join(player("nearer", 1000), GameVariant.CLASSIC);
+
+        assertThat(matchmaker.join(player("me", 1020), GameVariant.CLASSIC).first().getNickname())
+                .isEqualTo("nearer");
+    }
+
+    @Test
+    void breaksRatingTiesByAge() throws InterruptedException {
+        RatingMatchmaker matchmaker = fixedWindow(5);
+
+        matchmaker.join(player("older", 1005), GameVariant.CLASSIC);
+        pause();
+        matchmaker.join(player("newer", 995), GameVariant.CLASSIC);
+
+        assertThat(matchmaker.join(player("me", 1000), GameVariant.CLASSIC).first().getNickname())
+                .isEqualTo("older");
+        assertThat(matchmaker.getWaitingPlayers()).containsExactly("newer");
+
+        // Same again with the older player in the lower bucket, which is probed second
+        matchmaker.join(player("older2", 1195), GameVariant.CLASSIC);
+        pause();
+        matchmaker.join(player("newer2", 1205), GameVariant.CLASSIC);
+
+        assertThat(matchmaker.join(player("me2", 1200), GameVariant.CLASSIC).first().getNickname())
+                .isEqualTo("older2");
+    }
+
+    @Test
+    void leavesPlayersOutsideTheWindowWaiting() {
+        RatingMatchmaker matchmaker = fixedWindow(100);
+
+        assertThat(matchmaker.join(player("low", 1000), GameVariant.CLASSIC)).isNull();
+        assertThat(matchmaker.join(player("high", 1101), GameVariant.CLASSIC)).isNull();
+        assertThat(matchmaker.join(player("low", 1101), GameVariant.CLASSIC)).as("already waiting").isNull();
+        assertThat(matchmaker.join(player("other", 1000), GameVariant.GOMOKU)).as("other variant").isNull();
+
+        assertThat(matchmaker.size()).isEqualTo(3);
+        assertThat(matchmaker.sweep()).isEmpty();
+    }
+
+    @Test
+    void cancelledPlayerIsNotPaired() {
+        RatingMatchmaker matchmaker = fixedWindow(100);
+        matchmaker.join(player("alice", 1000), GameVariant.CLASSIC);
+
+        assertThat(matchmaker.cancel("alice")).isTrue();
+        assertThat(matchmaker.cancel("alice")).isFalse();
+        assertThat(matchmaker.join(player("bob", 1000), GameVariant.CLASSIC)).isNull();
+    }
+
+    @Test
+    void sweepPairsPlayersOnceTheirWindowsWiden() throws InterruptedException {
+        // 100 wide at first, +1000 per second, capped at 300
+        RatingMatchmaker matchmaker = new RatingMatchmaker(metrics(), BUCKET_WIDTH, 100, 1_000, 300);
+        Player older = player("older", 1000);
+
+        matchmaker.join(older, GameVariant.CLASSIC);
+        pause();
+        matchmaker.join(player("newer", 1250), GameVariant.CLASSIC);
+        matchmaker.join(player("tooFar", 1700), GameVariant.CLASSIC);
+        assertThat(matchmaker.sweep()).isEmpty();
+
+        Thread.sleep(1_100);
+        List<Matchmaker.Pairing> pairings = matchmaker.sweep();
+
+        assertThat(pairings).hasSize(1);
+        assertThat(pairings.get(0).first()).isSameAs(older);
+        assertThat(pairings.get(0).second().getNickname()).isEqualTo("newer");
+        // The window stops at max-window, so a 450 gap never fits
+        assertThat(matchmaker.getWaitingPlayers()).containsExactly("tooFar");
+    }
+
+    private static RatingMatchmaker fixedWindow(int window) {
+        return new RatingMatchmaker(metrics(), BUCKET_WIDTH, window, 0, window);
+    }
+
+    private static GameMetrics metrics() {
+        return new GameMetrics(new SimpleMeterRegistry());
+    }
+
+    private static Player player(String nickname, int rating) {
+        Player player = new Player();
+        player.setNickname(nickname);
+        player.setRating(rating);
+        return player;
+    }
+
+    // Gives the next join a later joinedAt
+    private static void pause() throws InterruptedException {
+        Thread.sleep(5);
+    }
+}
@@ -0,0 +1,98 @@
+package com.tictactoe.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimerWheelTest {
+
+    // 8 slots of 10 ms: one rotation is 80 ms
+    private final TimerWheel wheel = new TimerWheel(10, 8);
+
+    @BeforeEach
+    void start() {
+        wheel.start();
+    }
+
+    @AfterEach
+    void stop() {
+        wheel.stop();
+    }
+
+    @Test
+    void firesTimersInDeadlineOrder() throws InterruptedException {
+        List<String> fired = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(3);
+
+        wheel.schedule(() -> { fired.add("50"); done.countDown(); }, 50);
+        wheel.schedule(() -> { fired.add("20"); done.countDown(); }, 20);
+        wheel.schedule(() -> { fired.add("80"); done.countDown(); }, 80);
+
+        assertThat(done.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(fired).containsExactly("20", "50", "80");
+        assertThat(wheel.getPendingCount()).isZero();
+    }
+
+    @Test
+    void cancelledTimerNeverFires() throws InterruptedException {
+        AtomicBoolean ran = new AtomicBoolean();
+        CountDownLatch later = new CountDownLatch(1);
+
+        TimerWheel.Timeout timeout = wheel.schedule(() -> ran.set(true), 200);
+        wheel.schedule(later::countDown, 300);
+        int pendingBefore = wheel.getPendingCount();
+        boolean firstCancel = timeout.cancel();
+        boolean secondCancel = timeout.cancel();
+        int pendingAfter = wheel.getPendingCount();
+
+        assertThat(pendingBefore).isEqualTo(2);
+        assertThat(firstCancel).isTrue();
+        assertThat(secondCancel).isFalse();
+        assertThat(pendingAfter).isEqualTo(1);
+
+        // The later timer firing means the wheel has passed the cancelled one's slot
+        assertThat(later.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(ran).isFalse();
+        assertThat(wheel.getPendingCount()).isZero();
+    }
+
+    @Test
+    void cancelAfterFiringReturnsFalse() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+
+        TimerWheel.Timeout timeout = wheel.schedule(fired::countDown, 10);
+
+        assertThat(fired.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(timeout.cancel()).isFalse();
+    }
+
+    @Test
+    void timerBeyondOneRotationWaitsForItsRound() throws InterruptedException {
+        List<String> fired = new CopyOnWriteArrayList<>();
+        AtomicLong farFiredAfterNanos = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(2);
+
+        long scheduledAt = System.nanoTime();
+        // 250 ms is more than three rotations; it shares its slot with ticks that come round sooner
+        wheel.schedule(() -> {
+            farFiredAfterNanos.set(System.nanoTime() - scheduledAt);
+            fired.add("far");
+            done.countDown();
+        }, 250);
+        wheel.schedule(() -> { fired.add("near"); done.countDown(); }, 10);
+
+        assertThat(done.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(fired).containsExactly("near", "far");
+        // Deadlines are taken in whole milliseconds, so allow for the fraction truncated
+        assertThat(farFiredAfterNanos.get()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(249));
+    }
+}